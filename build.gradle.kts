@@ -1,5 +1,6 @@
 plugins {
     id("java")
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "org.example"
@@ -15,12 +16,53 @@ dependencies {
     testImplementation("org.hamcrest:hamcrest:2.2")
 }
 
+// Tests, die nur mit eingeschalteter Messung laufen; der Rest der Tests läuft ohne Messung
+val metricsTests = listOf("org.example.MetricsTest")
+
 tasks.test {
     useJUnitPlatform()
+    filter {
+        metricsTests.forEach { excludeTestsMatching(it) }
+    }
+}
+
+// Eigener Testlauf in einer eigenen JVM, weil Metrics.ENABLED beim Laden der Klasse festgelegt wird
+val metricsTest = tasks.register<Test>("metricsTest") {
+    group = "verification"
+    description = "Runs the metrics tests with -Dreversi.metrics=true."
+    useJUnitPlatform()
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    filter {
+        metricsTests.forEach { includeTestsMatching(it) }
+    }
+    systemProperty("reversi.metrics", "true")
+    shouldRunAfter(tasks.test)
+}
+
+tasks.check {
+    dependsOn(metricsTest)
 }
 
 tasks.jar {
     manifest {
         attributes["Main-Class"] = "org.example.Reversi"  // Change to your main class
     }
-}
\ No newline at end of file
+}
+
+jmh {
+    jmhVersion.set("1.37")
+    profilers.add("gc")
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+}
+
+// Führt alle Benchmarks aus und legt das Ergebnis als Vergleichsbasis unter benchmarks/baseline.json ab
+tasks.register<Copy>("jmhBaseline") {
+    group = "benchmark"
+    description = "Runs the JMH benchmarks and saves the JSON result as benchmarks/baseline.json."
+    dependsOn(tasks.named("jmh"))
+    from(layout.buildDirectory.file("results/jmh/results.json"))
+    into(layout.projectDirectory.dir("benchmarks"))
+    rename { "baseline.json" }
+}
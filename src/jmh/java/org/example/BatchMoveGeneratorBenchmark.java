@@ -0,0 +1,84 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vergleicht die Zuggenerierung für einen Block von Stellungen: spaltenweise über {@link BatchMoveGenerator}
+ * und Stellung für Stellung über {@link Bitboard}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BatchMoveGeneratorBenchmark {
+    @Param({"4096"})
+    public int positions;
+
+    private long[] own;
+    private long[] opp;
+    private long[] masks;
+    private int[] counts;
+    private MoveBuffer buffer;
+
+    @Setup
+    public void setUp() {
+        own = new long[positions];
+        opp = new long[positions];
+        masks = new long[positions];
+        counts = new int[positions];
+        buffer = new MoveBuffer();
+
+        // Stellungen aus zufälligen Partien, ziehender Spieler und Gegner wechseln mit jedem Halbzug
+        Random random = new Random(1);
+        int filled = 0;
+        while (filled < positions) {
+            long mover = Position.initial().getBlack();
+            long other = Position.initial().getWhite();
+            while (filled < positions && Bitboard.generateMoves(mover, other, buffer) > 0) {
+                own[filled] = mover;
+                opp[filled] = other;
+                filled++;
+                int move = buffer.get(random.nextInt(buffer.size()));
+                long flipped = Bitboard.flips(PackedMove.start(move), PackedMove.end(move));
+                long next = other & ~flipped;
+                other = mover | flipped;
+                mover = next;
+            }
+        }
+    }
+
+    @Benchmark
+    public long[] batchMasks() {
+        BatchMoveGenerator.moveMasks(own, opp, positions, masks);
+        return masks;
+    }
+
+    @Benchmark
+    public int[] batchCounts() {
+        BatchMoveGenerator.moveCounts(own, opp, positions, counts);
+        return counts;
+    }
+
+    @Benchmark
+    public long singleMasks() {
+        long sum = 0;
+        for (int i = 0; i < positions; i++) {
+            sum += Bitboard.targets(own[i], opp[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int singleGenerateMoves() {
+        int sum = 0;
+        for (int i = 0; i < positions; i++) {
+            sum += Bitboard.generateMoves(own[i], opp[i], buffer);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,96 @@
+package org.example;
+
+/**
+ * Fester Satz von Stellungen für die Benchmarks, erzeugt durch zufällige Partien aus der Startaufstellung.
+ * In allen Stellungen ist Schwarz am Zug und hat mindestens einen gültigen Zug.
+ */
+final class BenchmarkPositions {
+    /**
+     * Stellungen nach 4 Halbzügen.
+     */
+    static final String[][] OPENING = {
+            {"--------", "--------", "---B----", "---WBW--", "---BBW--", "-----W--", "--------", "--------"},
+            {"--------", "--------", "--------", "--BWBW--", "---BW---", "---WB---", "--------", "--------"},
+            {"--------", "--------", "----W---", "--BBW---", "---BW---", "----BW--", "--------", "--------"},
+            {"--------", "--------", "----W---", "--BBW---", "--BWW---", "-B------", "--------", "--------"},
+            {"--------", "--------", "--W-----", "--BWB---", "---BWB--", "-----W--", "--------", "--------"},
+            {"--------", "-----B--", "--W-B---", "--BWW---", "---BW---", "--------", "--------", "--------"},
+            {"--------", "--------", "---BBB--", "--WWW---", "---BW---", "--------", "--------", "--------"},
+            {"--------", "--------", "--WB----", "--BBB---", "--WWW---", "--------", "--------", "--------"},
+    };
+
+    /**
+     * Stellungen nach 24 Halbzügen.
+     */
+    static final String[][] MIDGAME = {
+            {"--------", "--------", "--WB--B-", "-W-BWWBW", "-BWBWBBW", "-BBWWWWW", "---BBWB-", "----W---"},
+            {"-B------", "BBBW----", "--WBB-W-", "--BWBW--", "---BWWBW", "---WWWW-", "---BWWWW", "-------W"},
+            {"---B-B--", "--BBWBB-", "--BWBBBB", "-BWWBBWW", "-W-BWWWW", "----B---", "---B----", "--------"},
+            {"-B-W----", "-BBW----", "-BBW----", "---BW-W-", "--WWWW--", "-W-WWW--", "W-BBBW--", "-WWB--W-"},
+            {"--------", "---W--W-", "---WWW--", "---WW---", "WWWWWBWW", "----BBBW", "---BWB-W", "--BBBBW-"},
+            {"--------", "-WB---B-", "--WWWB--", "--WWB--B", "-WWWWWBB", "----BBB-", "---WWBB-", "-----WBB"},
+            {"--------", "-W----B-", "--W--B-W", "--WWBW-W", "---WWBWW", "-B-WWWB-", "BBBW-W--", "-BBB----"},
+            {"---B----", "-W-B-W--", "WWBBWW--", "-WWWBWB-", "--WBWWW-", "--WBWWWW", "--B-----", "--------"},
+    };
+
+    /**
+     * Stellungen nach 48 Halbzügen.
+     */
+    static final String[][] ENDGAME = {
+            {"WWWBWWW-", "-WWBBB--", "WWWBWBBB", "BBBWWBB-", "BBWWWBB-", "B-WBBWBB", "---BBBBB", "--WWWWBW"},
+            {"WBWB-B-B", "BWBBBBBB", "WWWWWBBW", "B-BWBBB-", "-BWBWBWB", "BWWWWWW-", "-BWW-BW-", "WBBBB---"},
+            {"-WBBBB--", "BWWBWWWW", "BWWBBW-B", "BWWWBBW-", "BWWWBB-W", "BBBWWWW-", "--BWWWW-", "--WWBBBB"},
+            {"WB-W-W--", "-BWBWBBB", "-WBWWWWW", "WWBWBBBW", "WWWBBBWW", "WWBWBWWW", "WBWBBB-B", "-WB--W--"},
+            {"-BW-B---", "-BBBWWB-", "WWWWWWBW", "WBWWWBB-", "BWWWWWB-", "BWBWWWWB", "WBWWBWBB", "B-WBWB--"},
+            {"BBBBWWWB", "WWBWBWW-", "WWBBBBW-", "BWWBBWBW", "WWWBBW--", "BWBWW-W-", "BWBWWW--", "BBB--W--"},
+            {"--WW-WWW", "-BBWWBBW", "W-WWBWWW", "WWWBWWW-", "WBBWWWWB", "BBBBBBBW", "BBBWB--B", "-B-BBB--"},
+            {"BW-WWBWB", "WWWBWWW-", "B-BWWWWB", "BBBBWBWB", "BBBBBWWB", "BB-BBWW-", "B-WWWWW-", "-B-W-W--"},
+    };
+
+    private BenchmarkPositions() {
+    }
+
+    /**
+     * Liefert die Stellungen einer Spielphase.
+     *
+     * @param phase "opening", "midgame" oder "endgame".
+     * @return die Stellungen der Phase.
+     */
+    static String[][] forPhase(String phase) {
+        switch (phase) {
+            case "opening":
+                return OPENING;
+            case "midgame":
+                return MIDGAME;
+            case "endgame":
+                return ENDGAME;
+            default:
+                throw new IllegalArgumentException("Unbekannte Spielphase: " + phase);
+        }
+    }
+
+    /**
+     * Wandelt eine Stellung aus Spielersymbolen in ein Brett um.
+     *
+     * @param rows die Zeilen des Bretts.
+     * @return das Reversi-Brett.
+     */
+    static Player[][] parse(String[] rows) {
+        Player[][] board = new Player[rows.length][rows[0].length()];
+        for (int y = 0; y < rows.length; y++) {
+            for (int x = 0; x < rows[y].length(); x++) {
+                board[y][x] = toPlayer(rows[y].charAt(x));
+            }
+        }
+        return board;
+    }
+
+    private static Player toPlayer(char symbol) {
+        for (Player player : Player.values()) {
+            if (player.getSymbol() == symbol) {
+                return player;
+            }
+        }
+        throw new IllegalArgumentException("Unbekanntes Zeichen: " + symbol);
+    }
+}
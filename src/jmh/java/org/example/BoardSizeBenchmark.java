@@ -0,0 +1,76 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Misst die Zuggenerierung je Brettgröße über einen festen Satz von Mittelspielstellungen pro Operation.
+ * {@code findAllMoves} geht über {@link MoveValidator} und damit auf 8x8 über {@link Bitboard},
+ * {@code wideBitboard} nutzt für jede Größe {@link WideBitboard} und zeigt auf 8x8 den Abstand zum Bitboard.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BoardSizeBenchmark {
+    private static final int POSITIONS = 8;
+
+    @Param({"6", "8", "10", "16"})
+    public int size;
+
+    private MoveValidator moveValidator;
+    private Player[][][] boards;
+    private WideBitboard[] positions;
+    private MoveBuffer buffer;
+
+    @Setup
+    public void setUp() {
+        moveValidator = new MoveValidator();
+        buffer = new MoveBuffer();
+        Random random = new Random(size);
+        List<WideBitboard> found = new ArrayList<>();
+
+        // Zufällige Partien bis etwa zur Hälfte des Bretts, Schwarz am Zug mit mindestens einem Zug
+        while (found.size() < POSITIONS) {
+            WideBitboard position = WideBitboard.fromBoard(new Reversi(size, Player.NONE).getBoard());
+            Player player = Player.BLACK;
+            for (int ply = 0; ply < size * size / 2 - 4 && position.generateMoves(player, buffer) > 0; ply++) {
+                position = position.play(buffer.get(random.nextInt(buffer.size())), player);
+                player = player.getOpponent();
+            }
+            if (player == Player.BLACK && position.generateMoves(player, buffer) > 0) {
+                found.add(position);
+            }
+        }
+
+        positions = found.toArray(new WideBitboard[0]);
+        boards = new Player[POSITIONS][][];
+        for (int i = 0; i < POSITIONS; i++) {
+            boards[i] = positions[i].toBoard();
+        }
+    }
+
+    @Benchmark
+    public int findAllMoves() {
+        int count = 0;
+        for (Player[][] board : boards) {
+            count += moveValidator.findAllMoves(board, Player.BLACK, buffer);
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int wideBitboard() {
+        int count = 0;
+        for (WideBitboard position : positions) {
+            count += position.generateMoves(Player.BLACK, buffer);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,67 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vergleicht die Standardbewertung mit der Musterbewertung über alle Stellungen einer Spielphase pro Operation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EvaluatorBenchmark {
+    @Param({"opening", "midgame", "endgame"})
+    public String phase;
+
+    private PatternEvaluator patternEvaluator;
+    private PatternIndices[] indices;
+    private long[] black;
+    private long[] white;
+
+    @Setup
+    public void setUp() {
+        patternEvaluator = new PatternEvaluator(PatternWeights.positional());
+        String[][] positions = BenchmarkPositions.forPhase(phase);
+        indices = new PatternIndices[positions.length];
+        black = new long[positions.length];
+        white = new long[positions.length];
+
+        for (int i = 0; i < positions.length; i++) {
+            Bitboard position = Bitboard.fromBoard(BenchmarkPositions.parse(positions[i]));
+            black[i] = position.getBlack();
+            white[i] = position.getWhite();
+            indices[i] = new PatternIndices(black[i], white[i]);
+        }
+    }
+
+    @Benchmark
+    public int defaultEvaluator() {
+        int sum = 0;
+        for (int i = 0; i < black.length; i++) {
+            sum += Evaluator.DEFAULT.evaluate(black[i], white[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int patternEvaluator() {
+        int sum = 0;
+        for (int i = 0; i < black.length; i++) {
+            sum += patternEvaluator.evaluate(black[i], white[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int patternEvaluatorIncremental() {
+        int sum = 0;
+        for (PatternIndices positionIndices : indices) {
+            sum += patternEvaluator.evaluate(positionIndices, Player.BLACK);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,69 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vergleicht das Einlesen eines Zugtextes Zug für Zug mit dem Massenlesen aus Text und Bytes.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MoveParserBenchmark {
+    private static final int MOVES = 10_000;
+    private static final String[] SEPARATORS = {", ", "-", " "};
+
+    private MoveParser moveParser;
+    private String[] lines;
+    private String text;
+    private ByteBuffer bytes;
+    private MoveBuffer moves;
+    private MoveParseErrors errors;
+
+    @Setup
+    public void setUp() {
+        moveParser = new MoveParser();
+        moves = new MoveBuffer();
+        errors = new MoveParseErrors();
+        SplittableRandom random = new SplittableRandom(1);
+        lines = new String[MOVES];
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < MOVES; i++) {
+            int start = random.nextInt(64);
+            int end = (start + 1 + random.nextInt(63)) % 64;
+            lines[i] = coordinate(start) + SEPARATORS[i % SEPARATORS.length] + coordinate(end);
+            builder.append(lines[i]).append('\n');
+        }
+        text = builder.toString();
+        bytes = ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static String coordinate(int square) {
+        return "" + (char) ('A' + square % 8) + (char) ('1' + square / 8);
+    }
+
+    @Benchmark
+    public void parseMove(Blackhole blackhole) {
+        for (String line : lines) {
+            blackhole.consume(moveParser.parseMove(line));
+        }
+    }
+
+    @Benchmark
+    public int parseMovesFromText() {
+        return moveParser.parseMoves(text, moves, errors);
+    }
+
+    @Benchmark
+    public int parseMovesFromBytes() {
+        return moveParser.parseMoves(bytes, moves, errors);
+    }
+}
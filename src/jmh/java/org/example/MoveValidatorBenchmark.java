@@ -0,0 +1,67 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Misst Zuggenerierung und Zugprüfung über alle Stellungen einer Spielphase pro Operation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MoveValidatorBenchmark {
+    @Param({"opening", "midgame", "endgame"})
+    public String phase;
+
+    private MoveValidator moveValidator;
+    private Player[][][] boards;
+    private Move[] moves;
+    private MoveBuffer buffer;
+
+    @Setup
+    public void setUp() {
+        moveValidator = new MoveValidator();
+        String[][] positions = BenchmarkPositions.forPhase(phase);
+        boards = new Player[positions.length][][];
+        moves = new Move[positions.length];
+        buffer = new MoveBuffer();
+
+        for (int i = 0; i < positions.length; i++) {
+            boards[i] = BenchmarkPositions.parse(positions[i]);
+            List<Move> legalMoves = new ArrayList<>(moveValidator.findAllMoves(boards[i], Player.BLACK));
+            legalMoves.sort(Comparator.comparing(Move::toString));
+            moves[i] = legalMoves.getFirst();
+        }
+    }
+
+    @Benchmark
+    public void findAllMoves(Blackhole blackhole) {
+        for (Player[][] board : boards) {
+            blackhole.consume(moveValidator.findAllMoves(board, Player.BLACK));
+        }
+    }
+
+    @Benchmark
+    public int findAllMovesIntoBuffer() {
+        int count = 0;
+        for (Player[][] board : boards) {
+            count += moveValidator.findAllMoves(board, Player.BLACK, buffer);
+        }
+        return count;
+    }
+
+    @Benchmark
+    public void isMoveValid(Blackhole blackhole) {
+        for (int i = 0; i < boards.length; i++) {
+            blackhole.consume(moveValidator.isMoveValid(boards[i], moves[i], Player.BLACK));
+        }
+    }
+}
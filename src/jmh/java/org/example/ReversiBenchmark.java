@@ -0,0 +1,72 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Misst Zugausführung und Punktzählung über alle Stellungen einer Spielphase pro Operation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ReversiBenchmark {
+    @Param({"opening", "midgame", "endgame"})
+    public String phase;
+
+    private Reversi[] games;
+    private Move[] moves;
+
+    @Setup
+    public void setUp() {
+        MoveValidator moveValidator = new MoveValidator();
+        String[][] positions = BenchmarkPositions.forPhase(phase);
+        games = new Reversi[positions.length];
+        moves = new Move[positions.length];
+
+        for (int i = 0; i < positions.length; i++) {
+            Player[][] board = BenchmarkPositions.parse(positions[i]);
+            games[i] = new Reversi(board);
+            List<Move> legalMoves = new ArrayList<>(moveValidator.findAllMoves(board, Player.BLACK));
+            legalMoves.sort(Comparator.comparing(Move::toString));
+            moves[i] = legalMoves.getFirst();
+        }
+    }
+
+    /**
+     * Führt den Zug jeder Stellung aus. {@code Reversi.executeMove} prüft den Zug nicht: Ab dem zweiten Aufruf
+     * schreibt er dieselben Felder mit denselben Werten, die Arbeit pro Aufruf bleibt also gleich.
+     */
+    @Benchmark
+    public void executeMove() {
+        for (int i = 0; i < games.length; i++) {
+            games[i].executeMove(moves[i], Player.BLACK);
+        }
+    }
+
+    /**
+     * Führt den Zug jeder Stellung aus und nimmt ihn über den Undo-Stapel wieder zurück.
+     */
+    @Benchmark
+    public void makeUnmakeMove() {
+        for (int i = 0; i < games.length; i++) {
+            games[i].makeMove(moves[i], Player.BLACK);
+            games[i].unmakeMove();
+        }
+    }
+
+    @Benchmark
+    public long calculateScore() {
+        long score = 0;
+        for (Reversi game : games) {
+            score += game.calculateScore(Player.BLACK) - game.calculateScore(Player.WHITE);
+        }
+        return score;
+    }
+}
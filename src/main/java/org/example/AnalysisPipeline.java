@@ -0,0 +1,348 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Analysiert alle Stellungen einer Datei parallel und schreibt die Ergebnisse in der Reihenfolge der Eingabe.
+ * <p>
+ * Jede Eingabezeile enthält eine Stellung: 64 Zeichen 'B', 'W' oder '-' zeilenweise von A1 bis H8, ein Leerzeichen
+ * und den Spieler am Zug ('B' oder 'W'). Jede Ausgabezeile enthält den besten Zug in der Schreibweise des
+ * {@link MoveParser} (etwa "E6-E4" oder "--" ohne Zug) und die Bewertung, oder "error" und den Grund.
+ * <p>
+ * Der aufrufende Thread liest die Eingabe in Blöcken von {@link #CHUNK_BYTES} Bytes; die vollständigen Zeilen eines
+ * Blocks bilden einen Auftrag. Aufträge gehen über eine beschränkte Warteschlange an die Worker, ein Schreibthread
+ * bringt die Ergebnisse wieder in die Reihenfolge der Eingabe. Höchstens {@code maxBatches} Aufträge sind gleichzeitig
+ * unterwegs, vom Lesen bis zum Schreiben; ist die Grenze erreicht, wartet das Lesen. Der Speicherbedarf hängt damit
+ * nicht von der Dateigröße ab.
+ */
+public class AnalysisPipeline {
+    static final int CHUNK_BYTES = 64 * 1024;
+
+    private static final Batch END = new Batch(-1, new byte[0]);
+    private static final int BOARD_CHARS = Bitboard.SQUARES;
+
+    private final Supplier<PositionAnalyzer> analyzers;
+    private final int workers;
+    private final int maxBatches;
+
+    /**
+     * @param analyzers erzeugt die Analyse, einmal pro Worker.
+     * @param workers die Anzahl der Worker-Threads.
+     * @param maxBatches die Höchstzahl gleichzeitig unterwegs befindlicher Aufträge.
+     */
+    public AnalysisPipeline(Supplier<PositionAnalyzer> analyzers, int workers, int maxBatches) {
+        if (workers <= 0) {
+            throw new IllegalArgumentException("Anzahl der Worker muss positiv sein: " + workers);
+        }
+        if (maxBatches <= 0) {
+            throw new IllegalArgumentException("Anzahl der Aufträge muss positiv sein: " + maxBatches);
+        }
+        this.analyzers = analyzers;
+        this.workers = workers;
+        this.maxBatches = maxBatches;
+    }
+
+    /**
+     * Analysiert eine Datei und schreibt die Ergebnisse in eine andere; eine vorhandene Datei wird überschrieben.
+     *
+     * @return die Anzahl der analysierten Zeilen.
+     */
+    public long run(Path input, Path output) throws IOException {
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE,
+                     StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            return run(in, out);
+        }
+    }
+
+    /**
+     * Analysiert alle Zeilen eines Kanals und schreibt die Ergebnisse in einen anderen. Die Kanäle bleiben offen.
+     *
+     * @return die Anzahl der analysierten Zeilen.
+     * @throws IOException wenn nicht gelesen oder geschrieben werden kann oder eine Zeile länger als
+     *                     {@link #CHUNK_BYTES} ist.
+     */
+    public long run(ReadableByteChannel input, WritableByteChannel output) throws IOException {
+        BlockingQueue<Batch> work = new ArrayBlockingQueue<>(maxBatches + workers);
+        Semaphore inFlight = new Semaphore(maxBatches);
+        ReorderBuffer results = new ReorderBuffer(maxBatches);
+        ExecutorService executor = Executors.newFixedThreadPool(workers + 1);
+        try {
+            List<Future<?>> futures = new ArrayList<>(workers);
+            for (int i = 0; i < workers; i++) {
+                futures.add(executor.submit(() -> {
+                    try {
+                        PositionAnalyzer analyzer = analyzers.get();
+                        for (Batch batch = work.take(); batch != END; batch = work.take()) {
+                            results.put(batch.sequence, analyze(analyzer, batch.lines));
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } catch (RuntimeException | Error e) {
+                        results.fail(e);
+                        throw e;
+                    }
+                    return null;
+                }));
+            }
+            Future<Long> writer = executor.submit(() -> {
+                try {
+                    return write(results, output, inFlight);
+                } catch (IOException | RuntimeException e) {
+                    results.fail(e);
+                    throw e;
+                }
+            });
+
+            long batches = read(input, work, inFlight, results);
+            results.finish(batches);
+            for (int i = 0; i < workers; i++) {
+                work.put(END);
+            }
+            long lines = writer.get();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return lines;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw new IllegalStateException("Analyse fehlgeschlagen", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Analyse unterbrochen", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Liest die Eingabe blockweise und gibt die vollständigen Zeilen jedes Blocks als Auftrag weiter.
+     *
+     * @return die Anzahl der Aufträge.
+     */
+    private long read(ReadableByteChannel input, BlockingQueue<Batch> work, Semaphore inFlight, ReorderBuffer results)
+            throws IOException, InterruptedException {
+        ByteBuffer buffer = ByteBuffer.allocate(CHUNK_BYTES);
+        byte[] array = buffer.array();
+        long sequence = 0;
+        boolean eof = false;
+        while (!eof) {
+            while (buffer.hasRemaining() && !eof) {
+                eof = input.read(buffer) < 0;
+            }
+            int filled = buffer.position();
+            int end = filled;
+            if (!eof) {
+                while (end > 0 && array[end - 1] != '\n') {
+                    end--;
+                }
+                if (end == 0) {
+                    throw new IOException("Zeile länger als " + CHUNK_BYTES + " Bytes");
+                }
+            }
+            if (end > 0) {
+                while (!inFlight.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+                    results.checkFailure();
+                }
+                work.put(new Batch(sequence++, Arrays.copyOf(array, end)));
+            }
+            System.arraycopy(array, end, array, 0, filled - end);
+            buffer.position(filled - end);
+        }
+        return sequence;
+    }
+
+    /**
+     * Schreibt die Ergebnisse in Auftragsreihenfolge und gibt danach jeweils einen Platz für einen neuen Auftrag frei.
+     *
+     * @return die Anzahl der geschriebenen Zeilen.
+     */
+    private static long write(ReorderBuffer results, WritableByteChannel output, Semaphore inFlight)
+            throws IOException, InterruptedException {
+        long lines = 0;
+        for (Result result = results.take(); result != null; result = results.take()) {
+            ByteBuffer buffer = ByteBuffer.wrap(result.text);
+            while (buffer.hasRemaining()) {
+                output.write(buffer);
+            }
+            lines += result.lines;
+            inFlight.release();
+        }
+        return lines;
+    }
+
+    private static Result analyze(PositionAnalyzer analyzer, byte[] lines) {
+        StringBuilder text = new StringBuilder(lines.length / 4);
+        int count = 0;
+        int start = 0;
+        while (start < lines.length) {
+            int end = start;
+            while (end < lines.length && lines[end] != '\n') {
+                end++;
+            }
+            int length = end - start;
+            if (length > 0 && lines[end - 1] == '\r') {
+                length--;
+            }
+            analyzeLine(analyzer, lines, start, length, text);
+            text.append('\n');
+            count++;
+            start = end + 1;
+        }
+        return new Result(text.toString().getBytes(StandardCharsets.US_ASCII), count);
+    }
+
+    private static void analyzeLine(PositionAnalyzer analyzer, byte[] line, int offset, int length, StringBuilder text) {
+        if (length != BOARD_CHARS + 2 || line[offset + BOARD_CHARS] != ' ') {
+            text.append("error Zeile muss 64 Felder, ein Leerzeichen und den Spieler am Zug enthalten");
+            return;
+        }
+        long black = 0;
+        long white = 0;
+        for (int square = 0; square < BOARD_CHARS; square++) {
+            switch (line[offset + square]) {
+                case 'B' -> black |= 1L << square;
+                case 'W' -> white |= 1L << square;
+                case '-' -> {
+                }
+                default -> {
+                    text.append("error Ungültiges Feld an Position ").append(square);
+                    return;
+                }
+            }
+        }
+        byte side = line[offset + BOARD_CHARS + 1];
+        if (side != 'B' && side != 'W') {
+            text.append("error Ungültiger Spieler am Zug");
+            return;
+        }
+
+        SearchResult result = analyzer.analyze(new Position(black, white, side == 'B' ? Player.BLACK : Player.WHITE));
+        int move = result.getPackedMove();
+        if (move == SearchEngine.NO_MOVE) {
+            text.append("--");
+        } else {
+            appendSquare(text, PackedMove.start(move));
+            text.append('-');
+            appendSquare(text, PackedMove.end(move));
+        }
+        text.append(' ').append(result.getScore());
+    }
+
+    private static void appendSquare(StringBuilder text, int square) {
+        text.append((char) ('A' + square % Bitboard.SIZE)).append((char) ('1' + square / Bitboard.SIZE));
+    }
+
+    private static final class Batch {
+        final long sequence;
+        final byte[] lines;
+
+        Batch(long sequence, byte[] lines) {
+            this.sequence = sequence;
+            this.lines = lines;
+        }
+    }
+
+    private static final class Result {
+        final byte[] text;
+        final int lines;
+
+        Result(byte[] text, int lines) {
+            this.text = text;
+            this.lines = lines;
+        }
+    }
+
+    /**
+     * Nimmt Ergebnisse in beliebiger Reihenfolge an und gibt sie in Auftragsreihenfolge heraus. Weil höchstens
+     * {@code capacity} Aufträge unterwegs sind, hat jedes Ergebnis einen eigenen Platz im Ring.
+     */
+    private static final class ReorderBuffer {
+        private final Result[] slots;
+        private long next;
+        private long total = -1;
+        private Throwable failure;
+
+        ReorderBuffer(int capacity) {
+            slots = new Result[capacity];
+        }
+
+        synchronized void put(long sequence, Result result) {
+            slots[(int) (sequence % slots.length)] = result;
+            notifyAll();
+        }
+
+        /**
+         * @return das nächste Ergebnis oder null, wenn alle Aufträge geschrieben sind.
+         */
+        synchronized Result take() throws InterruptedException {
+            int slot = (int) (next % slots.length);
+            while (slots[slot] == null && next != total) {
+                checkFailure();
+                wait();
+            }
+            checkFailure();
+            if (next == total) {
+                return null;
+            }
+            Result result = slots[slot];
+            slots[slot] = null;
+            next++;
+            return result;
+        }
+
+        synchronized void finish(long total) {
+            this.total = total;
+            notifyAll();
+        }
+
+        synchronized void fail(Throwable failure) {
+            this.failure = failure;
+            notifyAll();
+        }
+
+        synchronized void checkFailure() {
+            if (failure != null) {
+                throw new IllegalStateException("Analyse fehlgeschlagen", failure);
+            }
+        }
+    }
+
+    /**
+     * Analysiert eine Datei mit der Suche bis zu einer festen Tiefe.
+     * Argumente: Eingabedatei, Ausgabedatei, Suchtiefe, Anzahl Worker.
+     */
+    public static void main(String[] args) throws IOException {
+        Path input = Paths.get(args[0]);
+        Path output = Paths.get(args[1]);
+        int depth = args.length > 2 ? Integer.parseInt(args[2]) : 6;
+        int workers = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+
+        long start = System.nanoTime();
+        long lines = new AnalysisPipeline(() -> PositionAnalyzer.search(depth), workers, 4 * workers).run(input, output);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Stellungen: %d, Dauer: %.3f s, Stellungen/s: %.1f%n", lines, seconds, lines / seconds);
+    }
+}
@@ -0,0 +1,108 @@
+package org.example;
+
+/**
+ * Zuggenerierung für viele 8x8-Stellungen auf einmal. Die Stellungen liegen spaltenweise in zwei
+ * {@code long[]}: die Steine des ziehenden Spielers und die des Gegners, je ein Eintrag pro Stellung.
+ * <p>
+ * Die Schleifen laufen Richtung für Richtung über alle Stellungen. Innerhalb einer Richtung sind Verschiebung
+ * und Randmaske fest und der Schleifenrumpf hat keine Verzweigungen, so dass der JIT-Compiler ihn mit
+ * SIMD-Befehlen übersetzen kann. Für {@link #moveCounts} tut C2 das; bei {@link #moveMasks} sind Ein- und Ausgabe
+ * {@code long[]}, deren Überlappung C2 (JDK 21) nicht ausschließen kann, dort bleibt die Schleife skalar.
+ * Die Methoden erzeugen keine Objekte.
+ */
+public final class BatchMoveGenerator {
+
+    private BatchMoveGenerator() {
+    }
+
+    /**
+     * Berechnet für jede Stellung die Endfelder aller Züge.
+     *
+     * @param own die Steine des ziehenden Spielers je Stellung.
+     * @param opp die Steine des Gegners je Stellung.
+     * @param count die Anzahl der Stellungen ab Index 0.
+     * @param masks nimmt je Stellung die Maske der Endfelder auf, wie {@link Bitboard#targets(long, long)}.
+     */
+    public static void moveMasks(long[] own, long[] opp, int count, long[] masks) {
+        checkBounds(own, opp, count, masks.length);
+        for (int i = 0; i < count; i++) {
+            masks[i] = 0;
+        }
+        for (Direction dir : Bitboard.DIRECTIONS) {
+            int shift = Bitboard.shiftAmount(dir);
+            long wrap = Bitboard.wrapMask(dir);
+            if (shift > 0) {
+                for (int i = 0; i < count; i++) {
+                    masks[i] |= targetsLeft(own[i], opp[i], shift, wrap);
+                }
+            } else {
+                for (int i = 0; i < count; i++) {
+                    masks[i] |= targetsRight(own[i], opp[i], -shift, wrap);
+                }
+            }
+        }
+    }
+
+    /**
+     * Zählt für jede Stellung die gültigen Züge. Jedes Paar aus Richtung und Endfeld ist genau ein Zug,
+     * die Anzahl stimmt daher mit {@link Bitboard#generateMoves(long, long, MoveBuffer)} überein.
+     *
+     * @param own die Steine des ziehenden Spielers je Stellung.
+     * @param opp die Steine des Gegners je Stellung.
+     * @param count die Anzahl der Stellungen ab Index 0.
+     * @param counts nimmt je Stellung die Anzahl der Züge auf.
+     */
+    public static void moveCounts(long[] own, long[] opp, int count, int[] counts) {
+        checkBounds(own, opp, count, counts.length);
+        for (int i = 0; i < count; i++) {
+            counts[i] = 0;
+        }
+        for (Direction dir : Bitboard.DIRECTIONS) {
+            int shift = Bitboard.shiftAmount(dir);
+            long wrap = Bitboard.wrapMask(dir);
+            if (shift > 0) {
+                for (int i = 0; i < count; i++) {
+                    counts[i] += Long.bitCount(targetsLeft(own[i], opp[i], shift, wrap));
+                }
+            } else {
+                for (int i = 0; i < count; i++) {
+                    counts[i] += Long.bitCount(targetsRight(own[i], opp[i], -shift, wrap));
+                }
+            }
+        }
+    }
+
+    /**
+     * Wie {@link Bitboard#targets(long, long, Direction)} für Richtungen zu höheren Feldern, ohne Verzweigung.
+     */
+    private static long targetsLeft(long own, long opp, int shift, long wrap) {
+        long mask = opp & wrap;
+        long run = own << shift & mask;
+        run |= run << shift & mask;
+        run |= run << shift & mask;
+        run |= run << shift & mask;
+        run |= run << shift & mask;
+        run |= run << shift & mask;
+        return run << shift & wrap & ~(own | opp);
+    }
+
+    /**
+     * Wie {@link Bitboard#targets(long, long, Direction)} für Richtungen zu niedrigeren Feldern, ohne Verzweigung.
+     */
+    private static long targetsRight(long own, long opp, int shift, long wrap) {
+        long mask = opp & wrap;
+        long run = own >>> shift & mask;
+        run |= run >>> shift & mask;
+        run |= run >>> shift & mask;
+        run |= run >>> shift & mask;
+        run |= run >>> shift & mask;
+        run |= run >>> shift & mask;
+        return run >>> shift & wrap & ~(own | opp);
+    }
+
+    private static void checkBounds(long[] own, long[] opp, int count, int outputLength) {
+        if (count < 0 || count > own.length || count > opp.length || count > outputLength) {
+            throw new IllegalArgumentException("Ungültige Anzahl von Stellungen: " + count);
+        }
+    }
+}
@@ -0,0 +1,329 @@
+package org.example;
+
+import java.util.Collection;
+import java.util.HashSet;
+
+/**
+ * Stellt eine 8x8-Stellung als zwei 64-Bit-Masken dar, eine für Schwarz und eine für Weiß.
+ * Das Feld (x, y) entspricht dem Bit {@code y * 8 + x}.
+ * <p>
+ * Züge, Umdrehungen und Punktzahlen werden mit Schiebe- und Maskenoperationen berechnet.
+ * Die statischen Methoden arbeiten direkt auf den Masken und erzeugen keine Objekte.
+ */
+public final class Bitboard {
+    public static final int SIZE = 8;
+    public static final int SQUARES = SIZE * SIZE;
+
+    /**
+     * Die acht echten Zugrichtungen, ohne {@link Direction#INVALID}.
+     */
+    static final Direction[] DIRECTIONS = {
+            Direction.LEFT, Direction.RIGHT, Direction.UP, Direction.DOWN,
+            Direction.UP_LEFT, Direction.UP_RIGHT, Direction.DOWN_LEFT, Direction.DOWN_RIGHT
+    };
+
+    private static final long FILE_A = 0x0101010101010101L;
+    private static final long FILE_H = 0x8080808080808080L;
+
+    private static final int[] SHIFT = new int[Direction.values().length];
+    private static final long[] WRAP_MASK = new long[Direction.values().length];
+    private static final long[] BETWEEN = new long[SQUARES * SQUARES];
+
+    static {
+        for (Direction dir : DIRECTIONS) {
+            SHIFT[dir.ordinal()] = dir.stepValueY * SIZE + dir.stepValueX;
+            if (dir.stepValueX > 0) {
+                WRAP_MASK[dir.ordinal()] = ~FILE_A;
+            } else if (dir.stepValueX < 0) {
+                WRAP_MASK[dir.ordinal()] = ~FILE_H;
+            } else {
+                WRAP_MASK[dir.ordinal()] = -1L;
+            }
+        }
+
+        for (int start = 0; start < SQUARES; start++) {
+            for (Direction dir : DIRECTIONS) {
+                int x = (start & 7) + dir.stepValueX;
+                int y = (start >>> 3) + dir.stepValueY;
+                long line = 0;
+                while (x >= 0 && x < SIZE && y >= 0 && y < SIZE) {
+                    int square = square(x, y);
+                    BETWEEN[start * SQUARES + square] = line;
+                    line |= 1L << square;
+                    x += dir.stepValueX;
+                    y += dir.stepValueY;
+                }
+            }
+        }
+    }
+
+    private final long black;
+    private final long white;
+
+    public Bitboard(long black, long white) {
+        if ((black & white) != 0) {
+            throw new IllegalArgumentException("Felder dürfen nicht beiden Spielern gehören");
+        }
+        this.black = black;
+        this.white = white;
+    }
+
+    /**
+     * Prüft, ob ein Brett die Größe 8x8 hat und damit als Bitboard dargestellt werden kann.
+     *
+     * @param board das Reversi-Brett.
+     * @return true, wenn das Brett 8x8 Felder hat.
+     */
+    public static boolean fits(Player[][] board) {
+        return board.length == SIZE && board[0].length == SIZE;
+    }
+
+    /**
+     * Wandelt ein 8x8-Brett in ein Bitboard um.
+     *
+     * @param board das Reversi-Brett.
+     * @return die Stellung als Bitboard.
+     */
+    public static Bitboard fromBoard(Player[][] board) {
+        return new Bitboard(mask(board, Player.BLACK), mask(board, Player.WHITE));
+    }
+
+    /**
+     * Liefert die Felder eines Spielers auf einem 8x8-Brett als Maske.
+     *
+     * @param board das Reversi-Brett.
+     * @param player der Spieler.
+     * @return die Maske der Felder des Spielers.
+     */
+    public static long mask(Player[][] board, Player player) {
+        long bits = 0;
+        for (int y = 0; y < SIZE; y++) {
+            Player[] row = board[y];
+            for (int x = 0; x < SIZE; x++) {
+                if (row[x] == player) {
+                    bits |= 1L << square(x, y);
+                }
+            }
+        }
+        return bits;
+    }
+
+    public long getBlack() {
+        return black;
+    }
+
+    public long getWhite() {
+        return white;
+    }
+
+    public long discs(Player player) {
+        if (player == Player.BLACK) return black;
+        if (player == Player.WHITE) return white;
+        return empty();
+    }
+
+    public long empty() {
+        return ~(black | white);
+    }
+
+    /**
+     * Berechne die Punktzahl des Spielers
+     *
+     * @param player Spieler
+     * @return Punktzahl
+     */
+    public int score(Player player) {
+        return Long.bitCount(discs(player));
+    }
+
+    /**
+     * Findet alle möglichen Züge für einen Spieler.
+     *
+     * @param player der aktuelle Spieler.
+     * @return eine Sammlung von möglichen Zügen.
+     */
+    public Collection<Move> findAllMoves(Player player) {
+        MoveBuffer buffer = new MoveBuffer();
+        generateMoves(discs(player), discs(player.getOpponent()), buffer);
+
+        Collection<Move> moves = new HashSet<>();
+        for (int i = 0; i < buffer.size(); i++) {
+            moves.add(PackedMove.toMove(buffer.get(i), SIZE));
+        }
+        return moves;
+    }
+
+    /**
+     * Führt einen Zug aus und liefert die neue Stellung. Der Zug wird nicht geprüft.
+     *
+     * @param move der Zug.
+     * @param player der ziehende Spieler.
+     * @return die Stellung nach dem Zug.
+     */
+    public Bitboard play(Move move, Player player) {
+        long flipped = flips(square(move.start.getX(), move.start.getY()), square(move.end.getX(), move.end.getY()));
+        if (player == Player.BLACK) {
+            return new Bitboard(black | flipped, white & ~flipped);
+        }
+        return new Bitboard(black & ~flipped, white | flipped);
+    }
+
+    /**
+     * Wandelt das Bitboard in ein 8x8-Brett um.
+     *
+     * @return das Reversi-Brett.
+     */
+    public Player[][] toBoard() {
+        Player[][] board = new Player[SIZE][SIZE];
+        for (int y = 0; y < SIZE; y++) {
+            for (int x = 0; x < SIZE; x++) {
+                long bit = 1L << square(x, y);
+                board[y][x] = (black & bit) != 0 ? Player.BLACK : (white & bit) != 0 ? Player.WHITE : Player.NONE;
+            }
+        }
+        return board;
+    }
+
+    /**
+     * Schreibt alle möglichen Züge als gepackte Züge in einen Puffer. Der Puffer wird vorher geleert.
+     *
+     * @param own die Steine des ziehenden Spielers.
+     * @param opp die Steine des Gegners.
+     * @param moves der Puffer für die Züge.
+     * @return die Anzahl der Züge.
+     */
+    static int generateMoves(long own, long opp, MoveBuffer moves) {
+        moves.clear();
+        for (Direction dir : DIRECTIONS) {
+            long targets = targets(own, opp, dir);
+            while (targets != 0) {
+                int end = Long.numberOfTrailingZeros(targets);
+                targets &= targets - 1;
+                moves.add(PackedMove.pack(startSquare(opp, end, dir), end, dir));
+            }
+        }
+        return moves.size();
+    }
+
+    /**
+     * Prüft einen gepackten Zug, ohne Züge zu erzeugen: Das Startfeld gehört dem ziehenden Spieler, das Endfeld ist
+     * leer, dazwischen liegen in Zugrichtung nur und mindestens ein gegnerischer Stein.
+     *
+     * @param own die Steine des ziehenden Spielers.
+     * @param opp die Steine des Gegners.
+     * @param move der gepackte Zug.
+     * @return true, wenn der Zug gültig ist.
+     */
+    static boolean isLegal(long own, long opp, int move) {
+        int start = PackedMove.start(move);
+        int end = PackedMove.end(move);
+        if (start >= SQUARES || end >= SQUARES || move >>> 16 >= SHIFT.length
+                || (own & 1L << start) == 0 || ((own | opp) & 1L << end) != 0) {
+            return false;
+        }
+        long between = BETWEEN[start * SQUARES + end];
+        Direction dir = PackedMove.direction(move);
+        return between != 0 && (between & ~opp) == 0 && dir != Direction.INVALID
+                && (shift(1L << start, dir) & between) != 0;
+    }
+
+    static int square(int x, int y) {
+        return y * SIZE + x;
+    }
+
+    /**
+     * Verschiebt alle Bits um ein Feld in die angegebene Richtung. Bits, die über den Rand laufen, entfallen.
+     */
+    static long shift(long bits, Direction dir) {
+        int shift = SHIFT[dir.ordinal()];
+        long shifted = shift > 0 ? bits << shift : bits >>> -shift;
+        return shifted & WRAP_MASK[dir.ordinal()];
+    }
+
+    /**
+     * @return die Verschiebung eines Schritts in Richtung {@code dir} in Bits, positiv zu höheren Feldern.
+     */
+    static int shiftAmount(Direction dir) {
+        return SHIFT[dir.ordinal()];
+    }
+
+    /**
+     * @return die Maske, die nach einem Schritt in Richtung {@code dir} die über den Rand gelaufenen Bits löscht.
+     */
+    static long wrapMask(Direction dir) {
+        return WRAP_MASK[dir.ordinal()];
+    }
+
+    /**
+     * Liefert alle Endfelder von Zügen in einer Richtung: leere Felder, die von einem eigenen Stein
+     * aus über eine lückenlose Reihe gegnerischer Steine erreicht werden.
+     *
+     * @param own die Steine des ziehenden Spielers.
+     * @param opp die Steine des Gegners.
+     * @param dir die Zugrichtung.
+     * @return die Maske der Endfelder.
+     */
+    static long targets(long own, long opp, Direction dir) {
+        long run = shift(own, dir) & opp;
+        run |= shift(run, dir) & opp;
+        run |= shift(run, dir) & opp;
+        run |= shift(run, dir) & opp;
+        run |= shift(run, dir) & opp;
+        run |= shift(run, dir) & opp;
+        return shift(run, dir) & ~(own | opp);
+    }
+
+    /**
+     * Liefert die Endfelder aller Züge über alle Richtungen.
+     */
+    static long targets(long own, long opp) {
+        long targets = 0;
+        for (Direction dir : DIRECTIONS) {
+            targets |= targets(own, opp, dir);
+        }
+        return targets;
+    }
+
+    /**
+     * Geht von einem Endfeld entgegen der Zugrichtung über die gegnerischen Steine zurück zum Startfeld.
+     *
+     * @param opp die Steine des Gegners.
+     * @param end das Endfeld des Zugs.
+     * @param dir die Zugrichtung.
+     * @return das Startfeld des Zugs.
+     */
+    static int startSquare(long opp, int end, Direction dir) {
+        int step = SHIFT[dir.ordinal()];
+        int square = end - step;
+        while ((opp & (1L << square)) != 0) {
+            square -= step;
+        }
+        return square;
+    }
+
+    /**
+     * Liefert alle Felder, die ein Zug vom Start- zum Endfeld für den ziehenden Spieler setzt:
+     * die Felder dazwischen und das Endfeld selbst.
+     */
+    static long flips(int start, int end) {
+        return BETWEEN[start * SQUARES + end] | 1L << end;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Bitboard that = (Bitboard) o;
+        return black == that.black && white == that.white;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(black * 31 + white);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Bitboard{black=%016x, white=%016x}", black, white);
+    }
+}
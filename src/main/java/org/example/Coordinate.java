@@ -1,7 +1,5 @@
 package org.example;
 
-import java.util.Objects;
-
 public class Coordinate {
     public Coordinate() {
         this.x=-1;
@@ -34,7 +32,7 @@ public class Coordinate {
 
     @Override
     public int hashCode() {
-        return Objects.hash(x, y);
+        return 31 * x + y;
     }
 
     @Override
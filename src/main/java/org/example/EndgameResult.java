@@ -0,0 +1,68 @@
+package org.example;
+
+/**
+ * Ergebnis des {@link EndgameSolver}: der beste Zug und die exakte Steindifferenz bei beiderseits perfektem Spiel.
+ */
+public final class EndgameResult {
+    private final int move;
+    private final int discDifference;
+    private final Player player;
+    private final long nodes;
+    private final long nanos;
+
+    EndgameResult(int move, int discDifference, Player player, long nodes, long nanos) {
+        this.move = move;
+        this.discDifference = discDifference;
+        this.player = player;
+        this.nodes = nodes;
+        this.nanos = nanos;
+    }
+
+    /**
+     * @return der beste Zug oder null, wenn der Spieler keinen Zug hat.
+     */
+    public Move getBestMove() {
+        return move == SearchEngine.NO_MOVE ? null : PackedMove.toMove(move, Bitboard.SIZE);
+    }
+
+    /**
+     * @return der beste Zug als gepackter Zug oder {@link SearchEngine#NO_MOVE}.
+     */
+    public int getPackedMove() {
+        return move;
+    }
+
+    /**
+     * @return die Steindifferenz am Spielende aus Sicht des Spielers am Zug.
+     */
+    public int getDiscDifference() {
+        return discDifference;
+    }
+
+    /**
+     * @return der Gewinner bei perfektem Spiel oder {@link Player#NONE} bei einem Unentschieden.
+     */
+    public Player getWinner() {
+        if (discDifference > 0) return player;
+        if (discDifference < 0) return player.getOpponent();
+        return Player.NONE;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    public double getNodesPerSecond() {
+        return nanos == 0 ? 0 : nodes * 1e9 / nanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("EndgameResult{move=%s, discDifference=%d, winner=%s, nodes=%d, nanos=%d}",
+                getBestMove(), discDifference, getWinner(), nodes, nanos);
+    }
+}
@@ -0,0 +1,392 @@
+package org.example;
+
+import java.util.SplittableRandom;
+
+/**
+ * Löst Endspiele exakt: liefert den besten Zug und die Steindifferenz am Spielende bei beiderseits perfektem Spiel.
+ * <p>
+ * Es gelten die Regeln dieses Spiels: Jeder Zug besetzt genau ein leeres Feld und dreht nur die Reihe seiner
+ * Richtung um; hat der Spieler am Zug keinen Zug, ist das Spiel vorbei und die Steindifferenz zählt
+ * (leere Felder zählen für niemanden).
+ * <p>
+ * Die Suche arbeitet in drei Stufen:
+ * <ul>
+ *     <li>Bei vielen leeren Feldern werden die Züge erzeugt und nach schnellstem Ausgang sortiert
+ *     (wenigste Gegenzüge zuerst, Züge in Quadranten mit ungerader Anzahl leerer Felder bevorzugt) und als
+ *     Principal Variation Search mit Nullfenstern durchsucht. Die Transpositionstabelle speichert Schranken mit der
+ *     Anzahl leerer Felder als Tiefe.</li>
+ *     <li>Bei wenigen leeren Feldern werden die leeren Felder direkt durchlaufen, zuerst die in Quadranten mit
+ *     ungerader Parität, ohne Zugliste und ohne Sortierung.</li>
+ *     <li>Das letzte leere Feld wird ohne Rekursion ausgewertet.</li>
+ * </ul>
+ * Eine Instanz ist nicht threadsicher, kann aber für beliebig viele Stellungen nacheinander verwendet werden.
+ */
+public class EndgameSolver {
+    /**
+     * Ab dieser Anzahl leerer Felder werden Züge erzeugt und sortiert, darunter wird direkt über die Felder gesucht.
+     */
+    static final int SORTED_EMPTIES = 6;
+
+    private static final int MAX_EMPTIES = Bitboard.SQUARES;
+    private static final int INFINITY = Bitboard.SQUARES + 1;
+    private static final int[] STEP = new int[Bitboard.DIRECTIONS.length];
+    private static final long[] RAY = new long[Bitboard.DIRECTIONS.length * Bitboard.SQUARES];
+    private static final long[] PARITY_MASK = new long[16];
+
+    static {
+        for (int k = 0; k < Bitboard.DIRECTIONS.length; k++) {
+            Direction dir = Bitboard.DIRECTIONS[k];
+            // Vom Endfeld aus wird entgegen der Zugrichtung zum Startfeld gesucht
+            STEP[k] = -(dir.stepValueY * Bitboard.SIZE + dir.stepValueX);
+            for (int square = 0; square < Bitboard.SQUARES; square++) {
+                int x = (square & 7) - dir.stepValueX;
+                int y = (square >>> 3) - dir.stepValueY;
+                long ray = 0;
+                while (x >= 0 && x < Bitboard.SIZE && y >= 0 && y < Bitboard.SIZE) {
+                    ray |= 1L << Bitboard.square(x, y);
+                    x -= dir.stepValueX;
+                    y -= dir.stepValueY;
+                }
+                RAY[k * Bitboard.SQUARES + square] = ray;
+            }
+        }
+        for (int parity = 0; parity < PARITY_MASK.length; parity++) {
+            for (int square = 0; square < Bitboard.SQUARES; square++) {
+                if ((parity & quadrantBit(square)) != 0) {
+                    PARITY_MASK[parity] |= 1L << square;
+                }
+            }
+        }
+    }
+
+    private final TranspositionTable transpositionTable;
+    private final MoveBuffer[] buffers = new MoveBuffer[MAX_EMPTIES + 1];
+    private final int[][] keys = new int[MAX_EMPTIES + 1][];
+
+    private long nodes;
+
+    public EndgameSolver() {
+        this(new TranspositionTable(SearchEngine.DEFAULT_TABLE_MEGABYTES));
+    }
+
+    public EndgameSolver(TranspositionTable transpositionTable) {
+        this.transpositionTable = transpositionTable;
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = new MoveBuffer();
+            keys[i] = new int[Bitboard.SQUARES * Bitboard.DIRECTIONS.length];
+        }
+    }
+
+    /**
+     * Löst eine Stellung exakt.
+     *
+     * @param position die Stellung.
+     * @param player der Spieler am Zug.
+     * @return der beste Zug und die exakte Steindifferenz aus Sicht des Spielers am Zug.
+     */
+    public EndgameResult solve(Bitboard position, Player player) {
+        long startTime = System.nanoTime();
+        transpositionTable.newSearch();
+        nodes = 0;
+
+        long own = position.discs(player);
+        long opp = position.discs(player.getOpponent());
+        long hash = Zobrist.hash(position.getBlack(), position.getWhite()) ^ (player == Player.WHITE ? Zobrist.WHITE_TO_MOVE : 0);
+        int empties = Long.bitCount(~(own | opp));
+
+        MoveBuffer rootMoves = new MoveBuffer();
+        int count = Bitboard.generateMoves(own, opp, rootMoves);
+        if (count == 0) {
+            return new EndgameResult(SearchEngine.NO_MOVE, difference(own, opp), player, 1, System.nanoTime() - startTime);
+        }
+
+        int parity = parity(~(own | opp));
+        int[] rootKeys = new int[count];
+        sortFastestFirst(own, opp, parity, rootMoves, rootKeys);
+        int alpha = -INFINITY;
+        int bestMove = rootMoves.get(0);
+        Player opponent = player.getOpponent();
+        for (int i = 0; i < count; i++) {
+            int move = rootMoves.get(i);
+            int end = PackedMove.end(move);
+            long flipped = Bitboard.flips(PackedMove.start(move), end);
+            long childHash = hash ^ Zobrist.WHITE_TO_MOVE ^ Zobrist.moveDelta(player, flipped & opp, end);
+            int score = searchChild(opp & ~flipped, own | flipped, opponent, childHash, empties - 1,
+                    parity ^ quadrantBit(end), alpha, INFINITY, i == 0);
+            if (score > alpha) {
+                alpha = score;
+                bestMove = move;
+            }
+        }
+        return new EndgameResult(bestMove, alpha, player, nodes, System.nanoTime() - startTime);
+    }
+
+    private int solve(long own, long opp, Player player, long hash, int empties, int parity, int alpha, int beta) {
+        if (empties < SORTED_EMPTIES) {
+            return solveShallow(own, opp, empties, parity, alpha, beta);
+        }
+        nodes++;
+
+        MoveBuffer moves = buffers[empties];
+        int count = Bitboard.generateMoves(own, opp, moves);
+        if (count == 0) {
+            return difference(own, opp);
+        }
+
+        int ttMove = SearchEngine.NO_MOVE;
+        long entry = transpositionTable.probe(hash);
+        if (entry != TranspositionTable.MISS) {
+            int score = TranspositionTable.score(entry);
+            int bound = TranspositionTable.bound(entry);
+            if (TranspositionTable.depth(entry) == empties && (bound == TranspositionTable.EXACT
+                    || bound == TranspositionTable.LOWER_BOUND && score >= beta
+                    || bound == TranspositionTable.UPPER_BOUND && score <= alpha)) {
+                return score;
+            }
+            ttMove = TranspositionTable.move(entry);
+        }
+
+        sortFastestFirst(own, opp, parity, moves, keys[empties]);
+        if (ttMove != SearchEngine.NO_MOVE) {
+            moveToFront(moves, ttMove);
+        }
+
+        int originalAlpha = alpha;
+        int best = -INFINITY;
+        int bestMove = SearchEngine.NO_MOVE;
+        Player opponent = player.getOpponent();
+        for (int i = 0; i < count; i++) {
+            int move = moves.get(i);
+            int end = PackedMove.end(move);
+            long flipped = Bitboard.flips(PackedMove.start(move), end);
+            long childHash = hash ^ Zobrist.WHITE_TO_MOVE ^ Zobrist.moveDelta(player, flipped & opp, end);
+            int score = searchChild(opp & ~flipped, own | flipped, opponent, childHash, empties - 1,
+                    parity ^ quadrantBit(end), alpha, beta, i == 0);
+            if (score > best) {
+                best = score;
+                bestMove = move;
+                if (score > alpha) {
+                    alpha = score;
+                    if (alpha >= beta) {
+                        break;
+                    }
+                }
+            }
+        }
+
+        int bound = best <= originalAlpha ? TranspositionTable.UPPER_BOUND
+                : best >= beta ? TranspositionTable.LOWER_BOUND : TranspositionTable.EXACT;
+        transpositionTable.store(hash, empties, bound, best, bestMove);
+        return best;
+    }
+
+    /**
+     * Sucht einen Nachfolger als Principal Variation Search: Der erste Zug erhält das volle Fenster, alle weiteren
+     * zuerst ein Nullfenster, das nur bei einer Verbesserung voll nachgesucht wird.
+     */
+    private int searchChild(long own, long opp, Player player, long hash, int empties, int parity,
+                            int alpha, int beta, boolean first) {
+        if (first) {
+            return -solve(own, opp, player, hash, empties, parity, -beta, -alpha);
+        }
+        int score = -solve(own, opp, player, hash, empties, parity, -alpha - 1, -alpha);
+        if (score > alpha && score < beta) {
+            score = -solve(own, opp, player, hash, empties, parity, -beta, -score);
+        }
+        return score;
+    }
+
+    /**
+     * Sucht über die leeren Felder, zuerst die in Quadranten mit ungerader Anzahl leerer Felder.
+     */
+    private int solveShallow(long own, long opp, int empties, int parity, int alpha, int beta) {
+        long empty = ~(own | opp);
+        if (empties == 1) {
+            return solveLast(own, opp, Long.numberOfTrailingZeros(empty));
+        }
+        nodes++;
+
+        int best = -INFINITY;
+        long preferred = PARITY_MASK[parity];
+        for (int pass = 0; pass < 2; pass++) {
+            long squares = empty & (pass == 0 ? preferred : ~preferred);
+            while (squares != 0) {
+                int square = Long.numberOfTrailingZeros(squares);
+                squares &= squares - 1;
+                for (int k = 0; k < STEP.length; k++) {
+                    long flipped = flips(own, opp, square, k);
+                    if (flipped == 0) {
+                        continue;
+                    }
+                    int score = -solveShallow(opp & ~flipped, own | flipped, empties - 1,
+                            parity ^ quadrantBit(square), -beta, -alpha);
+                    if (score > best) {
+                        best = score;
+                        if (score > alpha) {
+                            alpha = score;
+                            if (alpha >= beta) {
+                                return best;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return best == -INFINITY ? difference(own, opp) : best;
+    }
+
+    /**
+     * Wertet das letzte leere Feld aus: Der Spieler am Zug wählt die Richtung mit den meisten Steinen; danach hat
+     * der Gegner kein leeres Feld mehr und das Spiel ist vorbei. Hat der Spieler keinen Zug, ist es sofort vorbei.
+     */
+    private int solveLast(long own, long opp, int square) {
+        nodes++;
+        int most = -1;
+        for (int k = 0; k < STEP.length; k++) {
+            most = Math.max(most, Long.bitCount(flips(own, opp, square, k)));
+        }
+        if (most <= 0) {
+            return difference(own, opp);
+        }
+        // Umgedreht werden most - 1 gegnerische Steine, dazu kommt der neue Stein
+        return difference(own, opp) + 2 * most - 1;
+    }
+
+    /**
+     * Liefert die Felder, die ein Zug auf {@code square} in Richtung {@code k} setzt, oder 0, wenn es diesen Zug
+     * nicht gibt.
+     */
+    private static long flips(long own, long opp, int square, int k) {
+        long ray = RAY[k * Bitboard.SQUARES + square];
+        int step = STEP[k];
+        int next = square + step;
+        long bit = 1L << next;
+        if ((ray & opp & bit) == 0) {
+            return 0;
+        }
+        long flipped = 1L << square;
+        do {
+            flipped |= bit;
+            next += step;
+            bit = 1L << next;
+        } while ((ray & opp & bit) != 0);
+        return (ray & own & bit) != 0 ? flipped : 0;
+    }
+
+    /**
+     * Sortiert die Züge nach schnellstem Ausgang: wenige Gegenzüge zuerst, wobei Gegenzüge in eine Ecke dreifach
+     * zählen; bei Gleichstand Züge in Quadranten ungerader Parität.
+     */
+    private static void sortFastestFirst(long own, long opp, int parity, MoveBuffer moves, int[] keys) {
+        int[] array = moves.array();
+        int count = moves.size();
+        for (int i = 0; i < count; i++) {
+            int move = array[i];
+            int end = PackedMove.end(move);
+            long flipped = Bitboard.flips(PackedMove.start(move), end);
+            long nextOwn = opp & ~flipped;
+            long nextOpp = own | flipped;
+            int replies = mobility(nextOwn, nextOpp) + 2 * Long.bitCount(Bitboard.targets(nextOwn, nextOpp) & Evaluator.CORNERS);
+            int key = replies * 2 + ((parity & quadrantBit(end)) != 0 ? 0 : 1);
+            // Einfügesortierung über beide Felder; die Listen sind kurz
+            int j = i;
+            while (j > 0 && keys[j - 1] > key) {
+                keys[j] = keys[j - 1];
+                array[j] = array[j - 1];
+                j--;
+            }
+            keys[j] = key;
+            array[j] = move;
+        }
+    }
+
+    /**
+     * Zählt die Züge eines Spielers, ohne sie zu erzeugen.
+     */
+    static int mobility(long own, long opp) {
+        int count = 0;
+        for (Direction dir : Bitboard.DIRECTIONS) {
+            count += Long.bitCount(Bitboard.targets(own, opp, dir));
+        }
+        return count;
+    }
+
+    private static void moveToFront(MoveBuffer moves, int move) {
+        int[] array = moves.array();
+        for (int i = 0; i < moves.size(); i++) {
+            if (array[i] == move) {
+                System.arraycopy(array, 0, array, 1, i);
+                array[0] = move;
+                return;
+            }
+        }
+    }
+
+    private static int difference(long own, long opp) {
+        return Long.bitCount(own) - Long.bitCount(opp);
+    }
+
+    /**
+     * Liefert das Bit des Quadranten eines Feldes: Bit 0 bis 3 für oben links, oben rechts, unten links, unten rechts.
+     */
+    private static int quadrantBit(int square) {
+        return 1 << ((square >>> 2 & 1) | (square >>> 4 & 2));
+    }
+
+    /**
+     * Liefert die Quadranten mit ungerader Anzahl leerer Felder als Bitmaske.
+     */
+    private static int parity(long empty) {
+        int parity = 0;
+        while (empty != 0) {
+            parity ^= quadrantBit(Long.numberOfTrailingZeros(empty));
+            empty &= empty - 1;
+        }
+        return parity;
+    }
+
+    /**
+     * Löst Endspielstellungen aus zufälligen Partien und gibt Ergebnis, Knoten und Zeit aus.
+     * Argumente: Anzahl leerer Felder, Anzahl Stellungen.
+     */
+    public static void main(String[] args) {
+        int empties = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        int positions = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        EndgameSolver solver = new EndgameSolver();
+        SplittableRandom random = new SplittableRandom(1);
+        Bitboard start = Bitboard.fromBoard(new Reversi().getBoard());
+        MoveBuffer moves = new MoveBuffer();
+
+        int solved = 0;
+        while (solved < positions) {
+            long black = start.getBlack();
+            long white = start.getWhite();
+            Player player = Player.BLACK;
+            while (Long.bitCount(~(black | white)) > empties) {
+                long own = player == Player.BLACK ? black : white;
+                long opp = player == Player.BLACK ? white : black;
+                if (Bitboard.generateMoves(own, opp, moves) == 0) {
+                    break;
+                }
+                int move = moves.get(random.nextInt(moves.size()));
+                long flipped = Bitboard.flips(PackedMove.start(move), PackedMove.end(move));
+                if (player == Player.BLACK) {
+                    black |= flipped;
+                    white &= ~flipped;
+                } else {
+                    white |= flipped;
+                    black &= ~flipped;
+                }
+                player = player.getOpponent();
+            }
+            long own = player == Player.BLACK ? black : white;
+            long opp = player == Player.BLACK ? white : black;
+            if (Long.bitCount(~(black | white)) != empties || Bitboard.generateMoves(own, opp, moves) == 0) {
+                continue;
+            }
+            EndgameResult result = solver.solve(new Bitboard(black, white), player);
+            System.out.printf("%s, %.3f ms, %.0f Knoten/s%n", result, result.getNanos() / 1e6, result.getNodesPerSecond());
+            solved++;
+        }
+    }
+}
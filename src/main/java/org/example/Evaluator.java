@@ -0,0 +1,26 @@
+package org.example;
+
+/**
+ * Bewertet eine Stellung aus Sicht des Spielers am Zug.
+ */
+@FunctionalInterface
+public interface Evaluator {
+    long CORNERS = 0x8100000000000081L;
+
+    /**
+     * Standardbewertung aus Beweglichkeit, Ecken und Steinen.
+     */
+    Evaluator DEFAULT = (own, opp) ->
+            10 * (Long.bitCount(Bitboard.targets(own, opp)) - Long.bitCount(Bitboard.targets(opp, own)))
+                    + 50 * (Long.bitCount(own & CORNERS) - Long.bitCount(opp & CORNERS))
+                    + Long.bitCount(own) - Long.bitCount(opp);
+
+    /**
+     * Bewertet eine Stellung.
+     *
+     * @param own die Steine des Spielers am Zug.
+     * @param opp die Steine des Gegners.
+     * @return die Bewertung, positiv zugunsten des Spielers am Zug.
+     */
+    int evaluate(long own, long opp);
+}
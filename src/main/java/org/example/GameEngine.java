@@ -0,0 +1,116 @@
+package org.example;
+
+import java.util.Collection;
+import java.util.HashSet;
+
+/**
+ * Spielregeln als reine Funktionen auf {@link Position}en, ohne Konsole und ohne Zustand.
+ * <p>
+ * Die Regeln sind dieselben wie in {@code Reversi}: Ein Zug führt von einem eigenen Stein über eine Reihe gegnerischer
+ * Steine auf ein leeres Feld und dreht nur diese Reihe um. Hat der Spieler am Zug keinen Zug, ist das Spiel vorbei.
+ * <p>
+ * Alle Methoden sind threadsicher; eine Instanz kann von beliebig vielen Partien und Threads geteilt werden.
+ * Züge werden als gepackte Züge ({@link PackedMove}) übergeben; Methoden mit {@link MoveBuffer} erzeugen keine Objekte.
+ */
+public final class GameEngine {
+
+    /**
+     * Schreibt alle gültigen Züge des Spielers am Zug in einen Puffer. Der Puffer wird vorher geleert.
+     *
+     * @param position die Stellung.
+     * @param moves der Puffer für die gepackten Züge.
+     * @return die Anzahl der Züge.
+     */
+    public int legalMoves(Position position, MoveBuffer moves) {
+        return Bitboard.generateMoves(position.own(), position.opp(), moves);
+    }
+
+    /**
+     * Liefert alle gültigen Züge des Spielers am Zug.
+     *
+     * @param position die Stellung.
+     * @return eine Sammlung von Zügen.
+     */
+    public Collection<Move> legalMoves(Position position) {
+        MoveBuffer buffer = new MoveBuffer();
+        legalMoves(position, buffer);
+
+        Collection<Move> moves = new HashSet<>();
+        for (int i = 0; i < buffer.size(); i++) {
+            moves.add(PackedMove.toMove(buffer.get(i), Bitboard.SIZE));
+        }
+        return moves;
+    }
+
+    /**
+     * Prüft einen Zug des Spielers am Zug, ohne alle Züge zu erzeugen.
+     *
+     * @param position die Stellung.
+     * @param move der gepackte Zug.
+     * @return true, wenn der Zug gültig ist.
+     */
+    public boolean isLegal(Position position, int move) {
+        return Bitboard.isLegal(position.own(), position.opp(), move);
+    }
+
+    /**
+     * Führt einen Zug aus. Danach ist der Gegner am Zug.
+     *
+     * @param position die Stellung.
+     * @param move der gepackte Zug.
+     * @return die Stellung nach dem Zug.
+     * @throws IllegalArgumentException wenn der Zug nicht gültig ist.
+     */
+    public Position play(Position position, int move) {
+        if (!isLegal(position, move)) {
+            throw new IllegalArgumentException("Ungültiger Zug: " + move);
+        }
+        long flipped = Bitboard.flips(PackedMove.start(move), PackedMove.end(move));
+        if (position.getPlayer() == Player.BLACK) {
+            return new Position(position.getBlack() | flipped, position.getWhite() & ~flipped, Player.WHITE);
+        }
+        return new Position(position.getBlack() & ~flipped, position.getWhite() | flipped, Player.BLACK);
+    }
+
+    /**
+     * Führt einen Zug aus. Danach ist der Gegner am Zug.
+     *
+     * @param position die Stellung.
+     * @param move der Zug.
+     * @return die Stellung nach dem Zug.
+     * @throws IllegalArgumentException wenn der Zug nicht gültig ist.
+     */
+    public Position play(Position position, Move move) {
+        return play(position, PackedMove.fromMove(move, Bitboard.SIZE));
+    }
+
+    /**
+     * Prüft, ob das Spiel vorbei ist, weil der Spieler am Zug keinen Zug hat.
+     *
+     * @param position die Stellung.
+     * @return true, wenn das Spiel vorbei ist.
+     */
+    public boolean isGameOver(Position position) {
+        return Bitboard.targets(position.own(), position.opp()) == 0;
+    }
+
+    /**
+     * Liefert die Punktzahl eines Spielers: die Anzahl seiner Steine.
+     */
+    public int score(Position position, Player player) {
+        if (player == Player.BLACK) return Long.bitCount(position.getBlack());
+        if (player == Player.WHITE) return Long.bitCount(position.getWhite());
+        return 0;
+    }
+
+    /**
+     * Liefert den Spieler mit mehr Steinen, bei Gleichstand {@link Player#NONE}.
+     * Das Ergebnis ist nur am Spielende endgültig.
+     */
+    public Player leader(Position position) {
+        int difference = Long.bitCount(position.getBlack()) - Long.bitCount(position.getWhite());
+        if (difference > 0) return Player.BLACK;
+        if (difference < 0) return Player.WHITE;
+        return Player.NONE;
+    }
+}
@@ -0,0 +1,217 @@
+package org.example;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lasttest für den {@link GameServer}: öffnet viele Verbindungen gleichzeitig und spielt auf jeder zufällige Partien.
+ * <p>
+ * Jede Verbindung läuft auf einem eigenen virtuellen Thread. Erst wenn alle Verbindungen aufgebaut oder gescheitert
+ * sind, beginnen alle zugleich zu spielen; die Anzahl der offenen Verbindungen zu diesem Zeitpunkt ist die Zahl der
+ * gehaltenen Verbindungen. Jede Verbindung fragt mit "MOVES" die gültigen Züge ab, schickt einen davon und misst die
+ * Zeit bis zur Antwort in einem eigenen {@link LatencyHistogram}; am Ende werden die Histogramme zusammengeführt.
+ * Ist eine Partie vorbei, beginnt mit "NEW" die nächste.
+ */
+public class GameLoadClient {
+    private static final int CONNECT_TIMEOUT_MILLIS = 10_000;
+    private static final int READ_TIMEOUT_MILLIS = 30_000;
+
+    private final InetSocketAddress address;
+    private final int sessions;
+
+    /**
+     * @param address die Adresse des Servers.
+     * @param sessions die Anzahl der Verbindungen.
+     */
+    public GameLoadClient(InetSocketAddress address, int sessions) {
+        if (sessions <= 0) {
+            throw new IllegalArgumentException("Anzahl der Verbindungen muss positiv sein: " + sessions);
+        }
+        this.address = address;
+        this.sessions = sessions;
+    }
+
+    /**
+     * Baut alle Verbindungen auf, spielt für die angegebene Dauer und schließt die Verbindungen wieder.
+     *
+     * @param millis die Dauer der Last in Millisekunden, ohne den Verbindungsaufbau.
+     * @return die Zusammenfassung des Laufs.
+     */
+    public GameLoadReport run(long millis) {
+        CountDownLatch connected = new CountDownLatch(sessions);
+        CountDownLatch go = new CountDownLatch(1);
+        AtomicInteger held = new AtomicInteger();
+        long[] deadline = new long[1];
+        List<Future<Worker>> futures = new ArrayList<>(sessions);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < sessions; i++) {
+                Worker worker = new Worker(i);
+                futures.add(executor.submit(() -> {
+                    worker.run(connected, go, held, deadline);
+                    return worker;
+                }));
+            }
+
+            connected.await();
+            int heldSessions = held.get();
+            long startTime = System.nanoTime();
+            // Der Latch veröffentlicht die Frist an alle wartenden Verbindungen
+            deadline[0] = startTime + millis * 1_000_000;
+            go.countDown();
+
+            LatencyHistogram latencies = new LatencyHistogram();
+            long moves = 0;
+            long games = 0;
+            long errors = 0;
+            for (Future<Worker> future : futures) {
+                Worker worker = future.get();
+                latencies.add(worker.latencies);
+                moves += worker.moves;
+                games += worker.games;
+                errors += worker.errors;
+            }
+            return new GameLoadReport(sessions, heldSessions, moves, games, errors,
+                    System.nanoTime() - startTime, latencies);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Verbindung fehlgeschlagen", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Lasttest unterbrochen", e);
+        }
+    }
+
+    private final class Worker {
+        private final SplittableRandom random;
+        private final LatencyHistogram latencies = new LatencyHistogram();
+        private byte[] line = new byte[GameServer.BUFFER_BYTES];
+        private final byte[] input = new byte[GameServer.BUFFER_BYTES];
+        private int inputPosition;
+        private int inputLimit;
+        private InputStream in;
+        private OutputStream out;
+        private long moves;
+        private long games;
+        private long errors;
+
+        Worker(int seed) {
+            random = new SplittableRandom(seed);
+        }
+
+        void run(CountDownLatch connected, CountDownLatch go, AtomicInteger held, long[] deadline)
+                throws InterruptedException {
+            try (Socket socket = new Socket()) {
+                try {
+                    socket.connect(address, CONNECT_TIMEOUT_MILLIS);
+                    socket.setTcpNoDelay(true);
+                    socket.setSoTimeout(READ_TIMEOUT_MILLIS);
+                    in = socket.getInputStream();
+                    out = socket.getOutputStream();
+                    held.incrementAndGet();
+                } finally {
+                    connected.countDown();
+                }
+                go.await();
+                play(deadline[0]);
+                send("QUIT");
+            } catch (IOException e) {
+                errors++;
+            }
+        }
+
+        private void play(long deadline) throws IOException {
+            while (System.nanoTime() < deadline) {
+                String[] legalMoves = send("MOVES").split(" ");
+                if (legalMoves.length < 2) {
+                    // Keine Züge: Die Partie ist vorbei
+                    send("NEW");
+                    continue;
+                }
+
+                long startTime = System.nanoTime();
+                String reply = send(legalMoves[1 + random.nextInt(legalMoves.length - 1)]);
+                latencies.record(System.nanoTime() - startTime);
+
+                if (!reply.startsWith("OK")) {
+                    errors++;
+                    send("NEW");
+                } else if (reply.contains("END")) {
+                    moves++;
+                    games++;
+                    send("NEW");
+                } else {
+                    moves++;
+                }
+            }
+        }
+
+        /**
+         * Schickt einen Befehl und wartet auf die Antwortzeile.
+         */
+        private String send(String command) throws IOException {
+            byte[] bytes = (command + "\n").getBytes(StandardCharsets.US_ASCII);
+            out.write(bytes);
+            out.flush();
+
+            int length = 0;
+            while (true) {
+                if (inputPosition == inputLimit) {
+                    inputLimit = in.read(input);
+                    inputPosition = 0;
+                    if (inputLimit < 0) {
+                        inputLimit = 0;
+                        throw new IOException("Verbindung vom Server geschlossen");
+                    }
+                }
+                byte b = input[inputPosition++];
+                if (b == '\n') {
+                    return new String(line, 0, length, StandardCharsets.UTF_8);
+                }
+                if (length == line.length) {
+                    line = Arrays.copyOf(line, length * 2);
+                }
+                line[length++] = b;
+            }
+        }
+    }
+
+    /**
+     * Startet einen Lasttest und gibt die Zusammenfassung aus.
+     * Argumente: Anzahl Verbindungen, Dauer in Sekunden, Port und Rechner eines laufenden Servers. Ohne Port wird ein
+     * Server im selben Prozess auf der Loopback-Adresse gestartet.
+     */
+    public static void main(String[] args) throws IOException {
+        int sessions = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        if (args.length > 2) {
+            String host = args.length > 3 ? args[3] : InetAddress.getLoopbackAddress().getHostAddress();
+            GameLoadClient client = new GameLoadClient(new InetSocketAddress(host, Integer.parseInt(args[2])), sessions);
+            System.out.println(client.run(seconds * 1000L));
+            return;
+        }
+
+        try (GameServer server = new GameServer(InetAddress.getLoopbackAddress(), 0)) {
+            server.start();
+            GameLoadClient client = new GameLoadClient(
+                    new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort()), sessions);
+            System.out.println(client.run(seconds * 1000L));
+            System.out.printf("Server: %d Verbindungen, %d Züge%n", server.getTotalSessions(), server.getMoves());
+        }
+    }
+}
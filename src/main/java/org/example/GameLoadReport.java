@@ -0,0 +1,84 @@
+package org.example;
+
+/**
+ * Zusammenfassung eines Laufs des {@link GameLoadClient}.
+ */
+public final class GameLoadReport {
+    private final int sessions;
+    private final int heldSessions;
+    private final long moves;
+    private final long games;
+    private final long errors;
+    private final long nanos;
+    private final LatencyHistogram latencies;
+
+    GameLoadReport(int sessions, int heldSessions, long moves, long games, long errors, long nanos,
+                   LatencyHistogram latencies) {
+        this.sessions = sessions;
+        this.heldSessions = heldSessions;
+        this.moves = moves;
+        this.games = games;
+        this.errors = errors;
+        this.nanos = nanos;
+        this.latencies = latencies;
+    }
+
+    /**
+     * @return die Anzahl der angeforderten Verbindungen.
+     */
+    public int getSessions() {
+        return sessions;
+    }
+
+    /**
+     * @return die Anzahl der Verbindungen, die gleichzeitig offen waren, als die Last begann.
+     */
+    public int getHeldSessions() {
+        return heldSessions;
+    }
+
+    public long getMoves() {
+        return moves;
+    }
+
+    /**
+     * @return die Anzahl der zu Ende gespielten Partien.
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * @return die Anzahl der Fehlerantworten und abgebrochenen Verbindungen.
+     */
+    public long getErrors() {
+        return errors;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    public double getMovesPerSecond() {
+        return nanos == 0 ? 0 : moves * 1e9 / nanos;
+    }
+
+    /**
+     * @return die Antwortzeiten aller Züge in Nanosekunden, vom Senden des Zugs bis zum Empfang der Antwort.
+     */
+    public LatencyHistogram getLatencies() {
+        return latencies;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Verbindungen: %d von %d gehalten, Fehler: %d%n"
+                        + "Dauer: %.3f s, Züge: %d, Züge/s: %.1f, Partien: %d%n"
+                        + "Antwortzeit p50 %d ns, p90 %d ns, p99 %d ns, p99.9 %d ns, max %d ns",
+                heldSessions, sessions, errors,
+                nanos / 1e9, moves, getMovesPerSecond(), games,
+                latencies.getValueAtPercentile(50), latencies.getValueAtPercentile(90),
+                latencies.getValueAtPercentile(99), latencies.getValueAtPercentile(99.9),
+                latencies.getMax());
+    }
+}
@@ -0,0 +1,220 @@
+package org.example;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Liest Partien im Format des {@link GameRecordWriter}.
+ * <p>
+ * Der Leser ist ein Cursor: {@link #next()} springt zur nächsten Partie, die Zugriffsmethoden lesen direkt aus dem
+ * Puffer. Pro Partie entstehen keine Objekte. Über einem {@link ByteBuffer}, etwa einer eingeblendeten Datei, wird
+ * nichts kopiert; über einem Kanal wird ein fester Puffer immer wieder nachgeladen, so dass Archive beliebiger Größe
+ * mit Plattengeschwindigkeit gelesen werden können.
+ * <p>
+ * Nicht threadsicher.
+ */
+public class GameRecordReader implements Closeable {
+    private static final int BUFFER_BYTES = 256 * 1024;
+
+    /**
+     * Gepackter Zug für jedes Paar aus Start- und Endfeld, {@link SearchEngine#NO_MOVE}, wenn sie nicht auf einer
+     * Linie liegen.
+     */
+    private static final int[] MOVES = new int[Bitboard.SQUARES * Bitboard.SQUARES];
+
+    static {
+        Arrays.fill(MOVES, SearchEngine.NO_MOVE);
+        for (int start = 0; start < Bitboard.SQUARES; start++) {
+            for (Direction dir : Bitboard.DIRECTIONS) {
+                int x = (start & 7) + dir.stepValueX;
+                int y = (start >>> 3) + dir.stepValueY;
+                while (x >= 0 && x < Bitboard.SIZE && y >= 0 && y < Bitboard.SIZE) {
+                    int end = Bitboard.square(x, y);
+                    MOVES[start * Bitboard.SQUARES + end] = PackedMove.pack(start, end, dir);
+                    x += dir.stepValueX;
+                    y += dir.stepValueY;
+                }
+            }
+        }
+    }
+
+    private final ByteBuffer buffer;
+    private final ReadableByteChannel channel;
+    private int record = -1;
+    private int moveCount;
+
+    /**
+     * Liest aus einem Puffer, ohne zu kopieren. Der Puffer wird ab seiner aktuellen Position gelesen.
+     *
+     * @throws IOException wenn der Puffer nicht mit einem gültigen Dateikopf beginnt.
+     */
+    public GameRecordReader(ByteBuffer buffer) throws IOException {
+        this(buffer.slice(), null);
+    }
+
+    /**
+     * Liest aus einem Kanal über einen festen Puffer.
+     *
+     * @param channel der Quellkanal; er wird mit {@link #close()} geschlossen.
+     * @throws IOException wenn der Kanal nicht mit einem gültigen Dateikopf beginnt.
+     */
+    public GameRecordReader(ReadableByteChannel channel) throws IOException {
+        this(ByteBuffer.allocateDirect(BUFFER_BYTES).flip(), channel);
+    }
+
+    private GameRecordReader(ByteBuffer buffer, ReadableByteChannel channel) throws IOException {
+        this.buffer = buffer;
+        this.channel = channel;
+        if (!ensure(GameRecordWriter.HEADER_BYTES)
+                || buffer.getInt() != GameRecordWriter.MAGIC || buffer.getInt() != GameRecordWriter.VERSION) {
+            throw new IOException("Kein gültiges Partiearchiv");
+        }
+    }
+
+    /**
+     * Öffnet eine Archivdatei zum fortlaufenden Lesen.
+     */
+    public static GameRecordReader open(Path path) throws IOException {
+        return new GameRecordReader(FileChannel.open(path, StandardOpenOption.READ));
+    }
+
+    /**
+     * Springt zur nächsten Partie.
+     *
+     * @return false, wenn das Archiv zu Ende ist.
+     * @throws IOException wenn das Archiv nicht gelesen werden kann oder mitten in einer Partie endet.
+     */
+    public boolean next() throws IOException {
+        if (record >= 0) {
+            buffer.position(record + GameRecordWriter.RECORD_HEADER_BYTES + 2 * moveCount);
+        }
+        if (!ensure(GameRecordWriter.RECORD_HEADER_BYTES)) {
+            if (buffer.hasRemaining()) {
+                throw new IOException("Partiearchiv endet mitten in einer Partie");
+            }
+            record = -1;
+            return false;
+        }
+        int count = Byte.toUnsignedInt(buffer.get(buffer.position()));
+        if (!ensure(GameRecordWriter.RECORD_HEADER_BYTES + 2 * count)) {
+            throw new IOException("Partiearchiv endet mitten in einer Partie");
+        }
+        record = buffer.position();
+        moveCount = count;
+        return true;
+    }
+
+    /**
+     * @return die Anzahl der Züge der aktuellen Partie.
+     */
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    public int getBlackDiscs() {
+        return Byte.toUnsignedInt(buffer.get(record + 1));
+    }
+
+    public int getWhiteDiscs() {
+        return Byte.toUnsignedInt(buffer.get(record + 2));
+    }
+
+    /**
+     * @return der Gewinner der aktuellen Partie oder NONE bei Unentschieden.
+     */
+    public Player getWinner() {
+        int difference = getBlackDiscs() - getWhiteDiscs();
+        if (difference > 0) return Player.BLACK;
+        if (difference < 0) return Player.WHITE;
+        return Player.NONE;
+    }
+
+    /**
+     * Liefert einen Zug der aktuellen Partie.
+     *
+     * @param index die Nummer des Zugs, beginnend bei 0.
+     * @return der gepackte Zug oder {@link SearchEngine#NO_MOVE}, wenn Start- und Endfeld nicht auf einer Linie liegen.
+     */
+    public int getMove(int index) {
+        if (index < 0 || index >= moveCount) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Züge: " + moveCount);
+        }
+        int squares = buffer.getShort(record + GameRecordWriter.RECORD_HEADER_BYTES + 2 * index) & 0xFFF;
+        return MOVES[(squares >>> 6) * Bitboard.SQUARES + (squares & 0x3F)];
+    }
+
+    /**
+     * Schreibt alle Züge der aktuellen Partie in einen Puffer. Der Puffer wird vorher geleert.
+     *
+     * @return die Anzahl der Züge.
+     */
+    public int readMoves(MoveBuffer moves) {
+        moves.clear();
+        for (int i = 0; i < moveCount; i++) {
+            moves.add(getMove(i));
+        }
+        return moveCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    /**
+     * Stellt sicher, dass mindestens {@code bytes} Bytes ab der Position im Puffer liegen, und lädt bei einem Kanal
+     * nach. Die Position bleibt auf demselben Byte des Archivs.
+     *
+     * @return false, wenn das Archiv vorher endet.
+     */
+    private boolean ensure(int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) {
+            return true;
+        }
+        if (channel == null) {
+            return false;
+        }
+        buffer.compact();
+        record = -1;
+        while (buffer.position() < bytes) {
+            if (channel.read(buffer) < 0) {
+                break;
+            }
+        }
+        buffer.flip();
+        return buffer.remaining() >= bytes;
+    }
+
+    /**
+     * Liest ein Archiv vollständig und gibt Partien, Züge, Ergebnisse und Durchsatz aus.
+     * Argument: die Archivdatei.
+     */
+    public static void main(String[] args) throws IOException {
+        Path path = Paths.get(args.length > 0 ? args[0] : "games.bin");
+        long start = System.nanoTime();
+        long games = 0;
+        long moves = 0;
+        long[] wins = new long[Player.values().length];
+        try (GameRecordReader reader = open(path)) {
+            while (reader.next()) {
+                games++;
+                moves += reader.getMoveCount();
+                wins[reader.getWinner().ordinal()]++;
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Partien: %d (Schwarz %d, Weiß %d, unentschieden %d), Züge: %d%n", games,
+                wins[Player.BLACK.ordinal()], wins[Player.WHITE.ordinal()], wins[Player.NONE.ordinal()], moves);
+        System.out.printf("Dauer: %.3f s, %.1f MB/s%n", seconds, Files.size(path) / seconds / 1e6);
+    }
+}
@@ -0,0 +1,122 @@
+package org.example;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Schreibt Partien im kompakten Binärformat fortlaufend in einen Kanal.
+ * <p>
+ * Aufbau (Big Endian): Dateikopf aus Kennung {@link #MAGIC} und Version, danach die Partien ohne Trennzeichen.
+ * Jede Partie beginnt mit vier Bytes: Anzahl der Züge, schwarze Steine, weiße Steine und ein reserviertes Byte.
+ * Es folgen die Züge mit je zwei Bytes: das Startfeld in den oberen, das Endfeld in den unteren sechs von zwölf Bits.
+ * Die Richtung ergibt sich aus Start- und Endfeld. Schwarz zieht zuerst, danach wechseln sich die Spieler ab.
+ * <p>
+ * Die Methoden sind synchronisiert, damit der Schreiber direkt als Empfänger der {@link SelfPlay} dienen kann.
+ */
+public class GameRecordWriter implements Closeable {
+    public static final int MAGIC = 0x52564752; // "RVGR"
+    public static final int VERSION = 1;
+    static final int HEADER_BYTES = 8;
+    static final int RECORD_HEADER_BYTES = 4;
+    static final int MAX_MOVES = 255;
+
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private long games;
+
+    /**
+     * Erzeugt einen Schreiber und schreibt den Dateikopf.
+     *
+     * @param channel der Zielkanal; er wird mit {@link #close()} geschlossen.
+     */
+    public GameRecordWriter(WritableByteChannel channel) {
+        this.channel = channel;
+        buffer.putInt(MAGIC).putInt(VERSION);
+    }
+
+    /**
+     * Öffnet eine Archivdatei zum Schreiben; eine vorhandene Datei wird überschrieben.
+     */
+    public static GameRecordWriter create(Path path) throws IOException {
+        return new GameRecordWriter(FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE));
+    }
+
+    /**
+     * Schreibt eine Partie der Selbstspiel-Läufe. Ein-/Ausgabefehler werden als {@link UncheckedIOException}
+     * weitergegeben, damit die Methode als {@code Consumer} verwendbar ist.
+     */
+    public void write(SelfPlayGame game) {
+        try {
+            write(game.getMoves(), game.getMoves().length, game.getBlackDiscs(), game.getWhiteDiscs());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Schreibt eine Partie.
+     *
+     * @param moves die gepackten Züge eines 8x8-Bretts in Spielreihenfolge.
+     * @param count die Anzahl der Züge.
+     * @param blackDiscs die schwarzen Steine am Ende.
+     * @param whiteDiscs die weißen Steine am Ende.
+     * @throws IOException wenn der Kanal nicht beschrieben werden kann.
+     * @throws IllegalArgumentException wenn die Anzahl oder ein Zug ungültig ist; dann wird nichts geschrieben.
+     */
+    public synchronized void write(int[] moves, int count, int blackDiscs, int whiteDiscs) throws IOException {
+        // Erst alles prüfen, damit nie eine halbe Partie im Puffer steht
+        if (count < 0 || count > MAX_MOVES) {
+            throw new IllegalArgumentException("Ungültige Anzahl Züge: " + count);
+        }
+        for (int i = 0; i < count; i++) {
+            if (PackedMove.start(moves[i]) >= Bitboard.SQUARES || PackedMove.end(moves[i]) >= Bitboard.SQUARES) {
+                throw new IllegalArgumentException("Zug liegt nicht auf einem 8x8-Brett: " + moves[i]);
+            }
+        }
+
+        if (buffer.remaining() < RECORD_HEADER_BYTES + 2 * count) {
+            flush();
+        }
+        buffer.put((byte) count).put((byte) blackDiscs).put((byte) whiteDiscs).put((byte) 0);
+        for (int i = 0; i < count; i++) {
+            buffer.putShort((short) (PackedMove.start(moves[i]) << 6 | PackedMove.end(moves[i])));
+        }
+        games++;
+    }
+
+    /**
+     * @return die Anzahl der geschriebenen Partien.
+     */
+    public synchronized long getGames() {
+        return games;
+    }
+
+    /**
+     * Schreibt alle gepufferten Partien in den Kanal.
+     */
+    public synchronized void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
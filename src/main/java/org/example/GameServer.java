@@ -0,0 +1,417 @@
+package org.example;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.ByteBuffer;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * TCP-Server für viele gleichzeitige Partien über ein einfaches Zeilenprotokoll.
+ * <p>
+ * Jede Verbindung ist eine Partie aus der Startaufstellung, in der der Client beide Seiten zieht. Der Client schickt
+ * eine Zeile pro Befehl in ASCII, der Server antwortet mit genau einer Zeile in UTF-8:
+ * <ul>
+ *     <li>ein Zug in der Schreibweise des {@link MoveParser}, etwa "E6 E4", "E6-E4" oder "E6,E4":
+ *     "OK" und die neue Stellung, oder "ERR" und der Grund; die Stellung bleibt dann unverändert,</li>
+ *     <li>"MOVES": "MOVES" und die gültigen Züge, etwa "MOVES E4-E6 F5-D5",</li>
+ *     <li>"BOARD": "OK" und die Stellung,</li>
+ *     <li>"NEW": "OK" und die Startaufstellung,</li>
+ *     <li>"QUIT": "BYE"; danach schließt der Server die Verbindung.</li>
+ * </ul>
+ * Eine Stellung wird als "&lt;schwarz&gt; &lt;weiß&gt; &lt;am Zug&gt;" geschrieben: die beiden Masken hexadezimal
+ * wie in {@link Bitboard} und 'B' oder 'W'. Hat der Spieler am Zug keinen Zug, ist die Partie vorbei; statt des
+ * Spielers am Zug folgen dann "END" und der Sieger ('B', 'W' oder '-' bei Gleichstand).
+ * <p>
+ * Jede Verbindung läuft auf einem eigenen virtuellen Thread mit blockierender Ein- und Ausgabe. Der Zustand einer
+ * Partie ist eine unveränderliche {@link Position}; die Regeln kommen aus einer gemeinsamen {@link GameEngine}.
+ * Die Puffer einer Verbindung sind klein ({@link #BUFFER_BYTES} Bytes), damit Tausende gehaltener Verbindungen
+ * nur wenige Megabyte brauchen.
+ */
+public class GameServer implements Closeable {
+    static final int BUFFER_BYTES = 256;
+
+    private static final int BACKLOG = 1024;
+
+    private final InetAddress bindAddress;
+    private final int requestedPort;
+    private final GameEngine engine = new GameEngine();
+    private final Set<Socket> sockets = ConcurrentHashMap.newKeySet();
+
+    private final AtomicInteger activeSessions = new AtomicInteger();
+    private final LongAdder totalSessions = new LongAdder();
+    private final LongAdder moves = new LongAdder();
+
+    private ServerSocket serverSocket;
+    private ExecutorService executor;
+
+    /**
+     * @param bindAddress die Adresse, an die der Server gebunden wird, oder null für alle Adressen.
+     * @param port der Port oder 0 für einen freien Port, siehe {@link #getPort()}.
+     */
+    public GameServer(InetAddress bindAddress, int port) {
+        if (port < 0 || port > 0xFFFF) {
+            throw new IllegalArgumentException("Ungültiger Port: " + port);
+        }
+        this.bindAddress = bindAddress;
+        this.requestedPort = port;
+    }
+
+    public GameServer(int port) {
+        this(null, port);
+    }
+
+    /**
+     * Öffnet den Port und nimmt Verbindungen auf einem eigenen virtuellen Thread an.
+     *
+     * @throws IllegalStateException wenn der Server schon gestartet wurde.
+     */
+    public synchronized void start() throws IOException {
+        if (serverSocket != null) {
+            throw new IllegalStateException("Server läuft bereits");
+        }
+        serverSocket = new ServerSocket(requestedPort, BACKLOG, bindAddress);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        ServerSocket listening = serverSocket;
+        executor.execute(() -> accept(listening));
+    }
+
+    /**
+     * @return der Port, auf dem der Server Verbindungen annimmt.
+     * @throws IllegalStateException wenn der Server nicht gestartet wurde.
+     */
+    public synchronized int getPort() {
+        if (serverSocket == null) {
+            throw new IllegalStateException("Server läuft nicht");
+        }
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * @return die Anzahl der gerade offenen Verbindungen.
+     */
+    public int getActiveSessions() {
+        return activeSessions.get();
+    }
+
+    /**
+     * @return die Anzahl aller angenommenen Verbindungen.
+     */
+    public long getTotalSessions() {
+        return totalSessions.sum();
+    }
+
+    /**
+     * @return die Anzahl aller ausgeführten Züge.
+     */
+    public long getMoves() {
+        return moves.sum();
+    }
+
+    /**
+     * Schließt den Port und alle offenen Verbindungen und wartet kurz auf das Ende ihrer Threads.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (serverSocket == null) {
+            return;
+        }
+        serverSocket.close();
+        for (Socket socket : sockets) {
+            socket.close();
+        }
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        serverSocket = null;
+        executor = null;
+    }
+
+    private void accept(ServerSocket listening) {
+        while (!listening.isClosed()) {
+            Socket socket;
+            try {
+                socket = listening.accept();
+            } catch (IOException e) {
+                // Der Port wurde geschlossen
+                return;
+            }
+            sockets.add(socket);
+            if (listening.isClosed()) {
+                // close() hat die offenen Verbindungen schon geschlossen, bevor diese hinzukam
+                sockets.remove(socket);
+                closeQuietly(socket);
+                return;
+            }
+            // Nach close() nimmt der Executor nichts mehr an; die Verbindung wird dann gleich geschlossen
+            try {
+                executor.execute(() -> serve(socket));
+            } catch (RuntimeException e) {
+                sockets.remove(socket);
+                closeQuietly(socket);
+                return;
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        activeSessions.incrementAndGet();
+        totalSessions.increment();
+        try (socket) {
+            socket.setTcpNoDelay(true);
+            new Session(socket.getInputStream(), socket.getOutputStream()).run();
+        } catch (SocketException e) {
+            // Verbindung vom Client abgebrochen oder beim Schließen des Servers getrennt
+        } catch (IOException e) {
+            System.err.println("Fehler in der Verbindung " + socket.getRemoteSocketAddress() + ": " + e.getMessage());
+        } finally {
+            sockets.remove(socket);
+            activeSessions.decrementAndGet();
+        }
+    }
+
+    /**
+     * Eine Partie auf einer Verbindung. Wird nur von ihrem eigenen Thread benutzt.
+     * <p>
+     * Zeilen werden direkt aus Byte-Puffern gelesen und geschrieben, ohne Reader, Writer und Zeichensatz-Decoder,
+     * die je Verbindung eigene Puffer von mehreren Kilobyte anlegen würden.
+     */
+    private final class Session {
+        private final InputStream in;
+        private final OutputStream out;
+        private final byte[] input = new byte[BUFFER_BYTES];
+        private final byte[] line = new byte[BUFFER_BYTES];
+        private final ByteBuffer lineBuffer = ByteBuffer.wrap(line);
+        private final byte[] output = new byte[BUFFER_BYTES];
+        private final StringBuilder reply = new StringBuilder(BUFFER_BYTES);
+        private final MoveParser parser = new MoveParser();
+        private final MoveBuffer buffer = new MoveBuffer();
+        private final MoveParseErrors errors = new MoveParseErrors();
+        private int inputPosition;
+        private int inputLimit;
+        private int lineLength;
+        private Position position = Position.initial();
+
+        Session(InputStream in, OutputStream out) {
+            this.in = in;
+            this.out = out;
+        }
+
+        void run() throws IOException {
+            int length;
+            while ((length = readLine()) >= 0) {
+                reply.setLength(0);
+                boolean open = true;
+                if (length > line.length) {
+                    reply.append("ERR Zeile zu lang");
+                } else {
+                    open = handle();
+                }
+                reply.append('\n');
+                write();
+                if (!open) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Liest die nächste Zeile ohne Zeilenende nach {@code line}, ohne führende und folgende Leerzeichen.
+         * Was über die Puffergröße hinausgeht, wird verworfen.
+         *
+         * @return die Länge der Zeile, mehr als die Puffergröße bei einer zu langen Zeile, -1 am Ende der Eingabe.
+         */
+        private int readLine() throws IOException {
+            int length = 0;
+            while (true) {
+                if (inputPosition == inputLimit) {
+                    inputLimit = in.read(input);
+                    inputPosition = 0;
+                    if (inputLimit < 0) {
+                        inputLimit = 0;
+                        return length == 0 ? -1 : trim(length);
+                    }
+                }
+                byte b = input[inputPosition++];
+                if (b == '\n') {
+                    return trim(length);
+                }
+                if (length < line.length) {
+                    line[length] = b;
+                }
+                length++;
+            }
+        }
+
+        private int trim(int length) {
+            if (length > line.length) {
+                return length;
+            }
+            int from = 0;
+            while (from < length && line[from] <= ' ') {
+                from++;
+            }
+            while (length > from && line[length - 1] <= ' ') {
+                length--;
+            }
+            System.arraycopy(line, from, line, 0, length - from);
+            lineLength = length - from;
+            return lineLength;
+        }
+
+        /**
+         * Schreibt die Antwort als UTF-8. Außer den Fehlermeldungen ist sie reines ASCII.
+         */
+        private void write() throws IOException {
+            int count = 0;
+            for (int i = 0; i < reply.length(); i++) {
+                if (count > output.length - 2) {
+                    out.write(output, 0, count);
+                    count = 0;
+                }
+                char c = reply.charAt(i);
+                if (c < 0x80) {
+                    output[count++] = (byte) c;
+                } else {
+                    // Die Meldungen enthalten nur Zeichen unter U+0800
+                    output[count++] = (byte) (0xC0 | c >>> 6);
+                    output[count++] = (byte) (0x80 | c & 0x3F);
+                }
+            }
+            out.write(output, 0, count);
+            out.flush();
+        }
+
+        private boolean is(String keyword) {
+            if (lineLength != keyword.length()) {
+                return false;
+            }
+            for (int i = 0; i < lineLength; i++) {
+                if (Character.toUpperCase((char) line[i]) != keyword.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Schreibt die Antwort auf einen Befehl nach {@code reply}.
+         *
+         * @return false, wenn die Verbindung danach geschlossen wird.
+         */
+        private boolean handle() {
+            if (is("QUIT")) {
+                reply.append("BYE");
+                return false;
+            }
+            if (is("NEW")) {
+                position = Position.initial();
+                appendPosition();
+            } else if (is("BOARD")) {
+                appendPosition();
+            } else if (is("MOVES")) {
+                reply.append("MOVES");
+                engine.legalMoves(position, buffer);
+                for (int i = 0; i < buffer.size(); i++) {
+                    reply.append(' ');
+                    appendSquare(PackedMove.start(buffer.get(i)));
+                    reply.append('-');
+                    appendSquare(PackedMove.end(buffer.get(i)));
+                }
+            } else {
+                play();
+            }
+            return true;
+        }
+
+        private void play() {
+            lineBuffer.limit(lineLength);
+            if (parser.parseMoves(lineBuffer, buffer, errors) != 1 || !errors.isEmpty()) {
+                reply.append("ERR Unbekannter Befehl oder ungültige Schreibweise: ");
+                appendLine();
+                return;
+            }
+            int move = buffer.get(0);
+            if (engine.isGameOver(position)) {
+                reply.append("ERR Partie ist vorbei");
+                return;
+            }
+            if (!engine.isLegal(position, move)) {
+                reply.append("ERR Ungültiger Zug: ");
+                appendLine();
+                return;
+            }
+            position = engine.play(position, move);
+            moves.increment();
+            appendPosition();
+        }
+
+        private void appendPosition() {
+            reply.append("OK ");
+            appendHex(position.getBlack());
+            reply.append(' ');
+            appendHex(position.getWhite());
+            reply.append(' ');
+            if (!engine.isGameOver(position)) {
+                reply.append(position.getPlayer() == Player.BLACK ? 'B' : 'W');
+                return;
+            }
+            Player winner = engine.leader(position);
+            reply.append("END ").append(winner == Player.BLACK ? 'B' : winner == Player.WHITE ? 'W' : '-');
+        }
+
+        private void appendLine() {
+            for (int i = 0; i < lineLength; i++) {
+                reply.append((char) (line[i] & 0x7F));
+            }
+        }
+
+        private void appendHex(long mask) {
+            for (int shift = 60; shift >= 0; shift -= 4) {
+                reply.append(Character.forDigit((int) (mask >>> shift) & 0xF, 16));
+            }
+        }
+
+        private void appendSquare(int square) {
+            reply.append((char) ('A' + square % Bitboard.SIZE)).append((char) ('1' + square / Bitboard.SIZE));
+        }
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // Nichts zu tun
+        }
+    }
+
+    /**
+     * Startet den Server und läuft, bis der Prozess beendet wird.
+     * Argumente: Port (Standard 4711).
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 4711;
+        GameServer server = new GameServer(port);
+        server.start();
+        System.out.println("Reversi-Server auf Port " + server.getPort());
+        while (true) {
+            Thread.sleep(10_000);
+            System.out.printf("Verbindungen: %d offen, %d gesamt, Züge: %d%n",
+                    server.getActiveSessions(), server.getTotalSessions(), server.getMoves());
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * Histogramm für Laufzeiten in Nanosekunden mit logarithmisch-linearen Klassen wie bei HdrHistogram:
+ * Jede Zweierpotenz ist in 64 Klassen geteilt, die relative Abweichung liegt damit unter 2 %.
+ * Werte unter 128 werden exakt gezählt.
+ * <p>
+ * Ein Histogramm ist nicht threadsicher. Jeder Thread zählt in sein eigenes, zur Auswertung werden sie mit
+ * {@link #add(LatencyHistogram)} zusammengeführt.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKETS];
+    private long totalCount;
+    private long sum;
+    private long max;
+
+    /**
+     * Zählt einen Wert. Negative Werte zählen als 0.
+     *
+     * @param value der Wert in Nanosekunden.
+     */
+    public void record(long value) {
+        long clamped = Math.max(value, 0);
+        counts[index(clamped)]++;
+        totalCount++;
+        sum += clamped;
+        max = Math.max(max, clamped);
+    }
+
+    /**
+     * Addiert die Zählungen eines anderen Histogramms.
+     *
+     * @param other das andere Histogramm.
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        sum += other.sum;
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Addiert rohe Klassenzählungen, etwa aus einem threadsicheren Zähler.
+     *
+     * @param bucketCounts die Zählungen je Klasse, mindestens {@link #BUCKETS} Einträge.
+     * @param sum die Summe der gezählten Werte.
+     * @param max der größte gezählte Wert.
+     */
+    void add(long[] bucketCounts, long sum, long max) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += bucketCounts[i];
+            totalCount += bucketCounts[i];
+        }
+        this.sum += sum;
+        this.max = Math.max(this.max, max);
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+        totalCount = 0;
+        sum = 0;
+        max = 0;
+    }
+
+    public long getCount() {
+        return totalCount;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public long getSum() {
+        return sum;
+    }
+
+    public double getMean() {
+        return totalCount == 0 ? 0 : (double) sum / totalCount;
+    }
+
+    /**
+     * Liefert das Perzentil als obere Grenze der Klasse, in die es fällt.
+     *
+     * @param percentile das Perzentil zwischen 0 und 100.
+     * @return der Wert in Nanosekunden oder 0 ohne Werte.
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(highestValue(i), max);
+            }
+        }
+        return max;
+    }
+
+    static int index(long value) {
+        if (value < 2 * SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+    }
+
+    static long highestValue(int index) {
+        if (index < 2 * SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long subBucket = index % SUB_BUCKETS + SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,127 @@
+package org.example;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Zählt Aufrufe und Laufzeiten der heißen Pfade ({@link Operation}).
+ * <p>
+ * Eingeschaltet wird die Messung mit der Systemeigenschaft {@code -Dreversi.metrics=true}. Ohne sie ist
+ * {@link #ENABLED} eine Konstante mit dem Wert false, der JIT-Compiler entfernt dann {@link #start()} und
+ * {@link #stop(Operation, long)} samt {@code System.nanoTime()} vollständig aus den aufrufenden Methoden.
+ * <p>
+ * Eingeschaltet zählt jeder Thread in seinen eigenen Streifen, ausgewählt über die Thread-ID. Es gibt mindestens doppelt
+ * so viele Streifen wie Prozessoren, damit auch viele virtuelle Threads nur begrenzt Speicher belegen; teilen sich zwei
+ * Threads einen Streifen, bleiben die atomaren Zähler trotzdem exakt. Es gibt keine Sperren.
+ * {@link #snapshot()} führt die Streifen zu je einem {@link LatencyHistogram} zusammen.
+ */
+public final class Metrics {
+    /**
+     * Die gemessenen Operationen.
+     */
+    public enum Operation {
+        FIND_ALL_MOVES("find_all_moves"),
+        IS_MOVE_VALID("is_move_valid"),
+        EXECUTE_MOVE("execute_move");
+
+        private final String label;
+
+        Operation(String label) {
+            this.label = label;
+        }
+
+        /**
+         * @return der Name der Operation in der Prometheus-Ausgabe.
+         */
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    public static final boolean ENABLED = Boolean.getBoolean("reversi.metrics");
+
+    private static final Operation[] OPERATIONS = Operation.values();
+    private static final int SUM = LatencyHistogram.BUCKETS;
+    private static final int MAX = SUM + 1;
+    private static final int STRIPE_MASK;
+    /**
+     * Je Streifen und Operation ein Array: die Klassen des Histogramms, dann Summe und Maximum.
+     */
+    private static final AtomicLongArray[] CELLS;
+
+    static {
+        int stripes = ENABLED ? Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 4 - 1) : 1;
+        STRIPE_MASK = stripes - 1;
+        CELLS = new AtomicLongArray[ENABLED ? stripes * OPERATIONS.length : 0];
+        for (int i = 0; i < CELLS.length; i++) {
+            CELLS[i] = new AtomicLongArray(MAX + 1);
+        }
+    }
+
+    private Metrics() {
+    }
+
+    /**
+     * Beginnt eine Messung.
+     *
+     * @return der Startzeitpunkt in Nanosekunden oder 0, wenn die Messung ausgeschaltet ist.
+     */
+    public static long start() {
+        return ENABLED ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Beendet eine Messung und zählt die Laufzeit seit {@code start}.
+     *
+     * @param operation die gemessene Operation.
+     * @param start der Rückgabewert von {@link #start()}.
+     */
+    public static void stop(Operation operation, long start) {
+        if (ENABLED) {
+            record(operation, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Zählt einen Aufruf mit der angegebenen Laufzeit. Ohne {@link #ENABLED} geschieht nichts.
+     *
+     * @param operation die Operation.
+     * @param nanos die Laufzeit in Nanosekunden.
+     */
+    public static void record(Operation operation, long nanos) {
+        if (!ENABLED) {
+            return;
+        }
+        long value = Math.max(nanos, 0);
+        int stripe = (int) Thread.currentThread().threadId() & STRIPE_MASK;
+        AtomicLongArray cell = CELLS[stripe * OPERATIONS.length + operation.ordinal()];
+        cell.incrementAndGet(LatencyHistogram.index(value));
+        cell.addAndGet(SUM, value);
+        long max = cell.get(MAX);
+        while (value > max && !cell.compareAndSet(MAX, max, value)) {
+            max = cell.get(MAX);
+        }
+    }
+
+    /**
+     * Liefert den aktuellen Stand aller Operationen. Die Zähler laufen dabei weiter; Aufrufe, die während des
+     * Zusammenführens gezählt werden, fehlen oder sind nur teilweise enthalten.
+     *
+     * @return die Momentaufnahme, ohne {@link #ENABLED} mit leeren Histogrammen.
+     */
+    public static MetricsSnapshot snapshot() {
+        LatencyHistogram[] histograms = new LatencyHistogram[OPERATIONS.length];
+        long[] buckets = new long[LatencyHistogram.BUCKETS];
+        for (Operation operation : OPERATIONS) {
+            LatencyHistogram histogram = new LatencyHistogram();
+            for (int stripe = 0; stripe * OPERATIONS.length < CELLS.length; stripe++) {
+                AtomicLongArray cell = CELLS[stripe * OPERATIONS.length + operation.ordinal()];
+                for (int i = 0; i < buckets.length; i++) {
+                    buckets[i] = cell.get(i);
+                }
+                histogram.add(buckets, cell.get(SUM), cell.get(MAX));
+            }
+            histograms[operation.ordinal()] = histogram;
+        }
+        return new MetricsSnapshot(histograms);
+    }
+}
@@ -0,0 +1,68 @@
+package org.example;
+
+import java.util.Locale;
+
+/**
+ * Momentaufnahme der {@link Metrics}: je Operation ein {@link LatencyHistogram} mit Anzahl und Laufzeiten.
+ */
+public final class MetricsSnapshot {
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+    private static final String METRIC = "reversi_operation_duration_seconds";
+
+    private final LatencyHistogram[] histograms;
+
+    MetricsSnapshot(LatencyHistogram[] histograms) {
+        this.histograms = histograms;
+    }
+
+    public LatencyHistogram getHistogram(Metrics.Operation operation) {
+        return histograms[operation.ordinal()];
+    }
+
+    public long getCount(Metrics.Operation operation) {
+        return getHistogram(operation).getCount();
+    }
+
+    /**
+     * Schreibt die Momentaufnahme im Textformat von Prometheus, als Summary mit Quantilen in Sekunden.
+     *
+     * @return der Text, mit Zeilenumbruch am Ende.
+     */
+    public String toPrometheus() {
+        StringBuilder text = new StringBuilder();
+        text.append("# HELP ").append(METRIC).append(" Laufzeit der Operationen auf dem heißen Pfad.\n");
+        text.append("# TYPE ").append(METRIC).append(" summary\n");
+        for (Metrics.Operation operation : Metrics.Operation.values()) {
+            LatencyHistogram histogram = getHistogram(operation);
+            String label = "operation=\"" + operation.getLabel() + "\"";
+            for (double quantile : QUANTILES) {
+                text.append(METRIC).append('{').append(label).append(",quantile=\"").append(quantile).append("\"} ")
+                        .append(seconds(histogram.getValueAtPercentile(quantile * 100))).append('\n');
+            }
+            text.append(METRIC).append("_sum{").append(label).append("} ")
+                    .append(seconds(histogram.getSum())).append('\n');
+            text.append(METRIC).append("_count{").append(label).append("} ")
+                    .append(histogram.getCount()).append('\n');
+        }
+        return text.toString();
+    }
+
+    private static String seconds(double nanos) {
+        return String.format(Locale.ROOT, "%.9f", nanos / 1e9);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("MetricsSnapshot{");
+        for (Metrics.Operation operation : Metrics.Operation.values()) {
+            LatencyHistogram histogram = getHistogram(operation);
+            if (operation.ordinal() > 0) {
+                text.append(", ");
+            }
+            text.append(operation.getLabel()).append(": n=").append(histogram.getCount())
+                    .append(", p50=").append(histogram.getValueAtPercentile(50)).append(" ns")
+                    .append(", p99=").append(histogram.getValueAtPercentile(99)).append(" ns");
+        }
+        return text.append('}').toString();
+    }
+}
@@ -0,0 +1,62 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * Wiederverwendbarer Puffer für gepackte Züge (siehe {@link PackedMove}).
+ * Der Puffer wächst nur, wenn seine Kapazität nicht reicht, und erzeugt danach keine Objekte mehr.
+ */
+public final class MoveBuffer {
+    private int[] moves;
+    private int size;
+
+    public MoveBuffer() {
+        this(64);
+    }
+
+    public MoveBuffer(int capacity) {
+        moves = new int[Math.max(capacity, 1)];
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public void add(int move) {
+        if (size == moves.length) {
+            moves = Arrays.copyOf(moves, size * 2);
+        }
+        moves[size++] = move;
+    }
+
+    public int get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " bei Größe " + size);
+        }
+        return moves[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int move) {
+        for (int i = 0; i < size; i++) {
+            if (moves[i] == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Liefert das zugrunde liegende Array; gültig sind nur die ersten {@link #size()} Einträge.
+     */
+    int[] array() {
+        return moves;
+    }
+}
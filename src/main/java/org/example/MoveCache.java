@@ -0,0 +1,224 @@
+package org.example;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Begrenzter Zwischenspeicher für die gültigen Züge einer Stellung, adressiert über einen 64-Bit-Hashwert.
+ * <p>
+ * Die Einträge liegen wie bei der {@link TranspositionTable} in Buckets fester Größe mit je {@link #WAYS} Plätzen.
+ * Ist ein Bucket voll, wählt der CLOCK-Algorithmus den zu ersetzenden Eintrag: Jeder Treffer setzt ein
+ * Referenzbit, der Zeiger des Buckets überspringt referenzierte Einträge einmal und löscht dabei ihr Bit.
+ * Das nähert LRU innerhalb eines Buckets an, ohne bei Treffern Listen umzuhängen.
+ * <p>
+ * Lesen und Schreiben kommen ohne Sperren aus. Ein Eintrag ist unveränderlich und wird als Ganzes mit
+ * Release-Semantik veröffentlicht; konkurrierende Schreiber ersetzen einen Platz per compareAndSet, verliert einer,
+ * wird sein Eintrag verworfen. Referenzbits und Zeiger sind nur Hinweise und werden ohne Synchronisation geschrieben.
+ */
+public final class MoveCache {
+    public static final int WAYS = 4;
+
+    private static final VarHandle ENTRIES = MethodHandles.arrayElementVarHandle(Entry[].class);
+    private static final VarHandle BYTES = MethodHandles.arrayElementVarHandle(byte[].class);
+
+    private final Entry[] entries;
+    private final byte[] referenced;
+    private final byte[] hands;
+    private final int bucketMask;
+    private final MoveValidator moveValidator = new MoveValidator();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Ein gespeicherter Zugsatz. Die Züge werden beim Speichern kopiert und danach nicht mehr verändert.
+     */
+    private static final class Entry {
+        final long key;
+        final int[] moves;
+
+        Entry(long key, int[] moves) {
+            this.key = key;
+            this.moves = moves;
+        }
+    }
+
+    /**
+     * Erzeugt einen Speicher für höchstens die angegebene Anzahl von Stellungen.
+     * Die Anzahl der Buckets wird auf eine Zweierpotenz abgerundet.
+     *
+     * @param maxEntries die Obergrenze der Einträge, mindestens {@link #WAYS}.
+     */
+    public MoveCache(int maxEntries) {
+        if (maxEntries < WAYS) {
+            throw new IllegalArgumentException("Größe muss mindestens " + WAYS + " sein: " + maxEntries);
+        }
+        int buckets = Integer.highestOneBit(maxEntries / WAYS);
+        entries = new Entry[buckets * WAYS];
+        referenced = new byte[buckets * WAYS];
+        hands = new byte[buckets];
+        bucketMask = buckets - 1;
+    }
+
+    /**
+     * Bildet den Schlüssel einer Stellung aus ihrem Zobrist-Hashwert und dem Spieler am Zug.
+     *
+     * @param boardHash der Hashwert des Bretts, etwa {@link Reversi#getHash()}.
+     * @param player der Spieler am Zug.
+     * @return der Schlüssel.
+     */
+    public static long key(long boardHash, Player player) {
+        return player == Player.WHITE ? boardHash ^ Zobrist.WHITE_TO_MOVE : boardHash;
+    }
+
+    /**
+     * Sucht die Züge einer Stellung.
+     *
+     * @param key der Schlüssel der Stellung.
+     * @param moves der Puffer, in den die Züge bei einem Treffer geschrieben werden. Er wird dann vorher geleert.
+     * @return true bei einem Treffer.
+     */
+    public boolean get(long key, MoveBuffer moves) {
+        int index = bucketIndex(key);
+        for (int way = 0; way < WAYS; way++) {
+            Entry entry = (Entry) ENTRIES.getAcquire(entries, index + way);
+            if (entry != null && entry.key == key) {
+                if ((byte) BYTES.getOpaque(referenced, index + way) == 0) {
+                    BYTES.setOpaque(referenced, index + way, (byte) 1);
+                }
+                moves.clear();
+                for (int move : entry.moves) {
+                    moves.add(move);
+                }
+                hits.increment();
+                return true;
+            }
+        }
+        misses.increment();
+        return false;
+    }
+
+    /**
+     * Speichert die Züge einer Stellung. Ein vorhandener Eintrag mit demselben Schlüssel wird ersetzt.
+     *
+     * @param key der Schlüssel der Stellung.
+     * @param moves die Züge; sie werden kopiert.
+     */
+    public void put(long key, MoveBuffer moves) {
+        Entry entry = new Entry(key, Arrays.copyOf(moves.array(), moves.size()));
+        int index = bucketIndex(key);
+        int bucket = index / WAYS;
+
+        // Erst denselben Schlüssel ersetzen, dann einen freien Platz belegen
+        for (int pass = 0; pass < 2; pass++) {
+            for (int way = 0; way < WAYS; way++) {
+                Entry current = (Entry) ENTRIES.getAcquire(entries, index + way);
+                boolean match = pass == 0 ? current != null && current.key == key : current == null;
+                if (match && ENTRIES.compareAndSet(entries, index + way, current, entry)) {
+                    BYTES.setOpaque(referenced, index + way, (byte) 0);
+                    return;
+                }
+            }
+        }
+
+        // Bucket voll: CLOCK ab dem Zeiger, höchstens zwei Umläufe, damit gelöschte Bits wirken
+        int hand = (byte) BYTES.getOpaque(hands, bucket) & (WAYS - 1);
+        for (int step = 0; step < 2 * WAYS; step++) {
+            int slot = index + ((hand + step) & (WAYS - 1));
+            if ((byte) BYTES.getOpaque(referenced, slot) != 0) {
+                BYTES.setOpaque(referenced, slot, (byte) 0);
+                continue;
+            }
+            Entry victim = (Entry) ENTRIES.getAcquire(entries, slot);
+            if (ENTRIES.compareAndSet(entries, slot, victim, entry)) {
+                BYTES.setOpaque(hands, bucket, (byte) ((hand + step + 1) & (WAYS - 1)));
+                if (victim != null) {
+                    evictions.increment();
+                }
+            }
+            return;
+        }
+    }
+
+    /**
+     * Liefert die Züge einer Stellung aus dem Speicher oder berechnet sie mit {@link MoveValidator} und speichert sie.
+     *
+     * @param key der Schlüssel der Stellung, siehe {@link #key(long, Player)}.
+     * @param board das Reversi-Brett mit höchstens {@link PackedMove#MAX_SQUARES} Feldern.
+     * @param player der Spieler am Zug.
+     * @param moves der Puffer für die gepackten Züge.
+     * @return die Anzahl der Züge.
+     */
+    public int findAllMoves(long key, Player[][] board, Player player, MoveBuffer moves) {
+        if (!get(key, moves)) {
+            moveValidator.findAllMoves(board, player, moves);
+            put(key, moves);
+        }
+        return moves.size();
+    }
+
+    /**
+     * Leert den Speicher. Die Zähler bleiben erhalten.
+     */
+    public void clear() {
+        for (int i = 0; i < entries.length; i++) {
+            ENTRIES.setRelease(entries, i, null);
+        }
+    }
+
+    /**
+     * @return die Anzahl der Einträge, die der Speicher fasst.
+     */
+    public int capacity() {
+        return entries.length;
+    }
+
+    /**
+     * Zählt die belegten Plätze. Bei gleichzeitigen Schreibzugriffen ist das Ergebnis eine Momentaufnahme.
+     *
+     * @return die Anzahl der Einträge.
+     */
+    public int size() {
+        int size = 0;
+        for (int i = 0; i < entries.length; i++) {
+            if (ENTRIES.getAcquire(entries, i) != null) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return der Anteil der Treffer an allen Anfragen oder 0 ohne Anfragen.
+     */
+    public double getHitRate() {
+        long hitCount = getHits();
+        long total = hitCount + getMisses();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    private int bucketIndex(long key) {
+        return ((int) (key ^ key >>> 32) & bucketMask) * WAYS;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("MoveCache{capacity=%d, hits=%d, misses=%d, evictions=%d, hitRate=%.3f}",
+                capacity(), getHits(), getMisses(), getEvictions(), getHitRate());
+    }
+}
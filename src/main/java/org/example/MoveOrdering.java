@@ -0,0 +1,164 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * Sortiert die Züge eines Suchknotens, damit gute Züge zuerst durchsucht werden und Alpha-Beta früh abschneidet.
+ * <p>
+ * Reihenfolge: der beste Zug aus der Transpositionstabelle, dann die beiden Killerzüge der Ebene, dann nach der
+ * History des Endfelds und zuletzt nach dem statischen Feldwert ({@link PatternWeights#SQUARE_VALUES}).
+ * Sortiert wird in place im Array des {@link MoveBuffer}, mit einem parallelen {@code int[]} für die Bewertungen.
+ * <p>
+ * Zähler für Schnitte und Schnitte beim ersten Zug zeigen, wie gut die Sortierung ist: Je näher die Quote der
+ * Schnitte beim ersten Zug an 1 liegt, desto besser. Nicht threadsicher; jede {@link SearchEngine} hat ihre eigene
+ * Sortierung.
+ */
+public final class MoveOrdering {
+    private static final int TT_MOVE_SCORE = 1 << 30;
+    private static final int KILLER_SCORE = 1 << 29;
+    /**
+     * Bei diesem Wert wird die History halbiert, damit alle Werte unter den Killerzügen bleiben.
+     */
+    private static final int HISTORY_LIMIT = 1 << 20;
+    private static final int SQUARE_VALUE_OFFSET = 128;
+
+    private final int[][] killers;
+    private final int[][] scores;
+    private final int[] history = new int[2 * Bitboard.SQUARES];
+
+    private long cutoffs;
+    private long firstMoveCutoffs;
+    private long cutoffIndexSum;
+
+    /**
+     * @param maxPly die größte Ebene, auf der sortiert wird.
+     */
+    public MoveOrdering(int maxPly) {
+        killers = new int[maxPly + 1][2];
+        scores = new int[maxPly + 1][0];
+        newSearch();
+    }
+
+    /**
+     * Bereitet eine neue Suche vor: Die Killerzüge werden gelöscht, die History wird halbiert, damit ältere
+     * Suchen weniger zählen.
+     */
+    public void newSearch() {
+        for (int[] killer : killers) {
+            Arrays.fill(killer, SearchEngine.NO_MOVE);
+        }
+        for (int i = 0; i < history.length; i++) {
+            history[i] >>= 1;
+        }
+    }
+
+    /**
+     * Sortiert die Züge eines Knotens absteigend nach ihrer Bewertung.
+     *
+     * @param moves die Züge.
+     * @param ply die Ebene des Knotens.
+     * @param ttMove der beste Zug aus der Transpositionstabelle oder {@link SearchEngine#NO_MOVE}.
+     * @param player der Spieler am Zug.
+     */
+    public void sort(MoveBuffer moves, int ply, int ttMove, Player player) {
+        int count = moves.size();
+        int[] array = moves.array();
+        if (scores[ply].length < count) {
+            scores[ply] = new int[array.length];
+        }
+        int[] keys = scores[ply];
+        int[] killer = killers[ply];
+        int side = player.ordinal() & 1;
+
+        for (int i = 0; i < count; i++) {
+            int move = array[i];
+            int key;
+            if (move == ttMove) {
+                key = TT_MOVE_SCORE;
+            } else if (move == killer[0]) {
+                key = KILLER_SCORE + 1;
+            } else if (move == killer[1]) {
+                key = KILLER_SCORE;
+            } else {
+                int end = PackedMove.end(move);
+                key = history[side * Bitboard.SQUARES + end] * 256 + PatternWeights.SQUARE_VALUES[end] + SQUARE_VALUE_OFFSET;
+            }
+            int j = i;
+            while (j > 0 && keys[j - 1] < key) {
+                keys[j] = keys[j - 1];
+                array[j] = array[j - 1];
+                j--;
+            }
+            keys[j] = key;
+            array[j] = move;
+        }
+    }
+
+    /**
+     * Meldet einen Schnitt: Der Zug wird Killerzug der Ebene und seine History steigt mit dem Quadrat der Resttiefe.
+     *
+     * @param move der Zug, der den Schnitt ausgelöst hat.
+     * @param index seine Stelle in der sortierten Zugliste.
+     * @param ply die Ebene des Knotens.
+     * @param depth die Resttiefe des Knotens.
+     * @param player der Spieler am Zug.
+     */
+    public void cutoff(int move, int index, int ply, int depth, Player player) {
+        cutoffs++;
+        cutoffIndexSum += index;
+        if (index == 0) {
+            firstMoveCutoffs++;
+        }
+
+        int[] killer = killers[ply];
+        if (killer[0] != move) {
+            killer[1] = killer[0];
+            killer[0] = move;
+        }
+
+        int slot = (player.ordinal() & 1) * Bitboard.SQUARES + PackedMove.end(move);
+        history[slot] += depth * depth;
+        if (history[slot] >= HISTORY_LIMIT) {
+            for (int i = 0; i < history.length; i++) {
+                history[i] >>= 1;
+            }
+        }
+    }
+
+    public long getCutoffs() {
+        return cutoffs;
+    }
+
+    public long getFirstMoveCutoffs() {
+        return firstMoveCutoffs;
+    }
+
+    /**
+     * @return der Anteil der Schnitte, die schon der erste Zug ausgelöst hat, oder 0 ohne Schnitte.
+     */
+    public double getFirstMoveCutoffRate() {
+        return cutoffs == 0 ? 0 : (double) firstMoveCutoffs / cutoffs;
+    }
+
+    /**
+     * @return die mittlere Stelle des schneidenden Zugs in der Zugliste, beginnend bei 0.
+     */
+    public double getAverageCutoffIndex() {
+        return cutoffs == 0 ? 0 : (double) cutoffIndexSum / cutoffs;
+    }
+
+    /**
+     * Setzt die Zähler zurück; Killerzüge und History bleiben erhalten.
+     */
+    public void resetCounters() {
+        cutoffs = 0;
+        firstMoveCutoffs = 0;
+        cutoffIndexSum = 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("MoveOrdering{cutoffs=%d, firstMoveCutoffRate=%.3f, averageCutoffIndex=%.2f}",
+                cutoffs, getFirstMoveCutoffRate(), getAverageCutoffIndex());
+    }
+}
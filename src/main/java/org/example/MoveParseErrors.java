@@ -0,0 +1,72 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * Sammelt die Fehler eines Massenlaufs von {@link MoveParser#parseMoves(CharSequence, MoveBuffer, MoveParseErrors)}:
+ * je Fehler die Position im Text und den Grund. Die Arrays wachsen nur, wenn mehr Fehler als je zuvor auftreten.
+ */
+public final class MoveParseErrors {
+    public enum Reason {
+        INVALID_COORDINATE,
+        MISSING_SEPARATOR,
+        UNEXPECTED_CHARACTER,
+        SAME_SQUARE
+    }
+
+    private static final Reason[] REASONS = Reason.values();
+
+    private int[] offsets = new int[16];
+    private int[] reasons = new int[16];
+    private int size;
+
+    public void clear() {
+        size = 0;
+    }
+
+    void add(int offset, Reason reason) {
+        if (size == offsets.length) {
+            offsets = Arrays.copyOf(offsets, size * 2);
+            reasons = Arrays.copyOf(reasons, size * 2);
+        }
+        offsets[size] = offset;
+        reasons[size] = reason.ordinal();
+        size++;
+    }
+
+    /**
+     * @return die Position des Fehlers im Text, gezählt ab dem Anfang des Textes bzw. der Pufferposition.
+     */
+    public int getOffset(int index) {
+        checkIndex(index);
+        return offsets[index];
+    }
+
+    public Reason getReason(int index) {
+        checkIndex(index);
+        return REASONS[reasons[index]];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Größe: " + size);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("MoveParseErrors{");
+        for (int i = 0; i < size; i++) {
+            builder.append(i == 0 ? "" : ", ").append(offsets[i]).append(": ").append(REASONS[reasons[i]]);
+        }
+        return builder.append('}').toString();
+    }
+}
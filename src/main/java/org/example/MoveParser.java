@@ -1,11 +1,37 @@
 package org.example;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
 public class MoveParser {
+    private static final int BOARD_SIZE = 8;
+
+    /**
+     * Richtung nach den Vorzeichen von dx und dy, Index (sign(dx) + 1) * 3 + sign(dy) + 1, wie in {@link Move}.
+     */
+    private static final Direction[] DIRECTIONS = {
+            Direction.UP_LEFT, Direction.LEFT, Direction.DOWN_LEFT,
+            Direction.UP, Direction.INVALID, Direction.DOWN,
+            Direction.UP_RIGHT, Direction.RIGHT, Direction.DOWN_RIGHT
+    };
+
+    /**
+     * Der Text des laufenden {@link #parseMoves}-Aufrufs: entweder Zeichen oder ASCII-Bytes ab {@link #offset}. Eine
+     * Instanz darf deshalb nicht von mehreren Threads zugleich genutzt werden.
+     */
+    private CharSequence chars;
+    private ByteBuffer bytes;
+    private int offset;
+
+    /**
+     * Liest einen Zug aus zwei Koordinaten wie "C3" oder "C10", getrennt durch ',', '-' oder Leerzeichen. Zeilen
+     * dürfen zweistellig sein, damit auch Bretter bis {@link Reversi#MAX_SIZE} erreichbar sind.
+     *
+     * @return der Zug oder ein ungültiger Zug ({@link Direction#INVALID}), wenn die Eingabe nicht passt.
+     */
     Move parseMove(String inputString) {
         List<String> coordinateToken = parseMoveStringIntoToken(inputString);
 
@@ -13,15 +39,42 @@ public class MoveParser {
             return new Move();
         }
 
-        String startToken = coordinateToken.getFirst();
-        char colCharStart = startToken.charAt(0);
-        char rowCharStart = startToken.charAt(1);
+        Coordinate start = parseCoordinate(coordinateToken.getFirst());
+        Coordinate end = parseCoordinate(coordinateToken.get(1));
+        if (start == null || end == null) {
+            return new Move();
+        }
 
-        String endToken = coordinateToken.get(1);
-        char colCharEnd = endToken.charAt(0);
-        char rowCharEnd = endToken.charAt(1);
+        int dx = Integer.signum(end.getX() - start.getX());
+        int dy = Integer.signum(end.getY() - start.getY());
+        return new Move(DIRECTIONS[(dx + 1) * 3 + dy + 1], start, end);
+    }
 
-        return new Move(colCharStart,rowCharStart,colCharEnd,rowCharEnd);
+    /**
+     * Liest eine Koordinate aus Spaltenbuchstabe und ein- oder zweistelliger Zeilennummer ab 1.
+     *
+     * @return die Koordinate oder null bei anderen Zeichen, etwa angehängten.
+     */
+    private static Coordinate parseCoordinate(String token) {
+        if (token.length() < 2 || token.length() > 3) {
+            return null;
+        }
+        char column = token.charAt(0);
+        if (column < 'A' || column > 'Z') {
+            return null;
+        }
+        int row = 0;
+        for (int i = 1; i < token.length(); i++) {
+            char digit = token.charAt(i);
+            if (digit < '0' || digit > '9') {
+                return null;
+            }
+            row = row * 10 + digit - '0';
+        }
+        if (row == 0) {
+            return null;
+        }
+        return new Coordinate(column - 'A', row - 1);
     }
 
     ArrayList<String> parseMoveStringIntoToken(String inputString) {
@@ -50,4 +103,132 @@ public class MoveParser {
 
         return separatorChar;
     }
+
+    /**
+     * Liest viele Züge aus einem Text als gepackte Züge eines 8x8-Bretts, ohne Strings oder Listen zu erzeugen.
+     * <p>
+     * Jeder Zug hat die Form von {@link #parseMove(String)}: zwei Koordinaten wie "A1", getrennt durch ',', '-' oder
+     * Leerzeichen, mit beliebigen Leerzeichen drumherum. Züge werden durch Zeilenumbrüche oder ';' getrennt, leere
+     * Abschnitte werden übersprungen. Fehlerhafte Züge werden mit ihrer Position in {@code errors} vermerkt und
+     * übersprungen; das Lesen geht beim nächsten Zug weiter.
+     *
+     * @param text der Text.
+     * @param moves der Puffer für die gepackten Züge; er wird vorher geleert.
+     * @param errors die Fehler; sie werden vorher geleert.
+     * @return die Anzahl der gelesenen Züge.
+     */
+    public int parseMoves(CharSequence text, MoveBuffer moves, MoveParseErrors errors) {
+        chars = text;
+        try {
+            return parseMoves(text.length(), moves, errors);
+        } finally {
+            chars = null;
+        }
+    }
+
+    /**
+     * Liest viele Züge aus ASCII-Text in einem Puffer, von seiner Position bis zu seinem Limit, wie
+     * {@link #parseMoves(CharSequence, MoveBuffer, MoveParseErrors)}. Die Position des Puffers bleibt unverändert,
+     * die Fehlerpositionen zählen ab ihr. Die Bytes werden direkt gelesen, ohne Zwischenobjekt.
+     */
+    public int parseMoves(ByteBuffer text, MoveBuffer moves, MoveParseErrors errors) {
+        bytes = text;
+        offset = text.position();
+        try {
+            return parseMoves(text.remaining(), moves, errors);
+        } finally {
+            bytes = null;
+        }
+    }
+
+    private int parseMoves(int length, MoveBuffer moves, MoveParseErrors errors) {
+        moves.clear();
+        errors.clear();
+        int from = 0;
+        while (from < length) {
+            int to = from;
+            while (to < length && !isMoveDelimiter(charAt(to))) {
+                to++;
+            }
+            parseSegment(from, to, moves, errors);
+            from = to + 1;
+        }
+        return moves.size();
+    }
+
+    /**
+     * Liest ein Zeichen des laufenden Texts; Bytes werden als ASCII gelesen.
+     */
+    private char charAt(int index) {
+        return bytes != null ? (char) (bytes.get(offset + index) & 0xFF) : chars.charAt(index);
+    }
+
+    private void parseSegment(int from, int to, MoveBuffer moves, MoveParseErrors errors) {
+        int i = skipSpaces(from, to);
+        if (i == to) {
+            return;
+        }
+
+        int start = square(i, to);
+        if (start < 0) {
+            errors.add(i, MoveParseErrors.Reason.INVALID_COORDINATE);
+            return;
+        }
+        i += 2;
+
+        int afterStart = i;
+        i = skipSpaces(i, to);
+        if (i < to && (charAt(i) == ',' || charAt(i) == '-')) {
+            i = skipSpaces(i + 1, to);
+        } else if (i == afterStart && i < to) {
+            errors.add(i, MoveParseErrors.Reason.MISSING_SEPARATOR);
+            return;
+        }
+
+        int end = square(i, to);
+        if (end < 0) {
+            errors.add(i, MoveParseErrors.Reason.INVALID_COORDINATE);
+            return;
+        }
+        int endOffset = i;
+        i = skipSpaces(i + 2, to);
+        if (i < to) {
+            errors.add(i, MoveParseErrors.Reason.UNEXPECTED_CHARACTER);
+            return;
+        }
+        if (start == end) {
+            errors.add(endOffset, MoveParseErrors.Reason.SAME_SQUARE);
+            return;
+        }
+
+        int dx = Integer.signum(end % BOARD_SIZE - start % BOARD_SIZE);
+        int dy = Integer.signum(end / BOARD_SIZE - start / BOARD_SIZE);
+        moves.add(PackedMove.pack(start, end, DIRECTIONS[(dx + 1) * 3 + dy + 1]));
+    }
+
+    /**
+     * Liest eine Koordinate wie "C3" und liefert ihr Feld {@code y * 8 + x} oder -1.
+     */
+    private int square(int i, int to) {
+        if (i + 1 >= to) {
+            return -1;
+        }
+        int x = charAt(i) - 'A';
+        int y = charAt(i + 1) - '1';
+        if (x < 0 || x >= BOARD_SIZE || y < 0 || y >= BOARD_SIZE) {
+            return -1;
+        }
+        return y * BOARD_SIZE + x;
+    }
+
+    private int skipSpaces(int i, int to) {
+        while (i < to && (charAt(i) == ' ' || charAt(i) == '\t' || charAt(i) == '\r')) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isMoveDelimiter(char c) {
+        return c == '\n' || c == ';';
+    }
 }
@@ -0,0 +1,93 @@
+package org.example;
+
+import java.util.SplittableRandom;
+
+/**
+ * Wählt für einen Computerspieler einen Zug aus den gültigen Zügen einer Stellung.
+ * Implementierungen dürfen Zustand haben und sind nicht threadsicher; jeder Thread erhält eine eigene Instanz.
+ */
+@FunctionalInterface
+public interface MoveStrategy {
+    /**
+     * Wählt einen Zug.
+     *
+     * @param own die Steine des Spielers am Zug.
+     * @param opp die Steine des Gegners.
+     * @param player der Spieler am Zug.
+     * @param legalMoves die gültigen Züge, mindestens einer.
+     * @return der gewählte gepackte Zug aus {@code legalMoves}.
+     */
+    int selectMove(long own, long opp, Player player, MoveBuffer legalMoves);
+
+    /**
+     * Zieht einen zufälligen gültigen Zug.
+     */
+    static MoveStrategy random(long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        return (own, opp, player, legalMoves) -> legalMoves.get(random.nextInt(legalMoves.size()));
+    }
+
+    /**
+     * Zieht den Zug, der die meisten Steine umdreht.
+     */
+    static MoveStrategy greedy() {
+        return (own, opp, player, legalMoves) -> {
+            int best = legalMoves.get(0);
+            int bestCount = -1;
+            for (int i = 0; i < legalMoves.size(); i++) {
+                int move = legalMoves.get(i);
+                int count = Long.bitCount(Bitboard.flips(PackedMove.start(move), PackedMove.end(move)));
+                if (count > bestCount) {
+                    best = move;
+                    bestCount = count;
+                }
+            }
+            return best;
+        };
+    }
+
+    /**
+     * Zieht den besten Zug der {@link SearchEngine} innerhalb des Zeitbudgets.
+     */
+    static MoveStrategy search(long budgetNanos) {
+        SearchEngine searchEngine = new SearchEngine();
+        return (own, opp, player, legalMoves) -> {
+            Bitboard position = player == Player.BLACK ? new Bitboard(own, opp) : new Bitboard(opp, own);
+            return searchEngine.search(position, player, budgetNanos, SearchEngine.MAX_PLY).getPackedMove();
+        };
+    }
+
+    /**
+     * Zieht den Buchzug, solange die Stellung im Eröffnungsbuch steht, und fragt danach die Ersatzstrategie.
+     */
+    static MoveStrategy book(OpeningBook book, MoveStrategy fallback) {
+        return (own, opp, player, legalMoves) -> {
+            long key = player == Player.BLACK ? OpeningBook.key(own, opp, player) : OpeningBook.key(opp, own, player);
+            int move = book.lookup(key);
+            if (move != SearchEngine.NO_MOVE && legalMoves.contains(move)) {
+                return move;
+            }
+            return fallback.selectMove(own, opp, player, legalMoves);
+        };
+    }
+
+    /**
+     * Erzeugt eine Strategie aus ihrem Namen: "random", "greedy" oder "search:&lt;ms&gt;".
+     *
+     * @param name der Name.
+     * @param seed der Startwert für zufällige Strategien.
+     * @return die Strategie.
+     */
+    static MoveStrategy byName(String name, long seed) {
+        if (name.equals("random")) {
+            return random(seed);
+        }
+        if (name.equals("greedy")) {
+            return greedy();
+        }
+        if (name.startsWith("search:")) {
+            return search(Long.parseLong(name.substring("search:".length())) * 1_000_000L);
+        }
+        throw new IllegalArgumentException("Unbekannte Strategie: " + name);
+    }
+}
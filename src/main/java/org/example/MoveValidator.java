@@ -26,6 +26,13 @@ public class MoveValidator {
      * @return true, wenn der Zug gültig ist, sonst false.
      */
     public boolean isMoveValid(Player[][] board, int x, int y, Player player) {
+        long start = Metrics.start();
+        boolean valid = hasMoveFrom(board, x, y, player);
+        Metrics.stop(Metrics.Operation.IS_MOVE_VALID, start);
+        return valid;
+    }
+
+    private boolean hasMoveFrom(Player[][] board, int x, int y, Player player) {
         if (!isValidPosition(board, x, y) || board[y][x] != player) {
             return false;
         }
@@ -78,13 +85,32 @@ public class MoveValidator {
 
     /**
      * Findet alle möglichen Züge für einen Spieler.
+     * Bretter mit bis zu {@link PackedMove#MAX_SQUARES} Feldern werden über
+     * {@link #findAllMoves(Player[][], Player, MoveBuffer)} ausgewertet.
      *
      * @param board das Reversi-Brett.
      * @param player der aktuelle Spieler.
      * @return eine Sammlung von möglichen Zügen.
      */
     public Collection<Move> findAllMoves(Player[][] board, Player player) {
+        long start = Metrics.start();
+        Collection<Move> moves = collectMoves(board, player);
+        Metrics.stop(Metrics.Operation.FIND_ALL_MOVES, start);
+        return moves;
+    }
+
+    private Collection<Move> collectMoves(Player[][] board, Player player) {
         Collection<Move> moves = new HashSet<>();
+        int width = board[0].length;
+
+        if (board.length * width <= PackedMove.MAX_SQUARES) {
+            MoveBuffer buffer = new MoveBuffer();
+            packMoves(board, player, buffer);
+            for (int i = 0; i < buffer.size(); i++) {
+                moves.add(PackedMove.toMove(buffer.get(i), width));
+            }
+            return moves;
+        }
 
         for (int y = 0; y < board.length; y++) {
             for (int x = 0; x < board[y].length; x++) {
@@ -96,6 +122,63 @@ public class MoveValidator {
         return moves;
     }
 
+    /**
+     * Findet alle möglichen Züge für einen Spieler und schreibt sie als gepackte Züge in einen Puffer.
+     * Der Puffer wird vorher geleert. Die Methode erzeugt keine Objekte, solange die Kapazität des Puffers reicht.
+     * 8x8-Bretter werden über {@link Bitboard} ausgewertet, andere Größen über {@link WideBitboard} und nur sehr
+     * breite Bretter Feld für Feld.
+     *
+     * @param board das Reversi-Brett mit höchstens {@link PackedMove#MAX_SQUARES} Feldern.
+     * @param player der aktuelle Spieler.
+     * @param moves der Puffer für die Züge.
+     * @return die Anzahl der Züge.
+     */
+    public int findAllMoves(Player[][] board, Player player, MoveBuffer moves) {
+        long start = Metrics.start();
+        int count = packMoves(board, player, moves);
+        Metrics.stop(Metrics.Operation.FIND_ALL_MOVES, start);
+        return count;
+    }
+
+    private int packMoves(Player[][] board, Player player, MoveBuffer moves) {
+        if (Bitboard.fits(board)) {
+            return Bitboard.generateMoves(Bitboard.mask(board, player), Bitboard.mask(board, player.getOpponent()), moves);
+        }
+        if (WideBitboard.fits(board)) {
+            return WideBitboard.generateMoves(board, player, moves);
+        }
+
+        int width = board[0].length;
+        if (board.length * width > PackedMove.MAX_SQUARES) {
+            throw new IllegalArgumentException("Brett hat mehr als " + PackedMove.MAX_SQUARES + " Felder");
+        }
+
+        moves.clear();
+        Player opponent = player.getOpponent();
+        for (int y = 0; y < board.length; y++) {
+            for (int x = 0; x < width; x++) {
+                if (board[y][x] != player) {
+                    continue;
+                }
+                for (Direction dir : Bitboard.DIRECTIONS) {
+                    int endX = x + dir.stepValueX;
+                    int endY = y + dir.stepValueY;
+                    if (!isValidPosition(board, endX, endY) || board[endY][endX] != opponent) {
+                        continue;
+                    }
+                    while (isValidPosition(board, endX, endY) && board[endY][endX] == opponent) {
+                        endX += dir.stepValueX;
+                        endY += dir.stepValueY;
+                    }
+                    if (isValidPosition(board, endX, endY) && board[endY][endX] == Player.NONE) {
+                        moves.add(PackedMove.pack(y * width + x, endY * width + endX, dir));
+                    }
+                }
+            }
+        }
+        return moves.size();
+    }
+
     private void iterateAllDirections(Player[][] board, Player player, int x, int y, Collection<Move> moves) {
         for (Direction dir : Direction.values()) {
             int newX = x + dir.stepValueX;
@@ -110,8 +193,51 @@ public class MoveValidator {
         }
     }
 
+    /**
+     * Prüft, ob ein Zug zu den Zügen von {@link #findAllMoves(Player[][], Player)} gehört, ohne diese zu erzeugen.
+     * Geprüft wird nur die Reihe des Zugs: Das Startfeld gehört dem Spieler, in Zugrichtung folgen mindestens ein
+     * und nur gegnerische Steine, das erste Feld danach ist das leere Endfeld. Die Methode erzeugt keine Objekte.
+     *
+     * @param board das Reversi-Brett.
+     * @param move der Zug.
+     * @param currentPlayer der aktuelle Spieler.
+     * @return true, wenn der Zug gültig ist, sonst false.
+     */
     public boolean isMoveValid(Player[][] board, Move move, Player currentPlayer) {
-        Collection<Move> allMoves = findAllMoves(board, currentPlayer);
-        return allMoves.contains(move);
+        long start = Metrics.start();
+        boolean valid = isLineValid(board, move, currentPlayer);
+        Metrics.stop(Metrics.Operation.IS_MOVE_VALID, start);
+        return valid;
+    }
+
+    private boolean isLineValid(Player[][] board, Move move, Player player) {
+        Direction dir = move.direction;
+        int x = move.start.getX();
+        int y = move.start.getY();
+        int endX = move.end.getX();
+        int endY = move.end.getY();
+        if (dir == Direction.INVALID || !isValidPosition(board, x, y) || !isValidPosition(board, endX, endY)
+                || board[y][x] != player) {
+            return false;
+        }
+
+        Player opponent = player.getOpponent();
+        x += dir.stepValueX;
+        y += dir.stepValueY;
+        if (!isValidPosition(board, x, y) || board[y][x] != opponent) {
+            return false;
+        }
+        do {
+            x += dir.stepValueX;
+            y += dir.stepValueY;
+        } while (isValidPosition(board, x, y) && board[y][x] == opponent);
+        if (x != endX || y != endY) {
+            return false;
+        }
+
+        // Auf 8x8-Brettern gilt wie bei Bitboard jedes Feld als leer, das keinem der beiden Spieler gehört.
+        // Das weicht nur für Player.NONE von den anderen Größen ab.
+        Player target = board[y][x];
+        return Bitboard.fits(board) ? target != player && target != opponent : target == Player.NONE;
     }
 }
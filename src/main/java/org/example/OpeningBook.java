@@ -0,0 +1,119 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Eröffnungsbuch in einer Binärdatei, die nur in den Speicher eingeblendet und nie eingelesen wird.
+ * <p>
+ * Aufbau der Datei (Big Endian): Kopf aus Kennung {@link #MAGIC}, Version und Anzahl der Einträge, danach Einträge
+ * fester Länge, aufsteigend nach Schlüssel sortiert. Jeder Eintrag besteht aus dem Hashwert der Stellung
+ * (siehe {@link #key(long, long, Player)}), dem gepackten Buchzug und seiner Gewinnquote in Hundertstel Prozent.
+ * <p>
+ * Die Suche ist eine binäre Suche mit absoluten Zugriffen auf den eingeblendeten Puffer. Sie erzeugt keine Objekte
+ * und ist threadsicher; alle JVMs eines Rechners teilen sich die Seiten der Datei im Seitencache.
+ */
+public final class OpeningBook {
+    public static final int MAGIC = 0x52564F42; // "RVOB"
+    public static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    static final int ENTRY_BYTES = 16;
+
+    private final ByteBuffer entries;
+    private final int size;
+
+    private OpeningBook(ByteBuffer entries, int size) {
+        this.entries = entries;
+        this.size = size;
+    }
+
+    /**
+     * Blendet eine Buchdatei ein. Der Inhalt wird dabei nicht gelesen, nur der Kopf geprüft.
+     *
+     * @param path der Pfad der Buchdatei.
+     * @return das Eröffnungsbuch.
+     * @throws IOException wenn die Datei nicht gelesen werden kann oder kein Eröffnungsbuch ist.
+     */
+    public static OpeningBook open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_BYTES || fileSize > Integer.MAX_VALUE) {
+                throw new IOException("Keine gültige Buchdatei: " + path);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new IOException("Keine gültige Buchdatei: " + path);
+            }
+            long size = buffer.getLong(8);
+            if (size < 0 || HEADER_BYTES + size * ENTRY_BYTES != fileSize) {
+                throw new IOException("Buchdatei ist beschädigt: " + path);
+            }
+            return new OpeningBook(buffer.slice(HEADER_BYTES, (int) size * ENTRY_BYTES), (int) size);
+        }
+    }
+
+    /**
+     * Liefert den Schlüssel einer Stellung: ihren Zobrist-Hashwert einschließlich des Spielers am Zug.
+     */
+    public static long key(long black, long white, Player player) {
+        return Zobrist.hash(black, white) ^ (player == Player.WHITE ? Zobrist.WHITE_TO_MOVE : 0);
+    }
+
+    /**
+     * Sucht den Buchzug einer Stellung.
+     *
+     * @param key der Schlüssel der Stellung.
+     * @return der gepackte Buchzug oder {@link SearchEngine#NO_MOVE}.
+     */
+    public int lookup(long key) {
+        int index = indexOf(key);
+        return index < 0 ? SearchEngine.NO_MOVE : entries.getInt(index * ENTRY_BYTES + 8);
+    }
+
+    /**
+     * Sucht den Buchzug einer Stellung.
+     *
+     * @param position die Stellung.
+     * @param player der Spieler am Zug.
+     * @return der gepackte Buchzug oder {@link SearchEngine#NO_MOVE}.
+     */
+    public int lookup(Bitboard position, Player player) {
+        return lookup(key(position.getBlack(), position.getWhite(), player));
+    }
+
+    /**
+     * Liefert die Gewinnquote des Buchzugs in Hundertstel Prozent aus Sicht des Spielers am Zug.
+     *
+     * @param key der Schlüssel der Stellung.
+     * @return die Gewinnquote oder -1, wenn die Stellung nicht im Buch steht.
+     */
+    public int winRate(long key) {
+        int index = indexOf(key);
+        return index < 0 ? -1 : entries.getInt(index * ENTRY_BYTES + 12);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private int indexOf(long key) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midKey = entries.getLong(mid * ENTRY_BYTES);
+            if (midKey < key) {
+                low = mid + 1;
+            } else if (midKey > key) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,143 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Erzeugt ein {@link OpeningBook} aus Partiestatistiken, typischerweise aus der {@link SelfPlay}.
+ * <p>
+ * Für jede Stellung der ersten Halbzüge werden pro Zug die Partien und Punkte gezählt (Sieg 1, Remis 1/2).
+ * Ins Buch kommt pro Stellung der Zug mit der besten Punktquote unter den Zügen mit genügend Partien.
+ * {@link #addGame(SelfPlayGame)} ist threadsicher und kann direkt als Empfänger der {@link SelfPlay} dienen.
+ */
+public class OpeningBookBuilder {
+    private final int maxPlies;
+    private final int minGames;
+    private final Map<Long, Map<Integer, long[]>> statistics = new HashMap<>();
+    private final long startBlack;
+    private final long startWhite;
+
+    /**
+     * @param maxPlies die Anzahl der Halbzüge je Partie, die ins Buch eingehen.
+     * @param minGames die Mindestzahl an Partien, die ein Zug haben muss.
+     */
+    public OpeningBookBuilder(int maxPlies, int minGames) {
+        this.maxPlies = maxPlies;
+        this.minGames = minGames;
+        Bitboard start = Bitboard.fromBoard(new Reversi().getBoard());
+        startBlack = start.getBlack();
+        startWhite = start.getWhite();
+    }
+
+    /**
+     * Zählt die ersten Halbzüge einer Partie aus der Startaufstellung.
+     *
+     * @param game die Partie.
+     */
+    public synchronized void addGame(SelfPlayGame game) {
+        long black = startBlack;
+        long white = startWhite;
+        Player player = Player.BLACK;
+        int[] moves = game.getMoves();
+
+        for (int ply = 0; ply < Math.min(maxPlies, moves.length); ply++) {
+            int move = moves[ply];
+            long[] counts = statistics
+                    .computeIfAbsent(OpeningBook.key(black, white, player), key -> new HashMap<>())
+                    .computeIfAbsent(move, key -> new long[2]);
+            counts[0]++;
+            counts[1] += game.getWinner() == player ? 2 : game.getWinner() == Player.NONE ? 1 : 0;
+
+            long flipped = Bitboard.flips(PackedMove.start(move), PackedMove.end(move));
+            if (player == Player.BLACK) {
+                black |= flipped;
+                white &= ~flipped;
+            } else {
+                white |= flipped;
+                black &= ~flipped;
+            }
+            player = player.getOpponent();
+        }
+    }
+
+    /**
+     * Schreibt das Buch in eine Datei.
+     *
+     * @param path der Pfad der Buchdatei; eine vorhandene Datei wird überschrieben.
+     * @return die Anzahl der Einträge.
+     * @throws IOException wenn die Datei nicht geschrieben werden kann.
+     */
+    public synchronized int write(Path path) throws IOException {
+        List<long[]> entries = new ArrayList<>();
+        for (Map.Entry<Long, Map<Integer, long[]>> position : statistics.entrySet()) {
+            int bestMove = SearchEngine.NO_MOVE;
+            long bestRate = -1;
+            for (Map.Entry<Integer, long[]> move : position.getValue().entrySet()) {
+                long[] counts = move.getValue();
+                long rate = counts[1] * 5000 / counts[0];
+                if (counts[0] >= minGames && rate > bestRate) {
+                    bestMove = move.getKey();
+                    bestRate = rate;
+                }
+            }
+            if (bestMove != SearchEngine.NO_MOVE) {
+                entries.add(new long[]{position.getKey(), bestMove, bestRate});
+            }
+        }
+        entries.sort((a, b) -> Long.compare(a[0], b[0]));
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+            buffer.putInt(OpeningBook.MAGIC).putInt(OpeningBook.VERSION).putLong(entries.size());
+            for (long[] entry : entries) {
+                if (buffer.remaining() < OpeningBook.ENTRY_BYTES) {
+                    flush(channel, buffer);
+                }
+                buffer.putLong(entry[0]).putInt((int) entry[1]).putInt((int) entry[2]);
+            }
+            flush(channel, buffer);
+        }
+        return entries.size();
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Erzeugt ein Buch aus Selbstspiel-Partien.
+     * Argumente: Zieldatei, Anzahl Partien, Halbzüge im Buch, Mindestzahl Partien je Zug, Strategie
+     * ("random", "greedy" oder "search:&lt;ms&gt;").
+     */
+    public static void main(String[] args) throws IOException {
+        Path path = Paths.get(args.length > 0 ? args[0] : "opening-book.bin");
+        int games = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+        int plies = args.length > 2 ? Integer.parseInt(args[2]) : 12;
+        int minGames = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+        String strategy = args.length > 4 ? args[4] : "random";
+        AtomicInteger seeds = new AtomicInteger();
+
+        OpeningBookBuilder builder = new OpeningBookBuilder(plies, minGames);
+        SelfPlay selfPlay = new SelfPlay(
+                () -> MoveStrategy.byName(strategy, seeds.incrementAndGet()),
+                () -> MoveStrategy.byName(strategy, seeds.incrementAndGet()),
+                Runtime.getRuntime().availableProcessors(),
+                builder::addGame);
+        System.out.println(selfPlay.run(games));
+        System.out.println("Einträge: " + builder.write(path) + " in " + path);
+    }
+}
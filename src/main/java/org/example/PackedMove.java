@@ -0,0 +1,59 @@
+package org.example;
+
+/**
+ * Packt einen Zug in einen int: Startfeld in Bit 0-7, Endfeld in Bit 8-15 und Richtung in Bit 16-19.
+ * Ein Feld (x, y) hat auf einem Brett der Breite {@code width} den Index {@code y * width + x},
+ * daher passen Bretter mit bis zu 256 Feldern.
+ */
+public final class PackedMove {
+    public static final int MAX_SQUARES = 256;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private PackedMove() {
+    }
+
+    public static int pack(int start, int end, Direction direction) {
+        return start | end << 8 | direction.ordinal() << 16;
+    }
+
+    public static int start(int move) {
+        return move & 0xFF;
+    }
+
+    public static int end(int move) {
+        return move >>> 8 & 0xFF;
+    }
+
+    public static Direction direction(int move) {
+        return DIRECTIONS[move >>> 16 & 0xF];
+    }
+
+    /**
+     * Wandelt einen gepackten Zug in ein Move-Objekt um.
+     *
+     * @param move der gepackte Zug.
+     * @param width die Breite des Bretts.
+     * @return der Zug als Move-Objekt.
+     */
+    public static Move toMove(int move, int width) {
+        int start = start(move);
+        int end = end(move);
+        return new Move(direction(move),
+                new Coordinate(start % width, start / width),
+                new Coordinate(end % width, end / width));
+    }
+
+    /**
+     * Packt ein Move-Objekt.
+     *
+     * @param move der Zug.
+     * @param width die Breite des Bretts.
+     * @return der gepackte Zug.
+     */
+    public static int fromMove(Move move, int width) {
+        return pack(move.start.getY() * width + move.start.getX(),
+                move.end.getY() * width + move.end.getX(),
+                move.direction);
+    }
+}
@@ -0,0 +1,114 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Parallele Suche nach dem Lazy-SMP-Verfahren: Mehrere Threads durchsuchen dieselbe Wurzelstellung und teilen
+ * sich eine sperrfreie {@link TranspositionTable}. Die Hilfsthreads beginnen mit unterschiedlichen Zügen an der
+ * Wurzel, sodass sich die Arbeit über die Tabelle verteilt. Die Threads laufen in einem {@link ForkJoinPool}.
+ * <p>
+ * Sobald ein Thread seine Suche beendet, werden alle anderen angehalten. Es gilt das Ergebnis mit der größten
+ * vollständig durchsuchten Tiefe.
+ */
+public class ParallelSearch implements AutoCloseable {
+    private final ForkJoinPool pool;
+    private final TranspositionTable transpositionTable;
+    private final SearchEngine[] engines;
+
+    public ParallelSearch(int threads) {
+        this(threads, Evaluator.DEFAULT, new TranspositionTable(SearchEngine.DEFAULT_TABLE_MEGABYTES * threads));
+    }
+
+    public ParallelSearch(int threads, Evaluator evaluator, TranspositionTable transpositionTable) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Anzahl der Threads muss positiv sein: " + threads);
+        }
+        this.pool = new ForkJoinPool(threads);
+        this.transpositionTable = transpositionTable;
+        this.engines = new SearchEngine[threads];
+        for (int i = 0; i < threads; i++) {
+            engines[i] = new SearchEngine(evaluator, transpositionTable);
+        }
+    }
+
+    /**
+     * Sucht den besten Zug mit allen Threads.
+     *
+     * @param position die Stellung.
+     * @param player der Spieler am Zug.
+     * @param budgetNanos das Zeitbudget in Nanosekunden.
+     * @param maxDepth die maximale Suchtiefe.
+     * @return das Ergebnis mit den Zahlen jedes Threads.
+     */
+    public ParallelSearchResult search(Bitboard position, Player player, long budgetNanos, int maxDepth) {
+        transpositionTable.newSearch();
+        for (SearchEngine engine : engines) {
+            engine.getMoveOrdering().newSearch();
+        }
+        long deadline = System.nanoTime() + budgetNanos;
+        AtomicBoolean stop = new AtomicBoolean();
+
+        List<Callable<SearchResult>> tasks = new ArrayList<>(engines.length);
+        for (int i = 0; i < engines.length; i++) {
+            SearchEngine engine = engines[i];
+            int helper = i;
+            tasks.add(() -> {
+                try {
+                    return engine.searchUntil(position, player, deadline, maxDepth, helper, stop);
+                } finally {
+                    stop.set(true);
+                }
+            });
+        }
+
+        List<SearchResult> results = new ArrayList<>(engines.length);
+        try {
+            for (Future<SearchResult> future : pool.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Suche fehlgeschlagen", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Suche unterbrochen", e);
+        }
+        return new ParallelSearchResult(results);
+    }
+
+    public int getThreads() {
+        return engines.length;
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    /**
+     * Misst die Knoten pro Sekunde und Thread für 1 bis N Threads aus der Startaufstellung.
+     * Argumente: maximale Anzahl Threads (Standard: Anzahl der Prozessoren) und Zeit pro Messung in ms.
+     */
+    public static void main(String[] args) {
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        long budgetNanos = (args.length > 1 ? Long.parseLong(args[1]) : 2000) * 1_000_000L;
+        Bitboard start = Bitboard.fromBoard(new Reversi().getBoard());
+
+        for (int threads = 1; ; threads = Math.min(threads * 2, maxThreads)) {
+            try (ParallelSearch search = new ParallelSearch(threads)) {
+                ParallelSearchResult result = search.search(start, Player.BLACK, budgetNanos, SearchEngine.MAX_PLY);
+                System.out.printf("Threads: %2d  Tiefe: %2d  Knoten/s gesamt: %,12.0f  Knoten/s pro Thread: %,12.0f%n",
+                        threads, result.getBestResult().getDepth(), result.getNodesPerSecond(),
+                        result.getNodesPerSecond() / threads);
+            }
+            if (threads == maxThreads) {
+                break;
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package org.example;
+
+import java.util.List;
+
+/**
+ * Ergebnis einer {@link ParallelSearch} mit den Zahlen jedes Suchthreads.
+ */
+public final class ParallelSearchResult {
+    private final List<SearchResult> threadResults;
+    private final SearchResult bestResult;
+
+    ParallelSearchResult(List<SearchResult> threadResults) {
+        this.threadResults = List.copyOf(threadResults);
+        SearchResult best = threadResults.getFirst();
+        for (SearchResult result : threadResults) {
+            if (result.getDepth() > best.getDepth()) {
+                best = result;
+            }
+        }
+        this.bestResult = best;
+    }
+
+    /**
+     * @return das Ergebnis des Threads mit der größten vollständig durchsuchten Tiefe.
+     */
+    public SearchResult getBestResult() {
+        return bestResult;
+    }
+
+    public Move getBestMove() {
+        return bestResult.getBestMove();
+    }
+
+    /**
+     * @return die Ergebnisse aller Threads, Hauptthread zuerst.
+     */
+    public List<SearchResult> getThreadResults() {
+        return threadResults;
+    }
+
+    public long getNodes() {
+        long nodes = 0;
+        for (SearchResult result : threadResults) {
+            nodes += result.getNodes();
+        }
+        return nodes;
+    }
+
+    /**
+     * @return die Summe der Knoten pro Sekunde aller Threads.
+     */
+    public double getNodesPerSecond() {
+        double nodesPerSecond = 0;
+        for (SearchResult result : threadResults) {
+            nodesPerSecond += result.getNodesPerSecond();
+        }
+        return nodesPerSecond;
+    }
+
+    /**
+     * @return die Knoten pro Sekunde jedes Threads in der Reihenfolge von {@link #getThreadResults()}.
+     */
+    public double[] getNodesPerSecondPerThread() {
+        double[] nodesPerSecond = new double[threadResults.size()];
+        for (int i = 0; i < nodesPerSecond.length; i++) {
+            nodesPerSecond[i] = threadResults.get(i).getNodesPerSecond();
+        }
+        return nodesPerSecond;
+    }
+}
@@ -0,0 +1,162 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Muster für die {@link PatternEvaluator Musterbewertung}: Gruppen von Feldern, deren Belegung als Zahl zur Basis 3
+ * (0 leer, 1 eigener Stein, 2 gegnerischer Stein) einen Eintrag in einer Gewichtstabelle auswählt.
+ * <p>
+ * Jedes Muster ist für die linke obere Ecke definiert. Die Vorkommen auf dem Brett entstehen durch Drehen und
+ * Spiegeln und teilen sich eine Gewichtstabelle.
+ */
+public enum Pattern {
+    /**
+     * Eine Kante mit den beiden X-Feldern.
+     */
+    EDGE_X(new int[][]{{0, 0}, {1, 0}, {2, 0}, {3, 0}, {4, 0}, {5, 0}, {6, 0}, {7, 0}, {1, 1}, {6, 1}}),
+    /**
+     * Die 3x3-Felder einer Ecke.
+     */
+    CORNER(new int[][]{{0, 0}, {1, 0}, {2, 0}, {0, 1}, {1, 1}, {2, 1}, {0, 2}, {1, 2}, {2, 2}}),
+    DIAGONAL_8(diagonal(8)),
+    DIAGONAL_7(diagonal(7)),
+    DIAGONAL_6(diagonal(6)),
+    DIAGONAL_5(diagonal(5)),
+    DIAGONAL_4(diagonal(4));
+
+    /**
+     * Alle Vorkommen aller Muster als Feldnummern; Vorkommen {@code i} gehört zu {@link #INSTANCE_PATTERN}{@code [i]}.
+     */
+    static final int[][] INSTANCES;
+    static final int[] INSTANCE_PATTERN;
+
+    /**
+     * Für jedes Feld die Vorkommen, die es enthalten, und sein Stellenwert (eine Potenz von 3) im jeweiligen Vorkommen.
+     */
+    static final int[][] SQUARE_INSTANCES = new int[Bitboard.SQUARES][];
+    static final int[][] SQUARE_POWERS = new int[Bitboard.SQUARES][];
+
+    static {
+        List<int[]> instances = new ArrayList<>();
+        List<Integer> owners = new ArrayList<>();
+        for (Pattern pattern : values()) {
+            Set<Long> seen = new HashSet<>();
+            for (int symmetry = 0; symmetry < 8; symmetry++) {
+                int[] squares = new int[pattern.size];
+                long set = 0;
+                for (int i = 0; i < pattern.size; i++) {
+                    squares[i] = transform(pattern.coordinates[i][0], pattern.coordinates[i][1], symmetry);
+                    set |= 1L << squares[i];
+                }
+                if (seen.add(set)) {
+                    instances.add(squares);
+                    owners.add(pattern.ordinal());
+                }
+            }
+        }
+        INSTANCES = instances.toArray(new int[0][]);
+        INSTANCE_PATTERN = owners.stream().mapToInt(Integer::intValue).toArray();
+
+        for (int square = 0; square < Bitboard.SQUARES; square++) {
+            SQUARE_INSTANCES[square] = new int[0];
+            SQUARE_POWERS[square] = new int[0];
+        }
+        for (int instance = 0; instance < INSTANCES.length; instance++) {
+            int power = 1;
+            for (int square : INSTANCES[instance]) {
+                int length = SQUARE_INSTANCES[square].length;
+                SQUARE_INSTANCES[square] = Arrays.copyOf(SQUARE_INSTANCES[square], length + 1);
+                SQUARE_POWERS[square] = Arrays.copyOf(SQUARE_POWERS[square], length + 1);
+                SQUARE_INSTANCES[square][length] = instance;
+                SQUARE_POWERS[square][length] = power;
+                power *= 3;
+            }
+        }
+        for (Pattern pattern : values()) {
+            pattern.swap = new int[pattern.indices];
+            for (int index = 0; index < pattern.indices; index++) {
+                int swapped = 0;
+                int power = 1;
+                for (int rest = index; rest > 0; rest /= 3) {
+                    int digit = rest % 3;
+                    swapped += (digit == 0 ? 0 : 3 - digit) * power;
+                    power *= 3;
+                }
+                pattern.swap[index] = swapped;
+            }
+        }
+    }
+
+    private final int[][] coordinates;
+    private final int size;
+    private final int indices;
+    private int[] swap;
+
+    Pattern(int[][] coordinates) {
+        this.coordinates = coordinates;
+        this.size = coordinates.length;
+        int indices = 1;
+        for (int i = 0; i < size; i++) {
+            indices *= 3;
+        }
+        this.indices = indices;
+    }
+
+    /**
+     * @return die Anzahl der Felder des Musters.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return die Anzahl der möglichen Belegungen, 3 hoch {@link #getSize()}.
+     */
+    public int getIndices() {
+        return indices;
+    }
+
+    /**
+     * Liefert die Feldnummern des Musters in der linken oberen Ecke, in der Reihenfolge ihrer Stellenwerte.
+     */
+    int square(int position) {
+        return Bitboard.square(coordinates[position][0], coordinates[position][1]);
+    }
+
+    /**
+     * Liefert den Index derselben Belegung mit vertauschten Farben.
+     */
+    int swap(int index) {
+        return swap[index];
+    }
+
+    private static int[][] diagonal(int length) {
+        int[][] coordinates = new int[length][];
+        for (int i = 0; i < length; i++) {
+            coordinates[i] = new int[]{i, i + 8 - length};
+        }
+        return coordinates;
+    }
+
+    /**
+     * Bildet ein Feld mit einer der acht Symmetrien des Bretts ab.
+     */
+    private static int transform(int x, int y, int symmetry) {
+        if ((symmetry & 1) != 0) {
+            x = 7 - x;
+        }
+        if ((symmetry & 2) != 0) {
+            y = 7 - y;
+        }
+        if ((symmetry & 4) != 0) {
+            int t = x;
+            x = y;
+            y = t;
+        }
+        return Bitboard.square(x, y);
+    }
+}
@@ -0,0 +1,62 @@
+package org.example;
+
+/**
+ * Bewertung aus Mustern: Kanten, Ecken und Diagonalen werden als Zahlen zur Basis 3 indiziert und ihre Gewichte
+ * aus den Tabellen der aktuellen Spielphase summiert.
+ * <p>
+ * {@link #evaluate(long, long)} berechnet die Indizes aus den Masken; {@link #evaluate(PatternIndices, Player)} nutzt
+ * schrittweise nachgeführte Indizes. Beide erzeugen keine Objekte. Die Gewichte werden nur gelesen, eine Instanz ist
+ * daher threadsicher, solange niemand die Tabellen ändert.
+ */
+public class PatternEvaluator implements Evaluator {
+    /**
+     * Die Bewertung bleibt unterhalb der Werte für gewonnene und verlorene Endstellungen.
+     */
+    private static final int LIMIT = SearchEngine.WIN - 1;
+
+    private final PatternWeights weights;
+
+    public PatternEvaluator(PatternWeights weights) {
+        this.weights = weights;
+    }
+
+    @Override
+    public int evaluate(long own, long opp) {
+        short[][] tables = weights.tables(PatternWeights.phase(Long.bitCount(own | opp)));
+        int score = 0;
+        for (int instance = 0; instance < Pattern.INSTANCES.length; instance++) {
+            int[] squares = Pattern.INSTANCES[instance];
+            int index = 0;
+            for (int i = squares.length - 1; i >= 0; i--) {
+                int square = squares[i];
+                index = index * 3 + (int) (own >>> square & 1) + 2 * (int) (opp >>> square & 1);
+            }
+            score += tables[Pattern.INSTANCE_PATTERN[instance]][index];
+        }
+        return clamp(score);
+    }
+
+    /**
+     * Bewertet eine Stellung aus schrittweise nachgeführten Indizes.
+     *
+     * @param indices die Indizes der Stellung.
+     * @param player der Spieler am Zug.
+     * @return die Bewertung, positiv zugunsten des Spielers am Zug.
+     */
+    public int evaluate(PatternIndices indices, Player player) {
+        short[][] tables = weights.tables(PatternWeights.phase(indices.getDiscs()));
+        Pattern[] patterns = Pattern.values();
+        boolean swap = player == Player.WHITE;
+        int score = 0;
+        for (int instance = 0; instance < Pattern.INSTANCES.length; instance++) {
+            int pattern = Pattern.INSTANCE_PATTERN[instance];
+            int index = indices.get(instance);
+            score += tables[pattern][swap ? patterns[pattern].swap(index) : index];
+        }
+        return clamp(score);
+    }
+
+    private static int clamp(int score) {
+        return Math.max(-LIMIT, Math.min(LIMIT, score));
+    }
+}
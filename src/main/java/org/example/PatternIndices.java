@@ -0,0 +1,97 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * Die Indizes aller Mustervorkommen einer Stellung, schrittweise nachgeführt: Ein Zug ändert nur die Vorkommen,
+ * die seine Felder enthalten. Die Ziffern gelten aus Sicht von Schwarz (1 Schwarz, 2 Weiß); für Weiß am Zug
+ * vertauscht der {@link PatternEvaluator} die Farben über eine Tabelle.
+ * <p>
+ * Nicht threadsicher; jede Suche führt ihre eigenen Indizes.
+ */
+public final class PatternIndices {
+    private final int[] indices = new int[Pattern.INSTANCES.length];
+    private int discs;
+
+    public PatternIndices(long black, long white) {
+        reset(black, white);
+    }
+
+    /**
+     * Berechnet alle Indizes neu.
+     */
+    public void reset(long black, long white) {
+        Arrays.fill(indices, 0);
+        discs = 0;
+        for (int square = 0; square < Bitboard.SQUARES; square++) {
+            long bit = 1L << square;
+            if ((black & bit) != 0) {
+                set(square, Player.NONE, Player.BLACK);
+            } else if ((white & bit) != 0) {
+                set(square, Player.NONE, Player.WHITE);
+            }
+        }
+    }
+
+    /**
+     * Ändert die Belegung eines Feldes.
+     *
+     * @param square das Feld.
+     * @param from der bisherige Besitzer oder {@link Player#NONE}.
+     * @param to der neue Besitzer oder {@link Player#NONE}.
+     */
+    public void set(int square, Player from, Player to) {
+        int delta = digit(to) - digit(from);
+        int[] instances = Pattern.SQUARE_INSTANCES[square];
+        int[] powers = Pattern.SQUARE_POWERS[square];
+        for (int i = 0; i < instances.length; i++) {
+            indices[instances[i]] += delta * powers[i];
+        }
+        discs += (to != Player.NONE ? 1 : 0) - (from != Player.NONE ? 1 : 0);
+    }
+
+    /**
+     * Führt einen Zug nach: Das Endfeld wird besetzt, die übrigen Felder wechseln vom Gegner zum Spieler.
+     *
+     * @param end das Endfeld des Zugs.
+     * @param flipped alle Felder, die der Zug setzt, einschließlich des Endfelds.
+     * @param player der ziehende Spieler.
+     */
+    public void play(int end, long flipped, Player player) {
+        set(end, Player.NONE, player);
+        apply(flipped & ~(1L << end), player.getOpponent(), player);
+    }
+
+    /**
+     * Nimmt einen mit {@link #play(int, long, Player)} nachgeführten Zug zurück.
+     */
+    public void undo(int end, long flipped, Player player) {
+        set(end, player, Player.NONE);
+        apply(flipped & ~(1L << end), player, player.getOpponent());
+    }
+
+    /**
+     * @return der Index eines Mustervorkommens.
+     */
+    public int get(int instance) {
+        return indices[instance];
+    }
+
+    /**
+     * @return die Anzahl der Steine auf dem Brett.
+     */
+    public int getDiscs() {
+        return discs;
+    }
+
+    private void apply(long squares, Player from, Player to) {
+        while (squares != 0) {
+            set(Long.numberOfTrailingZeros(squares), from, to);
+            squares &= squares - 1;
+        }
+    }
+
+    private static int digit(Player player) {
+        return player == Player.BLACK ? 1 : player == Player.WHITE ? 2 : 0;
+    }
+}
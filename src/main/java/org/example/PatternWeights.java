@@ -0,0 +1,174 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Gewichtstabellen der {@link PatternEvaluator Musterbewertung}: je Spielphase und {@link Pattern} ein
+ * {@code short[]} mit einem Gewicht für jede Belegung, aus Sicht des Spielers am Zug.
+ * <p>
+ * Aufbau einer Gewichtsdatei (Big Endian): Kennung {@link #MAGIC}, Version, Anzahl der Phasen und Anzahl der Muster,
+ * danach für jede Phase und jedes Muster in der Reihenfolge von {@link Pattern#values()} alle Gewichte als
+ * {@code short}.
+ */
+public final class PatternWeights {
+    public static final int MAGIC = 0x52565057; // "RVPW"
+    public static final int VERSION = 1;
+
+    /**
+     * Anzahl der Spielphasen; eine Phase umfasst fünf Steine auf dem Brett.
+     */
+    public static final int PHASES = 13;
+
+    private static final int HEADER_BYTES = 16;
+
+    /**
+     * Klassische Feldwerte: Ecken gut, die Felder neben den Ecken schlecht.
+     */
+    static final int[] SQUARE_VALUES = {
+            100, -20, 10, 5, 5, 10, -20, 100,
+            -20, -50, -2, -2, -2, -2, -50, -20,
+            10, -2, -1, -1, -1, -1, -2, 10,
+            5, -2, -1, -1, -1, -1, -2, 5,
+            5, -2, -1, -1, -1, -1, -2, 5,
+            10, -2, -1, -1, -1, -1, -2, 10,
+            -20, -50, -2, -2, -2, -2, -50, -20,
+            100, -20, 10, 5, 5, 10, -20, 100,
+    };
+
+    private final short[][][] weights;
+
+    /**
+     * Erzeugt Tabellen, in denen alle Gewichte 0 sind.
+     */
+    public PatternWeights() {
+        weights = new short[PHASES][Pattern.values().length][];
+        for (short[][] phase : weights) {
+            for (Pattern pattern : Pattern.values()) {
+                phase[pattern.ordinal()] = new short[pattern.getIndices()];
+            }
+        }
+    }
+
+    /**
+     * Erzeugt Gewichte aus klassischen Feldwerten, solange keine trainierten Gewichte vorliegen.
+     * Jede Belegung erhält die Summe der Feldwerte ihrer eigenen Steine abzüglich der gegnerischen.
+     *
+     * @return die Gewichte.
+     */
+    public static PatternWeights positional() {
+        PatternWeights positional = new PatternWeights();
+        for (Pattern pattern : Pattern.values()) {
+            short[] table = positional.weights[0][pattern.ordinal()];
+            for (int index = 0; index < table.length; index++) {
+                int weight = 0;
+                int rest = index;
+                for (int position = 0; position < pattern.getSize(); position++, rest /= 3) {
+                    int digit = rest % 3;
+                    int value = SQUARE_VALUES[pattern.square(position)];
+                    weight += digit == 1 ? value : digit == 2 ? -value : 0;
+                }
+                table[index] = (short) weight;
+            }
+            for (int phase = 1; phase < PHASES; phase++) {
+                positional.weights[phase][pattern.ordinal()] = table.clone();
+            }
+        }
+        return positional;
+    }
+
+    /**
+     * Liest Gewichte aus einer Gewichtsdatei.
+     *
+     * @param path der Pfad der Datei.
+     * @return die Gewichte.
+     * @throws IOException wenn die Datei nicht gelesen werden kann oder nicht zu den Mustern passt.
+     */
+    public static PatternWeights load(Path path) throws IOException {
+        PatternWeights loaded = new PatternWeights();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() != HEADER_BYTES + 2L * loaded.count()) {
+                throw new IOException("Gewichtsdatei passt nicht zu den Mustern: " + path);
+            }
+            ByteBuffer header = read(channel, HEADER_BYTES);
+            if (header.getInt() != MAGIC || header.getInt() != VERSION
+                    || header.getInt() != PHASES || header.getInt() != Pattern.values().length) {
+                throw new IOException("Keine gültige Gewichtsdatei: " + path);
+            }
+            for (short[][] phase : loaded.weights) {
+                for (short[] table : phase) {
+                    read(channel, 2 * table.length).asShortBuffer().get(table);
+                }
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Schreibt die Gewichte in eine Gewichtsdatei.
+     *
+     * @param path der Pfad der Datei; eine vorhandene Datei wird überschrieben.
+     * @throws IOException wenn die Datei nicht geschrieben werden kann.
+     */
+    public void write(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                    .putInt(MAGIC).putInt(VERSION).putInt(PHASES).putInt(Pattern.values().length);
+            write(channel, header.flip());
+            for (short[][] phase : weights) {
+                for (short[] table : phase) {
+                    ByteBuffer buffer = ByteBuffer.allocate(2 * table.length);
+                    buffer.asShortBuffer().put(table);
+                    write(channel, buffer);
+                }
+            }
+        }
+    }
+
+    /**
+     * Liefert die Spielphase zu einer Anzahl Steine auf dem Brett.
+     */
+    public static int phase(int discs) {
+        return Math.min(PHASES - 1, Math.max(0, (discs - 4) / 5));
+    }
+
+    /**
+     * Liefert die Gewichtstabelle eines Musters in einer Phase. Die Tabelle wird nicht kopiert, Änderungen wirken
+     * direkt auf die Bewertung.
+     */
+    public short[] table(int phase, Pattern pattern) {
+        return weights[phase][pattern.ordinal()];
+    }
+
+    short[][] tables(int phase) {
+        return weights[phase];
+    }
+
+    private int count() {
+        int count = 0;
+        for (Pattern pattern : Pattern.values()) {
+            count += pattern.getIndices();
+        }
+        return count * PHASES;
+    }
+
+    private static ByteBuffer read(FileChannel channel, int bytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(bytes);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new IOException("Gewichtsdatei ist unvollständig");
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static void write(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
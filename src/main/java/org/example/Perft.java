@@ -0,0 +1,103 @@
+package org.example;
+
+import java.util.Collection;
+
+/**
+ * Zählt die Blätter des Spielbaums bis zu einer festen Tiefe (Perft) und dient als Regressionsprüfung für
+ * Zuggenerierung und Zugausführung sowie als Durchsatzmaß.
+ * <p>
+ * In diesem Spiel gibt es kein Passen: Hat der Spieler am Zug keinen Zug, ist das Spiel vorbei
+ * (siehe {@code Reversi.checkForGameOver}). Eine solche Stellung zählt als Blatt, auch wenn sie vor der
+ * Zieltiefe liegt.
+ */
+public final class Perft {
+    private Perft() {
+    }
+
+    /**
+     * Zählt die Blätter auf Bitboards. In der letzten Ebene werden die Züge nur gezählt, nicht ausgeführt.
+     *
+     * @param own die Steine des Spielers am Zug.
+     * @param opp die Steine des Gegners.
+     * @param depth die Tiefe in Halbzügen.
+     * @return die Anzahl der Blätter.
+     */
+    public static long perft(long own, long opp, int depth) {
+        if (depth == 0) {
+            return 1;
+        }
+        if (depth == 1) {
+            long count = countMoves(own, opp);
+            return count == 0 ? 1 : count;
+        }
+
+        long nodes = 0;
+        boolean hasMove = false;
+        for (Direction dir : Bitboard.DIRECTIONS) {
+            long targets = Bitboard.targets(own, opp, dir);
+            while (targets != 0) {
+                int end = Long.numberOfTrailingZeros(targets);
+                targets &= targets - 1;
+                long flipped = Bitboard.flips(Bitboard.startSquare(opp, end, dir), end);
+                nodes += perft(opp & ~flipped, own | flipped, depth - 1);
+                hasMove = true;
+            }
+        }
+        return hasMove ? nodes : 1;
+    }
+
+    /**
+     * Zählt die Blätter über {@link MoveValidator#findAllMoves(Player[][], Player)} und
+     * {@link Reversi#makeMove(Move, Player)}. Dient als langsame Referenz für {@link #perft(long, long, int)}.
+     *
+     * @param game das Spiel; seine Stellung ist danach unverändert.
+     * @param player der Spieler am Zug.
+     * @param depth die Tiefe in Halbzügen.
+     * @return die Anzahl der Blätter.
+     */
+    public static long perft(Reversi game, Player player, int depth) {
+        if (depth == 0) {
+            return 1;
+        }
+        Collection<Move> moves = new MoveValidator().findAllMoves(game.getBoard(), player);
+        if (moves.isEmpty()) {
+            return 1;
+        }
+
+        long nodes = 0;
+        for (Move move : moves) {
+            game.makeMove(move, player);
+            nodes += perft(game, player.getOpponent(), depth - 1);
+            game.unmakeMove();
+        }
+        return nodes;
+    }
+
+    /**
+     * Zählt alle Züge einer Stellung, ohne sie zu erzeugen: Jedes Endfeld einer Richtung ist genau ein Zug.
+     */
+    static long countMoves(long own, long opp) {
+        long count = 0;
+        for (Direction dir : Bitboard.DIRECTIONS) {
+            count += Long.bitCount(Bitboard.targets(own, opp, dir));
+        }
+        return count;
+    }
+
+    /**
+     * Gibt Perft-Werte und Knoten pro Sekunde aus der Startaufstellung aus.
+     * Argument: maximale Tiefe (Standard: 8).
+     */
+    public static void main(String[] args) {
+        int maxDepth = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        Bitboard start = Bitboard.fromBoard(new Reversi().getBoard());
+
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            long startTime = System.nanoTime();
+            long nodes = perft(start.getBlack(), start.getWhite(), depth);
+            long nanos = System.nanoTime() - startTime;
+            System.out.printf("Tiefe %2d: %,16d Knoten  %8.3f s  %,14.0f Knoten/s%n",
+                    depth, nodes, nanos / 1e9, nodes * 1e9 / Math.max(nanos, 1));
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package org.example;
+
+/**
+ * Unveränderliche 8x8-Stellung mit dem Spieler am Zug.
+ * <p>
+ * Eine Position besteht nur aus zwei Masken und dem Spieler am Zug und belegt mit komprimierten Referenzen
+ * 32 Bytes; 100.000 laufende Partien brauchen damit wenige Megabyte. Positionen sind threadsicher und können
+ * beliebig geteilt werden. Die Spielregeln liegen in der {@link GameEngine}.
+ */
+public final class Position {
+    private final long black;
+    private final long white;
+    private final Player player;
+
+    public Position(long black, long white, Player player) {
+        if ((black & white) != 0) {
+            throw new IllegalArgumentException("Felder dürfen nicht beiden Spielern gehören");
+        }
+        if (player == Player.NONE) {
+            throw new IllegalArgumentException("Ein Spieler muss am Zug sein");
+        }
+        this.black = black;
+        this.white = white;
+        this.player = player;
+    }
+
+    /**
+     * Liefert die Startaufstellung mit Schwarz am Zug.
+     */
+    public static Position initial() {
+        return new Position(0x0000000810000000L, 0x0000001008000000L, Player.BLACK);
+    }
+
+    /**
+     * Wandelt ein 8x8-Brett in eine Position um.
+     *
+     * @param board das Reversi-Brett.
+     * @param player der Spieler am Zug.
+     * @return die Position.
+     */
+    public static Position fromBoard(Player[][] board, Player player) {
+        return new Position(Bitboard.mask(board, Player.BLACK), Bitboard.mask(board, Player.WHITE), player);
+    }
+
+    public long getBlack() {
+        return black;
+    }
+
+    public long getWhite() {
+        return white;
+    }
+
+    /**
+     * @return der Spieler am Zug.
+     */
+    public Player getPlayer() {
+        return player;
+    }
+
+    /**
+     * @return die Steine des Spielers am Zug.
+     */
+    public long own() {
+        return player == Player.BLACK ? black : white;
+    }
+
+    /**
+     * @return die Steine des Gegners.
+     */
+    public long opp() {
+        return player == Player.BLACK ? white : black;
+    }
+
+    /**
+     * @return der Zobrist-Hashwert der Stellung einschließlich des Spielers am Zug.
+     */
+    public long hash() {
+        return Zobrist.hash(black, white) ^ (player == Player.WHITE ? Zobrist.WHITE_TO_MOVE : 0);
+    }
+
+    public Bitboard toBitboard() {
+        return new Bitboard(black, white);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Position that = (Position) o;
+        return black == that.black && white == that.white && player == that.player;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(black * 31 + white) * 31 + player.ordinal();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Position{black=%016x, white=%016x, player=%s}", black, white, player);
+    }
+}
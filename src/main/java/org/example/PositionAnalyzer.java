@@ -0,0 +1,24 @@
+package org.example;
+
+/**
+ * Analysiert eine einzelne Stellung, etwa für die {@link AnalysisPipeline}.
+ * Implementierungen dürfen Zustand haben und sind nicht threadsicher; jeder Thread erhält eine eigene Instanz.
+ */
+@FunctionalInterface
+public interface PositionAnalyzer {
+    /**
+     * Analysiert eine Stellung.
+     *
+     * @param position die Stellung.
+     * @return der beste Zug und seine Bewertung aus Sicht des Spielers am Zug.
+     */
+    SearchResult analyze(Position position);
+
+    /**
+     * Sucht jede Stellung mit der {@link SearchEngine} bis zu einer festen Tiefe, ohne Zeitbudget.
+     */
+    static PositionAnalyzer search(int depth) {
+        SearchEngine searchEngine = new SearchEngine();
+        return position -> searchEngine.search(position.toBitboard(), position.getPlayer(), Long.MAX_VALUE, depth);
+    }
+}
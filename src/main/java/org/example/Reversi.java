@@ -4,54 +4,154 @@ import java.util.Arrays;
 import java.util.Scanner;
 
 public class Reversi {
-    private static final int SIZE = 8; // Größe des Bretts
+    public static final int DEFAULT_SIZE = 8; // Größe des Standardbretts
+    public static final int MIN_SIZE = 4;
+    public static final int MAX_SIZE = 16; // größtes Brett, dessen Felder in einen gepackten Zug passen
+    private static final long COMPUTER_BUDGET_NANOS = 1_000_000_000L; // Bedenkzeit des Computers pro Zug
+    private static final Player[] PLAYERS = Player.values();
+    private final int size;
     private final Player[][] board;
     private final MoveValidator moveValidator;
+    private final Player computerPlayer;
+    private SearchEngine searchEngine;
+    private long hash;
+    // Anzahl der Felder je Spieler, Index ist die Ordinalzahl von Player
+    private final int[] discCounts = new int[PLAYERS.length];
 
+    // Undo-Stapel für makeMove/unmakeMove: pro geändertem Feld der Index und der vorherige Besitzer,
+    // pro Zug der Anfang seiner Einträge. Jeder Zug füllt ein leeres Feld, daher reichen size * size Züge.
+    private final int[] undoSquares;
+    private final int[] undoFrames;
+    private int undoTop;
+    private int undoDepth;
+
+    /**
+     * Startet das Spiel. Optional gibt das erste Argument (BLACK, WHITE oder NONE) die Farbe des Computers an,
+     * das zweite die Brettgröße.
+     */
     public static void main(String[] args) {
-        Reversi game = new Reversi();
+        Player computerPlayer = args.length > 0 ? Player.valueOf(args[0]) : Player.NONE;
+        int size = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_SIZE;
+        Reversi game = new Reversi(size, computerPlayer);
         game.startGame();
     }
 
     public Reversi() {
-        board = new Player[SIZE][SIZE];
+        this(Player.NONE);
+    }
+
+    /**
+     * Erzeugt ein Spiel, in dem der Computer die angegebene Farbe spielt.
+     *
+     * @param computerPlayer die Farbe des Computers oder NONE für zwei menschliche Spieler.
+     */
+    public Reversi(Player computerPlayer) {
+        this(DEFAULT_SIZE, computerPlayer);
+    }
+
+    /**
+     * Erzeugt ein Spiel auf einem quadratischen Brett beliebiger gerader Größe. Der Computer spielt nur auf
+     * {@link #DEFAULT_SIZE}, weil die Suche mit {@link Bitboard} arbeitet.
+     *
+     * @param size die Seitenlänge des Bretts, gerade und zwischen {@link #MIN_SIZE} und {@link #MAX_SIZE}.
+     * @param computerPlayer die Farbe des Computers oder NONE für zwei menschliche Spieler.
+     */
+    public Reversi(int size, Player computerPlayer) {
+        if (size < MIN_SIZE || size > MAX_SIZE || size % 2 != 0) {
+            throw new IllegalArgumentException("Ungültige Brettgröße: " + size);
+        }
+        if (computerPlayer != Player.NONE && size != DEFAULT_SIZE) {
+            throw new IllegalArgumentException("Der Computer spielt nur auf " + DEFAULT_SIZE + "x" + DEFAULT_SIZE);
+        }
+        this.size = size;
+        board = new Player[size][size];
         moveValidator = new MoveValidator();
+        this.computerPlayer = computerPlayer;
+        undoSquares = new int[size * size * size];
+        undoFrames = new int[size * size];
         initializeBoard();
     }
 
+    /**
+     * Erzeugt ein Spiel mit einer vorgegebenen Stellung. Das Brett wird nicht kopiert.
+     *
+     * @param board das Reversi-Brett.
+     */
+    Reversi(Player[][] board) {
+        if (board.length < MIN_SIZE || board.length > MAX_SIZE || board[0].length != board.length) {
+            throw new IllegalArgumentException("Ungültiges Brett: " + board.length + "x" + board[0].length);
+        }
+        this.size = board.length;
+        this.board = board;
+        moveValidator = new MoveValidator();
+        computerPlayer = Player.NONE;
+        undoSquares = new int[size * size * size];
+        undoFrames = new int[size * size];
+        hash = Zobrist.hash(board);
+        recountDiscs();
+    }
+
     /**
      * Erzeuge das Spielfeld
      */
     private void initializeBoard() {
         // Setze alle Felder auf leer
-        for (int i = 0; i < SIZE; i++) {
-            for (int j = 0; j < SIZE; j++) {
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
                 board[i][j] = Player.NONE;
             }
         }
 
-        // Setze die Startpositionen
-        board[3][3] = Player.WHITE;
-        board[4][4] = Player.WHITE;
-        board[3][4] = Player.BLACK;
-        board[4][3] = Player.BLACK;
+        // Setze die Startpositionen in der Mitte
+        int center = size / 2;
+        board[center - 1][center - 1] = Player.WHITE;
+        board[center][center] = Player.WHITE;
+        board[center - 1][center] = Player.BLACK;
+        board[center][center - 1] = Player.BLACK;
+
+        hash = Zobrist.hash(board);
+        recountDiscs();
+    }
+
+    /**
+     * Liefert den Zobrist-Hashwert der aktuellen Stellung. Er wird bei jedem Zug schrittweise aktualisiert.
+     *
+     * @return der Hashwert.
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * @return die Seitenlänge des Bretts.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return das Brett des Spiels, nicht kopiert.
+     */
+    Player[][] getBoard() {
+        return board;
     }
 
     /**
      * Gib das Spielfeld mit Spaltenbeschriftung aus.
      */
     public void printBoard() {
-        // Drucke die Spaltenbeschriftung
-        System.out.print("  ");
-        for (int i = 0; i < SIZE; i++) {
+        // Drucke die Spaltenbeschriftung, ab 10 Zeilen sind die Zeilennummern zweistellig
+        String rowFormat = "%" + String.valueOf(size).length() + "d ";
+        System.out.print(" ".repeat(String.valueOf(size).length() + 1));
+        for (int i = 0; i < size; i++) {
             System.out.print((char) ('A' + i) + " ");
         }
         System.out.println();
 
         // Drucke das Brett mit Zeilenbeschriftung
-        for (int i = 0; i < SIZE; i++) {
-            System.out.print((i + 1) + " ");
-            for (int j = 0; j < SIZE; j++) {
+        for (int i = 0; i < size; i++) {
+            System.out.printf(rowFormat, i + 1);
+            for (int j = 0; j < size; j++) {
                 System.out.print(board[i][j] + " ");
             }
             System.out.println();
@@ -59,18 +159,34 @@ public class Reversi {
     }
 
     /**
-     * Berechne die Punktzahl des Spielers
+     * Berechne die Punktzahl des Spielers. Die Steinzahlen werden bei jedem Zug mitgeführt, daher kostet
+     * der Aufruf konstante Zeit.
      *
      * @param player Spiele
      * @return Punktzahl
      */
     public long calculateScore(Player player) {
+        assert discCounts[player.ordinal()] == countDiscs(player) : "Steinzahl weicht vom Brett ab: " + player;
+        return discCounts[player.ordinal()];
+    }
+
+    /**
+     * Zählt die Felder eines Spielers über das ganze Brett. Dient als Prüfung für die laufend
+     * mitgeführten Steinzahlen.
+     */
+    private long countDiscs(Player player) {
         return Arrays.stream(board)
                 .flatMap(Arrays::stream)
                 .filter(p -> p == player)
                 .count();
     }
 
+    private void recountDiscs() {
+        for (Player player : PLAYERS) {
+            discCounts[player.ordinal()] = (int) countDiscs(player);
+        }
+    }
+
     /**
      * Startet das Spiel und steuert den Spielablauf.
      */
@@ -85,7 +201,7 @@ public class Reversi {
 
             if (checkForGameOver(currentPlayer)) break;
 
-            Move move = playerInput(currentPlayer, scanner);
+            Move move = currentPlayer == computerPlayer ? computerInput(currentPlayer) : playerInput(currentPlayer, scanner);
             if (move == null) continue;
 
             executeMove(move, currentPlayer);
@@ -114,8 +230,25 @@ public class Reversi {
         return move;
     }
 
-    private void executeMove(Move move, Player currentPlayer) {
+    private Move computerInput(Player currentPlayer) {
+        if (searchEngine == null) {
+            searchEngine = new SearchEngine();
+        }
+        SearchResult result = searchEngine.search(board, currentPlayer, COMPUTER_BUDGET_NANOS);
+        Move move = result.getBestMove();
+        System.out.println("Computer zieht von " + toSquareName(move.start) + " nach " + toSquareName(move.end)
+                + " (Tiefe " + result.getDepth() + ").");
+        return move;
+    }
+
+    private static String toSquareName(Coordinate coordinate) {
+        return String.valueOf((char) ('A' + coordinate.getX())) + (coordinate.getY() + 1);
+    }
+
+    void executeMove(Move move, Player currentPlayer) {
+        long start = Metrics.start();
         executeMove(currentPlayer,move.start.getX(),move.start.getY(),move.end.getX(),move.end.getY(),move.direction.stepValueY,move.direction.stepValueX);
+        Metrics.stop(Metrics.Operation.EXECUTE_MOVE, start);
     }
 
     /**
@@ -125,11 +258,65 @@ public class Reversi {
         int flipR = rowStart + dr;
         int flipC = colStart + dc;
         while (flipR != rowEnd || flipC != colEnd) {
-            board[flipR][flipC] = player;
+            setSquare(flipR, flipC, player);
             flipR += dr;
             flipC += dc;
         }
-        board[flipR][flipC] = player;
+        setSquare(flipR, flipC, player);
+    }
+
+    /**
+     * Führt einen Zug aus und merkt sich die geänderten Felder, damit {@link #unmakeMove()} ihn exakt zurücknehmen
+     * kann. Die Felder liegen in einem vorab angelegten Stapel, es werden keine Objekte erzeugt.
+     *
+     * @param move der Zug.
+     * @param player der ziehende Spieler.
+     */
+    public void makeMove(Move move, Player player) {
+        if (move.direction == Direction.INVALID) {
+            throw new IllegalArgumentException("Ungültiger Zug: " + move);
+        }
+        if (undoDepth == undoFrames.length) {
+            throw new IllegalStateException("Undo-Stapel ist voll");
+        }
+        undoFrames[undoDepth++] = undoTop;
+
+        int dr = move.direction.stepValueY;
+        int dc = move.direction.stepValueX;
+        int rowEnd = move.end.getY();
+        int colEnd = move.end.getX();
+        int row = move.start.getY();
+        int col = move.start.getX();
+        do {
+            row += dr;
+            col += dc;
+            undoSquares[undoTop++] = row * size + col | board[row][col].ordinal() << 8;
+            setSquare(row, col, player);
+        } while (row != rowEnd || col != colEnd);
+    }
+
+    /**
+     * Nimmt den letzten mit {@link #makeMove(Move, Player)} ausgeführten Zug zurück.
+     */
+    public void unmakeMove() {
+        if (undoDepth == 0) {
+            throw new IllegalStateException("Kein Zug zum Zurücknehmen");
+        }
+        int frame = undoFrames[--undoDepth];
+        while (undoTop > frame) {
+            int entry = undoSquares[--undoTop];
+            int square = entry & 0xFF;
+            setSquare(square / size, square % size, PLAYERS[entry >>> 8]);
+        }
+    }
+
+    private void setSquare(int row, int col, Player player) {
+        int square = row * size + col;
+        Player previous = board[row][col];
+        hash ^= Zobrist.key(previous, square) ^ Zobrist.key(player, square);
+        discCounts[previous.ordinal()]--;
+        discCounts[player.ordinal()]++;
+        board[row][col] = player;
     }
 
     /**
@@ -139,8 +326,8 @@ public class Reversi {
      * @return true, wenn der Spieler noch gültige Züge hat, sonst false.
      */
     private boolean hasValidMoves(Player player) {
-        for (int i = 0; i < SIZE; i++) {
-            for (int j = 0; j < SIZE; j++) {
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
                 if (moveValidator.isMoveValid(board, i, j, player)) {
                     return true;
                 }
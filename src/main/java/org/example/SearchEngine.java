@@ -0,0 +1,272 @@
+package org.example;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Computergegner: Negamax mit Alpha-Beta-Suche und iterativer Vertiefung unter einem Zeitbudget.
+ * <p>
+ * Die Suche folgt den Regeln dieses Spiels: Ein Zug führt von einem eigenen Stein über eine Reihe gegnerischer
+ * Steine auf ein leeres Feld und dreht nur diese Reihe um (wie {@code Reversi.executeMove}). Hat der Spieler am Zug
+ * keinen Zug mehr, ist das Spiel vorbei.
+ * <p>
+ * Eine Instanz ist nicht threadsicher, kann aber für beliebig viele Suchen nacheinander verwendet werden.
+ * Für parallele Partien erhält jeder Thread eine eigene Instanz.
+ */
+public class SearchEngine {
+    public static final int NO_MOVE = -1;
+    public static final int MAX_PLY = 64;
+    public static final int DEFAULT_TABLE_MEGABYTES = 16;
+
+    static final int INFINITY = 32000;
+    static final int WIN = 10000;
+
+    /**
+     * Die Uhr wird alle 256 Knoten abgefragt, damit die Suche das Budget auf Bruchteile einer Millisekunde einhält.
+     */
+    private static final int CLOCK_CHECK_MASK = 0xFF;
+
+    private static final Runnable NO_CHECKPOINT = () -> {
+    };
+
+    private final Evaluator evaluator;
+    private final TranspositionTable transpositionTable;
+    private final MoveBuffer[] buffers = new MoveBuffer[MAX_PLY + 1];
+    private final MoveOrdering moveOrdering = new MoveOrdering(MAX_PLY);
+
+    private long deadline;
+    private long nodes;
+    private boolean aborted;
+    private AtomicBoolean stop;
+    private Runnable checkpoint = NO_CHECKPOINT;
+
+    public SearchEngine() {
+        this(Evaluator.DEFAULT);
+    }
+
+    public SearchEngine(Evaluator evaluator) {
+        this(evaluator, new TranspositionTable(DEFAULT_TABLE_MEGABYTES));
+    }
+
+    public SearchEngine(Evaluator evaluator, TranspositionTable transpositionTable) {
+        this.evaluator = evaluator;
+        this.transpositionTable = transpositionTable;
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = new MoveBuffer();
+        }
+    }
+
+    /**
+     * @return die Zugsortierung mit ihren Zählern, kumuliert über alle Suchen dieser Instanz.
+     */
+    public MoveOrdering getMoveOrdering() {
+        return moveOrdering;
+    }
+
+    /**
+     * Sucht den besten Zug auf einem 8x8-Brett.
+     *
+     * @param board das Reversi-Brett.
+     * @param player der Spieler am Zug.
+     * @param budgetNanos das Zeitbudget in Nanosekunden.
+     * @return das Suchergebnis.
+     */
+    public SearchResult search(Player[][] board, Player player, long budgetNanos) {
+        return search(Bitboard.fromBoard(board), player, budgetNanos, MAX_PLY);
+    }
+
+    /**
+     * Sucht den besten Zug mit iterativer Vertiefung, bis das Zeitbudget oder die maximale Tiefe erreicht ist.
+     * Ist das Budget während einer Iteration aufgebraucht, gilt der beste Zug der letzten vollständigen Iteration.
+     *
+     * @param position die Stellung.
+     * @param player der Spieler am Zug.
+     * @param budgetNanos das Zeitbudget in Nanosekunden.
+     * @param maxDepth die maximale Suchtiefe.
+     * @return das Suchergebnis.
+     */
+    public SearchResult search(Bitboard position, Player player, long budgetNanos, int maxDepth) {
+        transpositionTable.newSearch();
+        moveOrdering.newSearch();
+        return searchUntil(position, player, System.nanoTime() + budgetNanos, maxDepth, 0, new AtomicBoolean());
+    }
+
+    /**
+     * Sucht mit iterativer Vertiefung bis zu einem festen Zeitpunkt oder bis {@code stop} gesetzt wird.
+     * Hilfsthreads der parallelen Suche ({@code helper > 0}) beginnen mit einer anderen Zugreihenfolge an der Wurzel
+     * und suchen bei ungerader Nummer eine Tiefe voraus, damit sie andere Teile des Baums in die gemeinsame
+     * Transpositionstabelle eintragen.
+     */
+    SearchResult searchUntil(Bitboard position, Player player, long deadline, int maxDepth, int helper, AtomicBoolean stop) {
+        return searchUntil(position, player, deadline, maxDepth, helper, stop, NO_CHECKPOINT);
+    }
+
+    /**
+     * Sucht wie {@link #searchUntil(Bitboard, Player, long, int, int, AtomicBoolean)} und ruft bei jeder Abfrage der
+     * Uhr, also alle 256 Knoten, {@code checkpoint} auf. Er darf blockieren, etwa um den Rechenkern an eine andere
+     * Suche abzugeben, oder {@code stop} setzen; die Uhr wird erst danach gelesen.
+     */
+    SearchResult searchUntil(Bitboard position, Player player, long deadline, int maxDepth, int helper,
+                             AtomicBoolean stop, Runnable checkpoint) {
+        this.checkpoint = checkpoint;
+        try {
+            return iterativeDeepening(position, player, deadline, maxDepth, helper, stop);
+        } finally {
+            // Eine freie Instanz soll den Aufrufer nicht am Leben halten
+            this.checkpoint = NO_CHECKPOINT;
+        }
+    }
+
+    private SearchResult iterativeDeepening(Bitboard position, Player player, long deadline, int maxDepth, int helper,
+                                            AtomicBoolean stop) {
+        long startTime = System.nanoTime();
+        this.deadline = deadline;
+        this.stop = stop;
+        nodes = 0;
+        aborted = false;
+
+        long own = position.discs(player);
+        long opp = position.discs(player.getOpponent());
+        MoveBuffer rootMoves = new MoveBuffer();
+        int count = Bitboard.generateMoves(own, opp, rootMoves);
+        if (count == 0) {
+            return new SearchResult(NO_MOVE, finalScore(own, opp), 0, 0, System.nanoTime() - startTime);
+        }
+
+        if (helper > 0) {
+            rotate(rootMoves, helper % count);
+        }
+        int bestMove = rootMoves.get(0);
+        int bestScore = 0;
+        int completedDepth = 0;
+        int depthLimit = Math.min(Math.min(maxDepth, MAX_PLY), Long.bitCount(~(own | opp)));
+        long hash = Zobrist.hash(position.getBlack(), position.getWhite()) ^ (player == Player.WHITE ? Zobrist.WHITE_TO_MOVE : 0);
+        Player opponent = player.getOpponent();
+
+        for (int depth = 1 + (helper & 1); depth <= depthLimit; depth++) {
+            moveToFront(rootMoves, bestMove);
+            int alpha = -INFINITY;
+            int iterationMove = NO_MOVE;
+
+            for (int i = 0; i < count; i++) {
+                int move = rootMoves.get(i);
+                long flipped = Bitboard.flips(PackedMove.start(move), PackedMove.end(move));
+                long childHash = hash ^ Zobrist.WHITE_TO_MOVE ^ Zobrist.moveDelta(player, flipped & opp, PackedMove.end(move));
+                int score = -negamax(opp & ~flipped, own | flipped, opponent, childHash, depth - 1, -INFINITY, -alpha, 1);
+                if (aborted) {
+                    break;
+                }
+                if (score > alpha) {
+                    alpha = score;
+                    iterationMove = move;
+                }
+            }
+
+            if (aborted) {
+                break;
+            }
+            bestMove = iterationMove;
+            bestScore = alpha;
+            completedDepth = depth;
+            transpositionTable.store(hash, depth, TranspositionTable.EXACT, bestScore, bestMove);
+        }
+
+        return new SearchResult(bestMove, bestScore, completedDepth, nodes, System.nanoTime() - startTime);
+    }
+
+    private int negamax(long own, long opp, Player player, long hash, int depth, int alpha, int beta, int ply) {
+        if ((++nodes & CLOCK_CHECK_MASK) == 0) {
+            checkpoint.run();
+            if (stop.get() || System.nanoTime() - deadline >= 0) {
+                aborted = true;
+            }
+        }
+        if (aborted) {
+            return 0;
+        }
+
+        MoveBuffer moves = buffers[ply];
+        int count = Bitboard.generateMoves(own, opp, moves);
+        if (count == 0) {
+            return finalScore(own, opp);
+        }
+        if (depth == 0) {
+            return evaluator.evaluate(own, opp);
+        }
+
+        int ttMove = NO_MOVE;
+        long entry = transpositionTable.probe(hash);
+        if (entry != TranspositionTable.MISS) {
+            if (TranspositionTable.depth(entry) >= depth) {
+                int score = TranspositionTable.score(entry);
+                int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.EXACT
+                        || bound == TranspositionTable.LOWER_BOUND && score >= beta
+                        || bound == TranspositionTable.UPPER_BOUND && score <= alpha) {
+                    return score;
+                }
+            }
+            ttMove = TranspositionTable.move(entry);
+        }
+        moveOrdering.sort(moves, ply, ttMove, player);
+
+        int originalAlpha = alpha;
+        int best = -INFINITY;
+        int bestMove = NO_MOVE;
+        Player opponent = player.getOpponent();
+        for (int i = 0; i < count; i++) {
+            int move = moves.get(i);
+            long flipped = Bitboard.flips(PackedMove.start(move), PackedMove.end(move));
+            long childHash = hash ^ Zobrist.WHITE_TO_MOVE ^ Zobrist.moveDelta(player, flipped & opp, PackedMove.end(move));
+            int score = -negamax(opp & ~flipped, own | flipped, opponent, childHash, depth - 1, -beta, -alpha, ply + 1);
+            if (aborted) {
+                return 0;
+            }
+            if (score > best) {
+                best = score;
+                bestMove = move;
+                if (score > alpha) {
+                    alpha = score;
+                    if (alpha >= beta) {
+                        moveOrdering.cutoff(move, i, ply, depth, player);
+                        break;
+                    }
+                }
+            }
+        }
+
+        int bound = best <= originalAlpha ? TranspositionTable.UPPER_BOUND
+                : best >= beta ? TranspositionTable.LOWER_BOUND : TranspositionTable.EXACT;
+        transpositionTable.store(hash, depth, bound, best, bestMove);
+        return best;
+    }
+
+    /**
+     * Bewertet eine Endstellung nach der Steindifferenz; Gewinn und Verlust liegen außerhalb jeder Bewertung.
+     */
+    static int finalScore(long own, long opp) {
+        int difference = Long.bitCount(own) - Long.bitCount(opp);
+        if (difference > 0) return WIN + difference;
+        if (difference < 0) return -WIN + difference;
+        return 0;
+    }
+
+    private static void rotate(MoveBuffer moves, int distance) {
+        int[] array = moves.array();
+        for (int i = 0; i < distance; i++) {
+            int first = array[0];
+            System.arraycopy(array, 1, array, 0, moves.size() - 1);
+            array[moves.size() - 1] = first;
+        }
+    }
+
+    private static void moveToFront(MoveBuffer moves, int move) {
+        int[] array = moves.array();
+        for (int i = 0; i < moves.size(); i++) {
+            if (array[i] == move) {
+                System.arraycopy(array, 0, array, 1, i);
+                array[0] = move;
+                return;
+            }
+        }
+    }
+}
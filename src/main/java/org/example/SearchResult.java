@@ -0,0 +1,63 @@
+package org.example;
+
+/**
+ * Ergebnis einer Suche der {@link SearchEngine}.
+ */
+public final class SearchResult {
+    private final int move;
+    private final int score;
+    private final int depth;
+    private final long nodes;
+    private final long nanos;
+
+    SearchResult(int move, int score, int depth, long nodes, long nanos) {
+        this.move = move;
+        this.score = score;
+        this.depth = depth;
+        this.nodes = nodes;
+        this.nanos = nanos;
+    }
+
+    /**
+     * @return der beste Zug oder null, wenn der Spieler keinen Zug hat.
+     */
+    public Move getBestMove() {
+        return move == SearchEngine.NO_MOVE ? null : PackedMove.toMove(move, Bitboard.SIZE);
+    }
+
+    /**
+     * @return der beste Zug als gepackter Zug oder {@link SearchEngine#NO_MOVE}.
+     */
+    public int getPackedMove() {
+        return move;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * @return die Tiefe der letzten vollständig durchsuchten Iteration.
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    public double getNodesPerSecond() {
+        return nanos == 0 ? 0 : nodes * 1e9 / nanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SearchResult{move=%s, score=%d, depth=%d, nodes=%d, nanos=%d}",
+                getBestMove(), score, depth, nodes, nanos);
+    }
+}
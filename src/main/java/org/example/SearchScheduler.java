@@ -0,0 +1,632 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Verteilt viele gleichzeitige Suchen auf eine feste Anzahl von Rechenkernen, statt jeder Suche einen eigenen
+ * Thread zu geben, der mit allen anderen um die Kerne konkurriert.
+ * <p>
+ * Eine Suche wird mit einer Frist und einer Rechenzeit ({@link #submitTimed}) oder mit einem Knotenbudget
+ * ({@link #submitNodes}) angenommen. Jede Suche läuft auf einem eigenen virtuellen Thread, aber höchstens
+ * {@code threads} rechnen gleichzeitig; die übrigen warten geparkt und belegen keinen Trägerthread. Die
+ * {@link SearchEngine} ruft alle 256 Knoten einen Kontrollpunkt auf. Dort gibt eine Suche ihren Kern ab, wenn eine
+ * wartende Suche eine frühere Frist hat oder bei gleicher Frist ihre Zeitscheibe abgelaufen ist (Earliest Deadline
+ * First mit Zeitscheiben). Suchen mit Knotenbudget haben keine Frist; sie rechnen, wenn keine Suche mit Frist wartet,
+ * und wechseln sich untereinander nach jeder Zeitscheibe ab.
+ * <p>
+ * Eine Suche mit Frist wird nur angenommen, wenn die Rechenzeit aller angenommenen Suchen mit Frist bis zu jeder dieser
+ * Fristen auf {@link #ADMISSION_LOAD} der Kerne passt; sonst wird sie mit {@link RejectedExecutionException} abgelehnt,
+ * statt später alle anderen Fristen zu gefährden. Die Prüfung ist eine Näherung, denn eine einzelne Suche kann nur
+ * einen Kern nutzen. Eine Suche gilt als verspätet, wenn sie erst nach ihrer Frist endet, weil sie ihre Rechenzeit bis
+ * dahin nicht bekommen hat.
+ * <p>
+ * Alle Suchen teilen sich eine sperrfreie {@link TranspositionTable}; jede angenommene Suche beginnt darin eine neue
+ * Generation. Jede begonnene Suche hält bis zu ihrem Ende eine eigene {@link SearchEngine} ohne eigene Tabelle; freie
+ * Instanzen werden wiederverwendet.
+ * <p>
+ * Die Suchen laufen auf den Trägerthreads aller virtuellen Threads des Prozesses. Rechnende Suchen geben ihren
+ * Trägerthread nur an wartende Suchen ab; belegen sie alle, kommen andere virtuelle Threads wie die Verbindungen des
+ * {@link GameServer} nicht mehr dran. Ohne weitere Einstellung rechnen deshalb höchstens so viele Suchen gleichzeitig,
+ * wie es Trägerthreads gibt, weniger einer ({@link #defaultThreads()}).
+ */
+public class SearchScheduler implements AutoCloseable {
+    public static final long DEFAULT_SLICE_NANOS = 1_000_000;
+
+    /**
+     * Rang der Suchen ohne Frist: hinter allen Suchen mit Frist.
+     */
+    private static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    /**
+     * Frist für die {@link SearchEngine} bei Suchen ohne Frist, praktisch unbegrenzt.
+     */
+    private static final long UNLIMITED_NANOS = Long.MAX_VALUE / 4;
+
+    private static final int NODES_PER_CHECKPOINT = 256;
+
+    /**
+     * Anteil der Kerne, den die Annahme verplant; der Rest fängt Abbrüche, Wechsel und Speicherbereinigung auf.
+     */
+    private static final double ADMISSION_LOAD = 0.9;
+
+    private static final int OVERRUN_WEIGHT = 16;
+
+    private final int threads;
+    private final int maxPending;
+    private final long sliceNanos;
+    private final Evaluator evaluator;
+    private final TranspositionTable transpositionTable;
+    private final long origin = System.nanoTime();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ConcurrentLinkedQueue<SearchEngine> idleEngines = new ConcurrentLinkedQueue<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final PriorityQueue<Task> waiting = new PriorityQueue<>(
+            Comparator.comparingLong((Task task) -> task.rank).thenComparingLong(task -> task.sequence));
+    private final TreeSet<Task> timed = new TreeSet<>(
+            Comparator.comparingLong((Task task) -> task.rank).thenComparingLong(task -> task.id));
+    private int running;
+    private int pending;
+    private long nextSequence;
+    private int maxQueueDepth;
+    private long submitted;
+    private long rejected;
+    private long completed;
+    private long deadlineMisses;
+    /**
+     * Gleitender Mittelwert, um wie viel Suchen ihre Rechenzeit überziehen: Sie merken das Ende erst am nächsten
+     * Kontrollpunkt.
+     */
+    private long overrunNanos;
+
+    /**
+     * Die wartende Suche mit dem kleinsten Rang, ohne Sperre lesbar für die Kontrollpunkte.
+     */
+    private volatile Task head;
+    private volatile boolean closed;
+
+    /**
+     * @param threads die Anzahl der Suchen, die gleichzeitig rechnen.
+     * @param maxPending die Höchstzahl angenommener, noch nicht beendeter Suchen.
+     * @param sliceNanos die Länge einer Zeitscheibe in Nanosekunden.
+     * @param evaluator die Bewertung für alle Suchen.
+     * @param transpositionTable die gemeinsame Tabelle aller Suchen.
+     */
+    public SearchScheduler(int threads, int maxPending, long sliceNanos, Evaluator evaluator,
+                           TranspositionTable transpositionTable) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Anzahl der Threads muss positiv sein: " + threads);
+        }
+        if (maxPending <= 0) {
+            throw new IllegalArgumentException("Anzahl der Suchen muss positiv sein: " + maxPending);
+        }
+        if (sliceNanos <= 0) {
+            throw new IllegalArgumentException("Zeitscheibe muss positiv sein: " + sliceNanos);
+        }
+        this.threads = threads;
+        this.maxPending = maxPending;
+        this.sliceNanos = sliceNanos;
+        this.evaluator = evaluator;
+        this.transpositionTable = transpositionTable;
+    }
+
+    /**
+     * Erzeugt einen Scheduler mit {@link #defaultThreads()} Rechenkernen.
+     */
+    public SearchScheduler() {
+        this(defaultThreads(), 1024, DEFAULT_SLICE_NANOS, Evaluator.DEFAULT,
+                new TranspositionTable(SearchEngine.DEFAULT_TABLE_MEGABYTES
+                        * Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * @return die Anzahl der Trägerthreads für virtuelle Threads weniger einer, mindestens 1. Der eine Trägerthread
+     * bleibt für die übrigen virtuellen Threads des Prozesses frei, solange es mehr als einen gibt.
+     */
+    public static int defaultThreads() {
+        int carriers = Integer.getInteger("jdk.virtualThreadScheduler.parallelism",
+                Runtime.getRuntime().availableProcessors());
+        return Math.max(1, carriers - 1);
+    }
+
+    /**
+     * Nimmt eine Suche mit Frist an. Die Suche endet, wenn sie ihre Rechenzeit verbraucht hat, die Frist erreicht
+     * ist oder die maximale Tiefe durchsucht ist; es gilt der beste Zug der letzten vollständigen Iteration.
+     *
+     * @param position die Stellung.
+     * @param player der Spieler am Zug.
+     * @param moveNanos die Rechenzeit in Nanosekunden.
+     * @param deadlineNanos die Frist in Nanosekunden ab jetzt, mindestens {@code moveNanos}.
+     * @param maxDepth die maximale Suchtiefe.
+     * @return das künftige Suchergebnis.
+     * @throws RejectedExecutionException wenn die Rechenzeit nicht mehr vor die Frist passt, zu viele Suchen
+     *                                    angenommen sind oder der Scheduler geschlossen ist.
+     */
+    public CompletableFuture<SearchResult> submitTimed(Bitboard position, Player player, long moveNanos,
+                                                       long deadlineNanos, int maxDepth) {
+        if (moveNanos <= 0) {
+            throw new IllegalArgumentException("Rechenzeit muss positiv sein: " + moveNanos);
+        }
+        if (deadlineNanos < moveNanos) {
+            throw new IllegalArgumentException("Frist muss mindestens die Rechenzeit sein: " + deadlineNanos);
+        }
+        long now = System.nanoTime();
+        return submit(new Task(position, player, maxDepth, now + deadlineNanos, now + deadlineNanos - origin,
+                moveNanos, Long.MAX_VALUE));
+    }
+
+    /**
+     * Nimmt eine Suche mit Frist an, deren Rechenzeit bis zur Frist reicht.
+     *
+     * @see #submitTimed(Bitboard, Player, long, long, int)
+     */
+    public CompletableFuture<SearchResult> submitTimed(Bitboard position, Player player, long moveNanos) {
+        return submitTimed(position, player, moveNanos, moveNanos, SearchEngine.MAX_PLY);
+    }
+
+    /**
+     * Nimmt eine Suche ohne Frist mit einem Knotenbudget an. Das Budget wird auf 256 Knoten genau eingehalten.
+     *
+     * @param position die Stellung.
+     * @param player der Spieler am Zug.
+     * @param maxNodes die Höchstzahl der Knoten.
+     * @param maxDepth die maximale Suchtiefe.
+     * @return das künftige Suchergebnis.
+     * @throws RejectedExecutionException wenn zu viele Suchen angenommen sind oder der Scheduler geschlossen ist.
+     */
+    public CompletableFuture<SearchResult> submitNodes(Bitboard position, Player player, long maxNodes, int maxDepth) {
+        if (maxNodes <= 0) {
+            throw new IllegalArgumentException("Knotenbudget muss positiv sein: " + maxNodes);
+        }
+        return submit(new Task(position, player, maxDepth, System.nanoTime() + UNLIMITED_NANOS, NO_DEADLINE,
+                Long.MAX_VALUE, maxNodes));
+    }
+
+    private CompletableFuture<SearchResult> submit(Task task) {
+        lock.lock();
+        try {
+            submitted++;
+            if (closed) {
+                rejected++;
+                throw new RejectedExecutionException("Scheduler ist geschlossen");
+            }
+            if (pending == maxPending) {
+                rejected++;
+                throw new RejectedExecutionException("Zu viele Suchen: " + pending);
+            }
+            if (task.rank != NO_DEADLINE && !admissible(task)) {
+                rejected++;
+                throw new RejectedExecutionException("Rechenzeit passt nicht vor die Frist");
+            }
+            pending++;
+            task.id = nextSequence++;
+            // Jede angenommene Suche ist eine neue Generation, damit tiefe Einträge beendeter Partien ersetzbar werden
+            transpositionTable.newSearch();
+            if (task.rank != NO_DEADLINE) {
+                timed.add(task);
+            }
+            // Schon hier einreihen: Sind alle Trägerthreads belegt, startet der Thread der Suche erst, wenn eine
+            // laufende Suche ihren Kern abgibt, und dafür muss sie die wartende Suche sehen
+            if (running < threads) {
+                running++;
+                task.granted = true;
+            } else {
+                task.sequence = nextSequence++;
+                waiting.add(task);
+                updateHead();
+            }
+            // Unter der Sperre, damit close() den Executor nicht dazwischen schließt
+            executor.execute(task::run);
+        } finally {
+            lock.unlock();
+        }
+        return task.future;
+    }
+
+    /**
+     * Prüft wie bei Earliest Deadline First auf einem Prozessor, ob die verbleibende Rechenzeit aller Suchen mit
+     * Frist bis zu jeder Frist ab der neuen auf die Kerne passt. Suchen mit abgelaufener Frist brechen ohnehin ab
+     * und zählen nicht. Muss unter der Sperre aufgerufen werden.
+     */
+    private boolean admissible(Task task) {
+        long now = System.nanoTime() - origin;
+        long demand = 0;
+        boolean counted = false;
+        for (Task other : timed) {
+            if (other.rank <= now) {
+                continue;
+            }
+            if (!counted && other.rank > task.rank) {
+                demand += demand(task, now);
+                counted = true;
+                if (demand > capacity(task.rank - now)) {
+                    return false;
+                }
+            }
+            demand += demand(other, now);
+            if (counted && demand > capacity(other.rank - now)) {
+                return false;
+            }
+        }
+        return counted || demand + demand(task, now) <= capacity(task.rank - now);
+    }
+
+    /**
+     * @return die geschätzte Rechenzeit, die eine Suche noch braucht, einschließlich des üblichen Überziehens.
+     */
+    private long demand(Task task, long now) {
+        return task.remaining(now) + overrunNanos;
+    }
+
+    private double capacity(long nanos) {
+        return ADMISSION_LOAD * threads * nanos;
+    }
+
+    /**
+     * @return die Anzahl der Suchen, die auf einen Kern warten, einschließlich unterbrochener.
+     */
+    public int getQueueDepth() {
+        lock.lock();
+        try {
+            return waiting.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return die größte bisher beobachtete Anzahl wartender Suchen.
+     */
+    public int getMaxQueueDepth() {
+        lock.lock();
+        try {
+            return maxQueueDepth;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return die Anzahl der Suchen, die gerade einen Kern haben.
+     */
+    public int getRunning() {
+        lock.lock();
+        try {
+            return running;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return die Anzahl der angenommenen, noch nicht beendeten Suchen.
+     */
+    public int getPending() {
+        lock.lock();
+        try {
+            return pending;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getSubmitted() {
+        lock.lock();
+        try {
+            return submitted;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getRejected() {
+        lock.lock();
+        try {
+            return rejected;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getCompleted() {
+        lock.lock();
+        try {
+            return completed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return die Anzahl der Suchen mit Frist, die erst nach ihrer Frist geendet haben.
+     */
+    public long getDeadlineMisses() {
+        lock.lock();
+        try {
+            return deadlineMisses;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return der Anteil verspäteter Suchen an allen beendeten Suchen oder 0 ohne beendete Suchen.
+     */
+    public double getDeadlineMissRate() {
+        lock.lock();
+        try {
+            return completed == 0 ? 0 : (double) deadlineMisses / completed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Nimmt keine Suchen mehr an, bricht die laufenden ab und wartet, bis sie ihr Ergebnis geliefert haben.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+        } finally {
+            lock.unlock();
+        }
+        executor.close();
+    }
+
+    /**
+     * Setzt den Rang der wartenden Spitze für die Kontrollpunkte neu. Muss unter der Sperre aufgerufen werden.
+     */
+    private void updateHead() {
+        head = waiting.peek();
+        maxQueueDepth = Math.max(maxQueueDepth, waiting.size());
+    }
+
+    /**
+     * Gibt den Kern an die nächste wartende Suche weiter oder frei. Muss unter der Sperre aufgerufen werden.
+     */
+    private void handOver() {
+        Task next = waiting.poll();
+        if (next == null) {
+            running--;
+        } else {
+            next.granted = true;
+            next.turn.signal();
+        }
+        updateHead();
+    }
+
+    @Override
+    public String toString() {
+        lock.lock();
+        try {
+            return String.format("SearchScheduler{threads=%d, running=%d, queueDepth=%d, maxQueueDepth=%d, "
+                            + "submitted=%d, rejected=%d, completed=%d, deadlineMisses=%d}",
+                    threads, running, waiting.size(), maxQueueDepth, submitted, rejected, completed, deadlineMisses);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Eine angenommene Suche. Felder ohne Kommentar gehören dem Thread der Suche, die übrigen sind durch die Sperre
+     * geschützt.
+     */
+    private final class Task {
+        final Bitboard position;
+        final Player player;
+        final int maxDepth;
+        final long deadline;
+        final long moveNanos;
+        final long maxCheckpoints;
+        final CompletableFuture<SearchResult> future = new CompletableFuture<>();
+        final AtomicBoolean stop = new AtomicBoolean();
+        final Condition turn = lock.newCondition();
+
+        /**
+         * Die Frist relativ zum Start des Schedulers oder {@link #NO_DEADLINE}; bestimmt die Reihenfolge.
+         */
+        final long rank;
+        /**
+         * Fortlaufende Nummer der Annahme, ordnet Suchen mit gleicher Frist im Prüfbestand. Unter der Sperre.
+         */
+        long id;
+        /**
+         * Fortlaufende Nummer des letzten Einreihens, damit sich Suchen mit gleichem Rang abwechseln. Unter der Sperre.
+         */
+        long sequence;
+        /**
+         * Ob die Suche einen Kern zugeteilt bekommen hat. Unter der Sperre.
+         */
+        boolean granted;
+        /**
+         * Die verbrauchte Rechenzeit bis zum Beginn der aktuellen Zeitscheibe; wird unter der Sperre geschrieben.
+         */
+        volatile long usedNanos;
+        /**
+         * Der Beginn der aktuellen Zeitscheibe relativ zum Start des Schedulers oder -1 ohne Kern.
+         */
+        volatile long sliceStart = -1;
+        long checkpoints;
+
+        Task(Bitboard position, Player player, int maxDepth, long deadline, long rank, long moveNanos, long maxNodes) {
+            this.position = position;
+            this.player = player;
+            this.maxDepth = maxDepth;
+            this.deadline = deadline;
+            this.rank = rank;
+            this.moveNanos = moveNanos;
+            this.maxCheckpoints = Math.max(1, maxNodes / NODES_PER_CHECKPOINT);
+        }
+
+        /**
+         * @return die noch benötigte Rechenzeit, geschätzt aus den Zeitscheiben bis jetzt.
+         */
+        long remaining(long now) {
+            long start = sliceStart;
+            long used = usedNanos + (start < 0 ? 0 : now - start);
+            return Math.max(0, moveNanos - used);
+        }
+
+        void run() {
+            SearchResult result = null;
+            RuntimeException failure = null;
+            acquire();
+            // Erst mit dem Kern eine Instanz nehmen; sie bleibt bis zum Ende bei der Suche, auch wenn diese wartet
+            SearchEngine engine = idleEngines.poll();
+            try {
+                if (engine == null) {
+                    engine = new SearchEngine(evaluator, transpositionTable);
+                }
+                engine.getMoveOrdering().newSearch();
+                result = engine.searchUntil(position, player, deadline, maxDepth, 0, stop, this::checkpoint);
+            } catch (RuntimeException e) {
+                failure = e;
+            } finally {
+                if (engine != null) {
+                    idleEngines.add(engine);
+                }
+                finish();
+            }
+            if (failure != null) {
+                future.completeExceptionally(failure);
+            } else {
+                future.complete(result);
+            }
+        }
+
+        /**
+         * Wartet, bis der Suche ein Kern zugeteilt ist.
+         */
+        private void acquire() {
+            lock.lock();
+            try {
+                awaitTurn();
+                sliceStart = System.nanoTime() - origin;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void awaitTurn() {
+            while (!granted) {
+                // Nicht unterbrechbar: Der Kern wird genau einmal übergeben und muss genommen werden
+                turn.awaitUninterruptibly();
+            }
+        }
+
+        /**
+         * Wird alle 256 Knoten aus der Suche aufgerufen. Beendet die Suche bei erreichtem Budget und gibt den Kern
+         * ab, wenn eine wartende Suche Vorrang hat.
+         */
+        void checkpoint() {
+            if (++checkpoints >= maxCheckpoints || closed || future.isCancelled()) {
+                stop.set(true);
+                return;
+            }
+            long now = System.nanoTime() - origin;
+            long start = sliceStart;
+            if (usedNanos + now - start >= moveNanos) {
+                stop.set(true);
+                return;
+            }
+            Task first = head;
+            if (first == null || first.rank > rank || first.rank == rank && now - start < sliceNanos) {
+                return;
+            }
+            lock.lock();
+            try {
+                first = waiting.peek();
+                if (first == null || first.rank > rank) {
+                    return;
+                }
+                usedNanos += now - start;
+                sliceStart = -1;
+                handOver();
+                granted = false;
+                sequence = nextSequence++;
+                waiting.add(this);
+                updateHead();
+                awaitTurn();
+                sliceStart = System.nanoTime() - origin;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void finish() {
+            long end = System.nanoTime();
+            lock.lock();
+            try {
+                long start = sliceStart;
+                if (start >= 0) {
+                    usedNanos += end - origin - start;
+                    sliceStart = -1;
+                    handOver();
+                }
+                if (rank != NO_DEADLINE) {
+                    timed.remove(this);
+                    if (stop.get()) {
+                        // Nur Suchen, die an ihrer Rechenzeit abgebrochen wurden, zeigen das Überziehen
+                        long overrun = Math.max(0, usedNanos - moveNanos);
+                        overrunNanos += (overrun - overrunNanos) / OVERRUN_WEIGHT;
+                    }
+                    if (end - deadline > 0) {
+                        deadlineMisses++;
+                    }
+                }
+                pending--;
+                completed++;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Lässt viele Partien gleichzeitig einen Zug anfordern und gibt die Zahlen des Schedulers aus.
+     * Argumente: Anzahl Suchen, Rechenzeit pro Suche in ms, Frist in ms.
+     */
+    public static void main(String[] args) {
+        int searches = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        long moveNanos = (args.length > 1 ? Long.parseLong(args[1]) : 5) * 1_000_000L;
+        long deadlineNanos = (args.length > 2 ? Long.parseLong(args[2]) : 2000) * 1_000_000L;
+        Bitboard start = Bitboard.fromBoard(new Reversi().getBoard());
+
+        try (SearchScheduler scheduler = new SearchScheduler()) {
+            List<CompletableFuture<SearchResult>> futures = new ArrayList<>(searches);
+            long startTime = System.nanoTime();
+            for (int i = 0; i < searches; i++) {
+                try {
+                    futures.add(scheduler.submitTimed(start, Player.BLACK, moveNanos, deadlineNanos,
+                            SearchEngine.MAX_PLY));
+                } catch (RejectedExecutionException e) {
+                    // Wird im Zähler des Schedulers sichtbar
+                }
+            }
+            long nodes = 0;
+            for (CompletableFuture<SearchResult> future : futures) {
+                nodes += future.join().getNodes();
+            }
+            double seconds = (System.nanoTime() - startTime) / 1e9;
+            System.out.printf("Dauer: %.3f s, Knoten/s: %,.0f%n%s%n", seconds, nodes / seconds, scheduler);
+        }
+    }
+}
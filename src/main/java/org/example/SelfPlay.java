@@ -0,0 +1,166 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Spielt Partien zwischen zwei Computerstrategien ohne Konsole, verteilt auf einen Thread-Pool.
+ * Jeder Thread hat eigene Strategien, Zugpuffer und ein eigenes Latenzhistogramm; in der Spielschleife gibt es
+ * weder Ein- noch Ausgabe. Fertige Partien gehen an einen optionalen Empfänger, etwa zum Schreiben von
+ * Trainingsdaten.
+ */
+public class SelfPlay {
+    private final Supplier<MoveStrategy> black;
+    private final Supplier<MoveStrategy> white;
+    private final int threads;
+    private final Consumer<SelfPlayGame> listener;
+
+    /**
+     * @param black erzeugt die Strategie für Schwarz, einmal pro Thread.
+     * @param white erzeugt die Strategie für Weiß, einmal pro Thread.
+     * @param threads die Anzahl der Threads.
+     * @param listener erhält jede fertige Partie; wird aus mehreren Threads aufgerufen.
+     */
+    public SelfPlay(Supplier<MoveStrategy> black, Supplier<MoveStrategy> white, int threads, Consumer<SelfPlayGame> listener) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Anzahl der Threads muss positiv sein: " + threads);
+        }
+        this.black = black;
+        this.white = white;
+        this.threads = threads;
+        this.listener = listener;
+    }
+
+    public SelfPlay(Supplier<MoveStrategy> black, Supplier<MoveStrategy> white, int threads) {
+        this(black, white, threads, game -> {
+        });
+    }
+
+    /**
+     * Spielt die angegebene Anzahl Partien aus der Startaufstellung.
+     *
+     * @param games die Anzahl der Partien.
+     * @return die Zusammenfassung des Laufs.
+     */
+    public SelfPlayReport run(int games) {
+        AtomicInteger nextGame = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long startTime = System.nanoTime();
+        List<Future<Worker>> futures = new ArrayList<>(threads);
+        try {
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    Worker worker = new Worker(black.get(), white.get());
+                    while (nextGame.getAndIncrement() < games) {
+                        listener.accept(worker.play());
+                    }
+                    return worker;
+                }));
+            }
+
+            LatencyHistogram latencies = new LatencyHistogram();
+            int[] wins = new int[Player.values().length];
+            for (Future<Worker> future : futures) {
+                Worker worker = future.get();
+                latencies.add(worker.latencies);
+                for (int i = 0; i < wins.length; i++) {
+                    wins[i] += worker.wins[i];
+                }
+            }
+            return new SelfPlayReport(games, wins[Player.BLACK.ordinal()], wins[Player.WHITE.ordinal()],
+                    wins[Player.NONE.ordinal()], System.nanoTime() - startTime, latencies);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Partie fehlgeschlagen", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Selbstspiel unterbrochen", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Spielt eine Partie aus der Startaufstellung. Das Spiel endet, wenn der Spieler am Zug keinen Zug hat.
+     *
+     * @param black die Strategie für Schwarz.
+     * @param white die Strategie für Weiß.
+     * @return die Partie.
+     */
+    public static SelfPlayGame playGame(MoveStrategy black, MoveStrategy white) {
+        return new Worker(black, white).play();
+    }
+
+    private static final class Worker {
+        private final MoveStrategy black;
+        private final MoveStrategy white;
+        private final MoveBuffer legalMoves = new MoveBuffer();
+        private final int[] moves = new int[Bitboard.SQUARES];
+        private final LatencyHistogram latencies = new LatencyHistogram();
+        private final int[] wins = new int[Player.values().length];
+        private final long startBlack;
+        private final long startWhite;
+
+        Worker(MoveStrategy black, MoveStrategy white) {
+            this.black = black;
+            this.white = white;
+            Bitboard start = Bitboard.fromBoard(new Reversi().getBoard());
+            startBlack = start.getBlack();
+            startWhite = start.getWhite();
+        }
+
+        SelfPlayGame play() {
+            long own = startBlack;
+            long opp = startWhite;
+            Player player = Player.BLACK;
+            int count = 0;
+
+            while (Bitboard.generateMoves(own, opp, legalMoves) > 0) {
+                MoveStrategy strategy = player == Player.BLACK ? black : white;
+                long startTime = System.nanoTime();
+                int move = strategy.selectMove(own, opp, player, legalMoves);
+                latencies.record(System.nanoTime() - startTime);
+
+                long flipped = Bitboard.flips(PackedMove.start(move), PackedMove.end(move));
+                long next = opp & ~flipped;
+                opp = own | flipped;
+                own = next;
+                moves[count++] = move;
+                player = player.getOpponent();
+            }
+
+            long blackDiscs = player == Player.BLACK ? own : opp;
+            long whiteDiscs = player == Player.BLACK ? opp : own;
+            SelfPlayGame game = new SelfPlayGame(Arrays.copyOf(moves, count),
+                    Long.bitCount(blackDiscs), Long.bitCount(whiteDiscs));
+            wins[game.getWinner().ordinal()]++;
+            return game;
+        }
+    }
+
+    /**
+     * Startet einen Lauf ohne Konsolenausgabe während der Partien.
+     * Argumente: Anzahl Partien, Anzahl Threads, Strategie Schwarz, Strategie Weiß
+     * (jeweils "random", "greedy" oder "search:&lt;ms&gt;").
+     */
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        String blackName = args.length > 2 ? args[2] : "random";
+        String whiteName = args.length > 3 ? args[3] : "greedy";
+        AtomicInteger seeds = new AtomicInteger();
+
+        SelfPlay selfPlay = new SelfPlay(
+                () -> MoveStrategy.byName(blackName, seeds.incrementAndGet()),
+                () -> MoveStrategy.byName(whiteName, seeds.incrementAndGet()),
+                threads);
+        System.out.println(selfPlay.run(games));
+    }
+}
@@ -0,0 +1,41 @@
+package org.example;
+
+/**
+ * Eine abgeschlossene Partie der {@link SelfPlay}: die gepackten Züge in Spielreihenfolge und das Endergebnis.
+ * Schwarz zieht zuerst, danach wechseln sich die Spieler ab.
+ */
+public final class SelfPlayGame {
+    private final int[] moves;
+    private final int blackDiscs;
+    private final int whiteDiscs;
+
+    SelfPlayGame(int[] moves, int blackDiscs, int whiteDiscs) {
+        this.moves = moves;
+        this.blackDiscs = blackDiscs;
+        this.whiteDiscs = whiteDiscs;
+    }
+
+    /**
+     * @return die gepackten Züge; das Array darf nicht verändert werden.
+     */
+    public int[] getMoves() {
+        return moves;
+    }
+
+    public int getBlackDiscs() {
+        return blackDiscs;
+    }
+
+    public int getWhiteDiscs() {
+        return whiteDiscs;
+    }
+
+    /**
+     * @return der Gewinner oder NONE bei Unentschieden.
+     */
+    public Player getWinner() {
+        if (blackDiscs > whiteDiscs) return Player.BLACK;
+        if (whiteDiscs > blackDiscs) return Player.WHITE;
+        return Player.NONE;
+    }
+}
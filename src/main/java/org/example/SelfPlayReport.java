@@ -0,0 +1,66 @@
+package org.example;
+
+/**
+ * Zusammenfassung eines Laufs der {@link SelfPlay}.
+ */
+public final class SelfPlayReport {
+    private final int games;
+    private final int blackWins;
+    private final int whiteWins;
+    private final int draws;
+    private final long nanos;
+    private final LatencyHistogram moveLatencies;
+
+    SelfPlayReport(int games, int blackWins, int whiteWins, int draws, long nanos, LatencyHistogram moveLatencies) {
+        this.games = games;
+        this.blackWins = blackWins;
+        this.whiteWins = whiteWins;
+        this.draws = draws;
+        this.nanos = nanos;
+        this.moveLatencies = moveLatencies;
+    }
+
+    public int getGames() {
+        return games;
+    }
+
+    public int getBlackWins() {
+        return blackWins;
+    }
+
+    public int getWhiteWins() {
+        return whiteWins;
+    }
+
+    public int getDraws() {
+        return draws;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    public double getGamesPerSecond() {
+        return nanos == 0 ? 0 : games * 1e9 / nanos;
+    }
+
+    /**
+     * @return die Bedenkzeiten aller Züge in Nanosekunden.
+     */
+    public LatencyHistogram getMoveLatencies() {
+        return moveLatencies;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Partien: %d (Schwarz %d, Weiß %d, unentschieden %d)%n"
+                        + "Dauer: %.3f s, Partien/s: %.1f%n"
+                        + "Züge: %d, Bedenkzeit p50 %d ns, p90 %d ns, p99 %d ns, p99.9 %d ns, max %d ns",
+                games, blackWins, whiteWins, draws,
+                nanos / 1e9, getGamesPerSecond(),
+                moveLatencies.getCount(),
+                moveLatencies.getValueAtPercentile(50), moveLatencies.getValueAtPercentile(90),
+                moveLatencies.getValueAtPercentile(99), moveLatencies.getValueAtPercentile(99.9),
+                moveLatencies.getMax());
+    }
+}
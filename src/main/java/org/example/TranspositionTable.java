@@ -0,0 +1,160 @@
+package org.example;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+/**
+ * Transpositionstabelle fester Größe in einem vorab angelegten long-Array.
+ * <p>
+ * Jeder Eintrag belegt zwei longs (Schlüssel und Daten), je zwei Einträge bilden einen Bucket. Der erste Eintrag
+ * eines Buckets wird nur durch tiefere Suchen oder Einträge einer neueren Suche ersetzt, der zweite immer.
+ * Der Speicherbedarf bleibt damit über die gesamte Laufzeit gleich.
+ * <p>
+ * Die Daten enthalten Zug, Bewertung, Tiefe, Art der Schranke und die Generation der Suche.
+ * <p>
+ * Mehrere Suchthreads können die Tabelle ohne Sperren gemeinsam nutzen: Im Schlüsselfeld steht
+ * {@code hash ^ data}, und ein Eintrag gilt nur, wenn beide Hälften zusammenpassen. Überschneiden sich zwei
+ * Schreibzugriffe, wird der halb geschriebene Eintrag beim Lesen als Fehlgriff verworfen.
+ */
+public final class TranspositionTable {
+    public static final int EXACT = 0;
+    public static final int LOWER_BOUND = 1;
+    public static final int UPPER_BOUND = 2;
+
+    /**
+     * Ergebnis von {@link #probe(long)}, wenn die Stellung nicht gespeichert ist.
+     */
+    public static final long MISS = 0;
+
+    private static final int LONGS_PER_BUCKET = 4;
+    private static final int BYTES_PER_BUCKET = LONGS_PER_BUCKET * Long.BYTES;
+
+    private static final int MOVE_BITS = 21;
+    private static final int SCORE_SHIFT = MOVE_BITS;
+    private static final int DEPTH_SHIFT = SCORE_SHIFT + 16;
+    private static final int BOUND_SHIFT = DEPTH_SHIFT + 8;
+    private static final int GENERATION_SHIFT = BOUND_SHIFT + 2;
+    private static final long VALID = 1L << 63;
+
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final long[] table;
+    private final int bucketMask;
+    private volatile int generation;
+
+    /**
+     * Erzeugt eine Tabelle, die höchstens die angegebene Speichermenge belegt.
+     * Die Anzahl der Buckets wird auf eine Zweierpotenz abgerundet.
+     *
+     * @param megabytes die Obergrenze in MB.
+     */
+    public TranspositionTable(int megabytes) {
+        if (megabytes <= 0) {
+            throw new IllegalArgumentException("Größe muss positiv sein: " + megabytes);
+        }
+        long buckets = Long.highestOneBit((long) megabytes * 1024 * 1024 / BYTES_PER_BUCKET);
+        buckets = Math.min(buckets, Integer.highestOneBit(Integer.MAX_VALUE / LONGS_PER_BUCKET));
+        table = new long[(int) buckets * LONGS_PER_BUCKET];
+        bucketMask = (int) buckets - 1;
+    }
+
+    /**
+     * Beginnt eine neue Suche. Einträge früherer Suchen werden danach bevorzugt ersetzt.
+     * Bei gemeinsam genutzten Tabellen ruft nur der Thread, der die Suche startet, diese Methode auf.
+     */
+    public void newSearch() {
+        generation = (generation + 1) & 0x3F;
+    }
+
+    public void clear() {
+        Arrays.fill(table, 0);
+        generation = 0;
+    }
+
+    /**
+     * Sucht eine Stellung.
+     *
+     * @param hash der Hashwert der Stellung.
+     * @return die gespeicherten Daten oder {@link #MISS}.
+     */
+    public long probe(long hash) {
+        int index = bucketIndex(hash);
+        long data = read(index, hash);
+        return data != MISS ? data : read(index + 2, hash);
+    }
+
+    /**
+     * Speichert das Ergebnis einer Suche.
+     *
+     * @param hash der Hashwert der Stellung.
+     * @param depth die Suchtiefe.
+     * @param bound die Art der Schranke ({@link #EXACT}, {@link #LOWER_BOUND}, {@link #UPPER_BOUND}).
+     * @param score die Bewertung.
+     * @param move der beste Zug oder {@link SearchEngine#NO_MOVE}.
+     */
+    public void store(long hash, int depth, int bound, int score, int move) {
+        int currentGeneration = generation;
+        int index = bucketIndex(hash);
+        long data = pack(currentGeneration, depth, bound, score, move);
+        long stored = (long) SLOTS.getOpaque(table, index + 1);
+        long storedHash = (long) SLOTS.getOpaque(table, index) ^ stored;
+
+        if (stored == MISS || storedHash == hash || depth >= depth(stored) || generation(stored) != currentGeneration) {
+            write(index, hash, data);
+        } else {
+            write(index + 2, hash, data);
+        }
+    }
+
+    private long read(int index, long hash) {
+        long data = (long) SLOTS.getOpaque(table, index + 1);
+        long key = (long) SLOTS.getOpaque(table, index);
+        return data != MISS && (key ^ data) == hash ? data : MISS;
+    }
+
+    private void write(int index, long hash, long data) {
+        SLOTS.setOpaque(table, index, hash ^ data);
+        SLOTS.setOpaque(table, index + 1, data);
+    }
+
+    /**
+     * @return die Anzahl der Einträge, die die Tabelle fasst.
+     */
+    public int capacity() {
+        return table.length / 2;
+    }
+
+    public static int depth(long data) {
+        return (int) (data >>> DEPTH_SHIFT) & 0xFF;
+    }
+
+    public static int bound(long data) {
+        return (int) (data >>> BOUND_SHIFT) & 0x3;
+    }
+
+    public static int score(long data) {
+        return (short) (data >>> SCORE_SHIFT);
+    }
+
+    public static int move(long data) {
+        return (int) (data & ((1L << MOVE_BITS) - 1)) - 1;
+    }
+
+    private static int generation(long data) {
+        return (int) (data >>> GENERATION_SHIFT) & 0x3F;
+    }
+
+    private static long pack(int generation, int depth, int bound, int score, int move) {
+        return VALID
+                | (long) generation << GENERATION_SHIFT
+                | (long) bound << BOUND_SHIFT
+                | (long) depth << DEPTH_SHIFT
+                | ((long) score & 0xFFFF) << SCORE_SHIFT
+                | (long) (move + 1);
+    }
+
+    private int bucketIndex(long hash) {
+        return ((int) (hash ^ hash >>> 32) & bucketMask) * LONGS_PER_BUCKET;
+    }
+}
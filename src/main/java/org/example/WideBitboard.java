@@ -0,0 +1,406 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * Stellt eine Stellung beliebiger Brettgröße bis {@link PackedMove#MAX_SQUARES} Feldern in vier 64-Bit-Wörtern
+ * je Spieler dar. Das Feld (x, y) eines Bretts der Breite {@code width} entspricht dem Bit {@code y * width + x},
+ * gezählt über die Wörter hinweg; so passen die Feldindizes zu {@link PackedMove}.
+ * <p>
+ * Die Zuggenerierung arbeitet wie bei {@link Bitboard} mit Schiebe- und Maskenoperationen, nur über vier Wörter.
+ * Sie hält die Wörter in lokalen Variablen und erzeugt keine Objekte. Für 8x8-Bretter ist {@link Bitboard}
+ * schneller; {@link MoveValidator} verwendet diese Klasse daher nur für die übrigen Größen.
+ */
+public final class WideBitboard {
+    public static final int WORDS = 4;
+    /**
+     * Die größte Breite: Ein Schritt in eine Richtung verschiebt um höchstens {@code width + 1} Bits, das muss
+     * kleiner als ein Wort bleiben.
+     */
+    public static final int MAX_WIDTH = 62;
+
+    private static final int MAX_SQUARES = WORDS * Long.SIZE;
+
+    /**
+     * Je Breite die Masken ohne erste bzw. letzte Spalte, über alle Wörter.
+     */
+    private static final long[][] NOT_FIRST_COLUMN = new long[MAX_WIDTH + 1][WORDS];
+    private static final long[][] NOT_LAST_COLUMN = new long[MAX_WIDTH + 1][WORDS];
+
+    static {
+        for (int width = 1; width <= MAX_WIDTH; width++) {
+            for (int square = 0; square < MAX_SQUARES; square++) {
+                long bit = 1L << square;
+                if (square % width != 0) {
+                    NOT_FIRST_COLUMN[width][square >>> 6] |= bit;
+                }
+                if (square % width != width - 1) {
+                    NOT_LAST_COLUMN[width][square >>> 6] |= bit;
+                }
+            }
+        }
+    }
+
+    private final int width;
+    private final int height;
+    private final long[] black;
+    private final long[] white;
+
+    private WideBitboard(int width, int height, long[] black, long[] white) {
+        this.width = width;
+        this.height = height;
+        this.black = black;
+        this.white = white;
+    }
+
+    /**
+     * Prüft, ob ein Brett als WideBitboard dargestellt werden kann.
+     *
+     * @param board das Reversi-Brett.
+     * @return true, wenn das Brett höchstens {@link PackedMove#MAX_SQUARES} Felder und {@link #MAX_WIDTH} Spalten hat.
+     */
+    public static boolean fits(Player[][] board) {
+        int width = board[0].length;
+        return width <= MAX_WIDTH && board.length * width <= MAX_SQUARES;
+    }
+
+    /**
+     * Wandelt ein Brett in ein WideBitboard um.
+     *
+     * @param board das Reversi-Brett, siehe {@link #fits(Player[][])}.
+     * @return die Stellung als WideBitboard.
+     */
+    public static WideBitboard fromBoard(Player[][] board) {
+        if (!fits(board)) {
+            throw new IllegalArgumentException("Brett mit " + board.length + "x" + board[0].length
+                    + " Feldern passt nicht in " + MAX_SQUARES + " Bits");
+        }
+        long[] black = new long[WORDS];
+        long[] white = new long[WORDS];
+        for (int word = 0; word < WORDS; word++) {
+            black[word] = mask(board, Player.BLACK, word);
+            white[word] = mask(board, Player.WHITE, word);
+        }
+        return new WideBitboard(board[0].length, board.length, black, white);
+    }
+
+    /**
+     * Liefert ein Wort der Maske der Felder eines Spielers.
+     *
+     * @param board das Reversi-Brett.
+     * @param player der Spieler.
+     * @param word der Index des Worts.
+     * @return die Bits der Felder {@code 64 * word} bis {@code 64 * word + 63}.
+     */
+    static long mask(Player[][] board, Player player, int word) {
+        int width = board[0].length;
+        int first = word * Long.SIZE;
+        int last = Math.min(board.length * width, first + Long.SIZE);
+        long bits = 0;
+        int x = first % width;
+        Player[] row = first < last ? board[first / width] : null;
+        for (int square = first; square < last; square++) {
+            bits |= (row[x] == player ? 1L : 0L) << square;
+            if (++x == width && square + 1 < last) {
+                x = 0;
+                row = board[(square + 1) / width];
+            }
+        }
+        return bits;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Berechne die Punktzahl des Spielers
+     *
+     * @param player Spieler, für NONE die Anzahl der leeren Felder
+     * @return Punktzahl
+     */
+    public int score(Player player) {
+        int count = 0;
+        for (int word = 0; word < WORDS; word++) {
+            count += Long.bitCount(player == Player.BLACK ? black[word] : player == Player.WHITE ? white[word]
+                    : ~(black[word] | white[word]) & inside(word));
+        }
+        return count;
+    }
+
+    /**
+     * Schreibt alle möglichen Züge eines Spielers als gepackte Züge in einen Puffer. Der Puffer wird vorher geleert.
+     *
+     * @param player der ziehende Spieler.
+     * @param moves der Puffer für die Züge.
+     * @return die Anzahl der Züge.
+     */
+    public int generateMoves(Player player, MoveBuffer moves) {
+        long[] own = player == Player.BLACK ? black : white;
+        long[] opp = player == Player.BLACK ? white : black;
+        return generateMoves(width,
+                own[0], own[1], own[2], own[3],
+                opp[0], opp[1], opp[2], opp[3],
+                ~(own[0] | opp[0]) & inside(0), ~(own[1] | opp[1]) & inside(1),
+                ~(own[2] | opp[2]) & inside(2), ~(own[3] | opp[3]) & inside(3),
+                moves);
+    }
+
+    /**
+     * Schreibt alle möglichen Züge direkt aus einem Brett in einen Puffer, ohne ein WideBitboard anzulegen.
+     * Wie bei der feldweisen Suche müssen Start- und Endfeld genau {@code player} bzw. {@link Player#NONE} sein.
+     *
+     * @param board das Reversi-Brett, siehe {@link #fits(Player[][])}.
+     * @param player der ziehende Spieler.
+     * @param moves der Puffer für die Züge.
+     * @return die Anzahl der Züge.
+     */
+    static int generateMoves(Player[][] board, Player player, MoveBuffer moves) {
+        Player opponent = player.getOpponent();
+        int width = board[0].length;
+        long own0 = 0, own1 = 0, own2 = 0, own3 = 0;
+        long opp0 = 0, opp1 = 0, opp2 = 0, opp3 = 0;
+        long empty0 = 0, empty1 = 0, empty2 = 0, empty3 = 0;
+        long rowMask = (1L << width) - 1;
+        // Zeilenweise: erst die Bits einer Zeile sammeln, dann an ihre Stelle in den Wörtern schieben
+        for (int y = 0; y < board.length; y++) {
+            // Ohne Verzweigungen über die Ordinalzahl: NONE 0, BLACK 1, WHITE 2
+            Player[] row = board[y];
+            long blackRow = 0;
+            long whiteRow = 0;
+            for (int x = 0; x < width; x++) {
+                int ordinal = row[x].ordinal();
+                blackRow |= (long) (ordinal & 1) << x;
+                whiteRow |= (long) (ordinal >>> 1) << x;
+            }
+            long emptyRow = ~(blackRow | whiteRow) & rowMask;
+            long ownRow = player == Player.BLACK ? blackRow : player == Player.WHITE ? whiteRow : emptyRow;
+            long oppRow = opponent == Player.BLACK ? blackRow : whiteRow;
+            int offset = y * width;
+            own0 |= place(ownRow, offset, 0);
+            own1 |= place(ownRow, offset, 1);
+            own2 |= place(ownRow, offset, 2);
+            own3 |= place(ownRow, offset, 3);
+            opp0 |= place(oppRow, offset, 0);
+            opp1 |= place(oppRow, offset, 1);
+            opp2 |= place(oppRow, offset, 2);
+            opp3 |= place(oppRow, offset, 3);
+            empty0 |= place(emptyRow, offset, 0);
+            empty1 |= place(emptyRow, offset, 1);
+            empty2 |= place(emptyRow, offset, 2);
+            empty3 |= place(emptyRow, offset, 3);
+        }
+        return generateMoves(width, own0, own1, own2, own3, opp0, opp1, opp2, opp3,
+                empty0, empty1, empty2, empty3, moves);
+    }
+
+    /**
+     * Liefert den Teil einer Zeilenmaske, der in ein Wort fällt, wenn die Zeile beim Feld {@code offset} beginnt.
+     * Eine Zeile ist höchstens {@link #MAX_WIDTH} Felder breit und liegt daher in höchstens zwei Wörtern.
+     */
+    private static long place(long rowBits, int offset, int word) {
+        int shift = offset - word * Long.SIZE;
+        if (shift >= 0) {
+            return shift < Long.SIZE ? rowBits << shift : 0;
+        }
+        return -shift < Long.SIZE ? rowBits >>> -shift : 0;
+    }
+
+    /**
+     * Führt einen gepackten Zug aus und liefert die neue Stellung. Der Zug wird nicht geprüft.
+     *
+     * @param move der gepackte Zug.
+     * @param player der ziehende Spieler.
+     * @return die Stellung nach dem Zug.
+     */
+    public WideBitboard play(int move, Player player) {
+        long[] nextBlack = black.clone();
+        long[] nextWhite = white.clone();
+        long[] own = player == Player.BLACK ? nextBlack : nextWhite;
+        long[] opp = player == Player.BLACK ? nextWhite : nextBlack;
+        int end = PackedMove.end(move);
+        int step = step(width, PackedMove.direction(move));
+        for (int square = PackedMove.start(move) + step; ; square += step) {
+            own[square >>> 6] |= 1L << square;
+            opp[square >>> 6] &= ~(1L << square);
+            if (square == end) {
+                break;
+            }
+        }
+        return new WideBitboard(width, height, nextBlack, nextWhite);
+    }
+
+    /**
+     * Wandelt das WideBitboard in ein Brett um.
+     *
+     * @return das Reversi-Brett.
+     */
+    public Player[][] toBoard() {
+        Player[][] board = new Player[height][width];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int square = y * width + x;
+                long bit = 1L << square;
+                board[y][x] = (black[square >>> 6] & bit) != 0 ? Player.BLACK
+                        : (white[square >>> 6] & bit) != 0 ? Player.WHITE : Player.NONE;
+            }
+        }
+        return board;
+    }
+
+    /**
+     * Die Bits eines Worts, die zu einem Feld des Bretts gehören.
+     */
+    private long inside(int word) {
+        return inside(width * height, word);
+    }
+
+    private static long inside(int squares, int word) {
+        int bits = squares - word * Long.SIZE;
+        return bits >= Long.SIZE ? -1L : bits <= 0 ? 0 : (1L << bits) - 1;
+    }
+
+    private static int step(int width, Direction dir) {
+        return dir.stepValueY * width + dir.stepValueX;
+    }
+
+    private static int generateMoves(int width,
+                                     long own0, long own1, long own2, long own3,
+                                     long opp0, long opp1, long opp2, long opp3,
+                                     long empty0, long empty1, long empty2, long empty3,
+                                     MoveBuffer moves) {
+        moves.clear();
+        for (Direction dir : Bitboard.DIRECTIONS) {
+            int step = step(width, dir);
+            long[] wrap = dir.stepValueX > 0 ? NOT_FIRST_COLUMN[width] : dir.stepValueX < 0 ? NOT_LAST_COLUMN[width] : null;
+            // Gegnerische und leere Felder, auf die ein Schritt in diese Richtung führen darf, ohne über den
+            // Rand in die nächste Zeile zu laufen
+            long o0 = opp0, o1 = opp1, o2 = opp2, o3 = opp3;
+            long e0 = empty0, e1 = empty1, e2 = empty2, e3 = empty3;
+            if (wrap != null) {
+                o0 &= wrap[0];
+                o1 &= wrap[1];
+                o2 &= wrap[2];
+                o3 &= wrap[3];
+                e0 &= wrap[0];
+                e1 &= wrap[1];
+                e2 &= wrap[2];
+                e3 &= wrap[3];
+            }
+
+            // Lückenlose Reihen gegnerischer Steine, die an einem eigenen Stein beginnen, so lange verlängern,
+            // bis sie nicht mehr wachsen; dann liefert ein weiterer Schritt auf ein leeres Feld die Endfelder
+            long run0, run1, run2, run3;
+            long target0, target1, target2, target3;
+            if (step > 0) {
+                int up = step;
+                int down = Long.SIZE - step;
+                run0 = own0 << up & o0;
+                run1 = (own1 << up | own0 >>> down) & o1;
+                run2 = (own2 << up | own1 >>> down) & o2;
+                run3 = (own3 << up | own2 >>> down) & o3;
+                while (true) {
+                    long next0 = run0 | run0 << up & o0;
+                    long next1 = run1 | (run1 << up | run0 >>> down) & o1;
+                    long next2 = run2 | (run2 << up | run1 >>> down) & o2;
+                    long next3 = run3 | (run3 << up | run2 >>> down) & o3;
+                    if (next0 == run0 && next1 == run1 && next2 == run2 && next3 == run3) {
+                        break;
+                    }
+                    run0 = next0;
+                    run1 = next1;
+                    run2 = next2;
+                    run3 = next3;
+                }
+                target0 = run0 << up & e0;
+                target1 = (run1 << up | run0 >>> down) & e1;
+                target2 = (run2 << up | run1 >>> down) & e2;
+                target3 = (run3 << up | run2 >>> down) & e3;
+            } else {
+                int down = -step;
+                int up = Long.SIZE + step;
+                run0 = (own0 >>> down | own1 << up) & o0;
+                run1 = (own1 >>> down | own2 << up) & o1;
+                run2 = (own2 >>> down | own3 << up) & o2;
+                run3 = own3 >>> down & o3;
+                while (true) {
+                    long next0 = run0 | (run0 >>> down | run1 << up) & o0;
+                    long next1 = run1 | (run1 >>> down | run2 << up) & o1;
+                    long next2 = run2 | (run2 >>> down | run3 << up) & o2;
+                    long next3 = run3 | run3 >>> down & o3;
+                    if (next0 == run0 && next1 == run1 && next2 == run2 && next3 == run3) {
+                        break;
+                    }
+                    run0 = next0;
+                    run1 = next1;
+                    run2 = next2;
+                    run3 = next3;
+                }
+                target0 = (run0 >>> down | run1 << up) & e0;
+                target1 = (run1 >>> down | run2 << up) & e1;
+                target2 = (run2 >>> down | run3 << up) & e2;
+                target3 = run3 >>> down & e3;
+            }
+
+            addMoves(target0, 0, step, dir, opp0, opp1, opp2, opp3, moves);
+            addMoves(target1, Long.SIZE, step, dir, opp0, opp1, opp2, opp3, moves);
+            addMoves(target2, 2 * Long.SIZE, step, dir, opp0, opp1, opp2, opp3, moves);
+            addMoves(target3, 3 * Long.SIZE, step, dir, opp0, opp1, opp2, opp3, moves);
+        }
+        return moves.size();
+    }
+
+    /**
+     * Geht von jedem Endfeld eines Worts entgegen der Zugrichtung über die gegnerischen Steine zum Startfeld zurück
+     * und schreibt den Zug in den Puffer.
+     */
+    private static void addMoves(long targets, int firstSquare, int step, Direction dir,
+                                 long opp0, long opp1, long opp2, long opp3, MoveBuffer moves) {
+        while (targets != 0) {
+            int end = firstSquare + Long.numberOfTrailingZeros(targets);
+            targets &= targets - 1;
+            int start = end - step;
+            while ((word(opp0, opp1, opp2, opp3, start >>> 6) & 1L << start) != 0) {
+                start -= step;
+            }
+            moves.add(PackedMove.pack(start, end, dir));
+        }
+    }
+
+    private static long word(long w0, long w1, long w2, long w3, int word) {
+        switch (word) {
+            case 0:
+                return w0;
+            case 1:
+                return w1;
+            case 2:
+                return w2;
+            default:
+                return w3;
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        WideBitboard that = (WideBitboard) o;
+        return width == that.width && height == that.height
+                && Arrays.equals(black, that.black) && Arrays.equals(white, that.white);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(black) + Arrays.hashCode(white);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("WideBitboard{%dx%d, black=%016x%016x%016x%016x, white=%016x%016x%016x%016x}",
+                width, height, black[3], black[2], black[1], black[0], white[3], white[2], white[1], white[0]);
+    }
+}
@@ -0,0 +1,116 @@
+package org.example;
+
+import java.util.SplittableRandom;
+
+/**
+ * Zobrist-Schlüssel für Stellungen mit bis zu {@link PackedMove#MAX_SQUARES} Feldern: ein Zufallswert pro Feld und
+ * Farbe sowie einer für Weiß am Zug. Das Feld (x, y) hat auf einem Brett der Breite {@code width} den Index
+ * {@code y * width + x}, auf 8x8-Brettern also denselben wie bei {@link Bitboard}.
+ * Der Hashwert einer Stellung ist das XOR der Schlüssel aller besetzten Felder und lässt sich daher bei jedem
+ * Zug schrittweise aktualisieren.
+ */
+public final class Zobrist {
+    /**
+     * Schlüssel, der eingerechnet wird, wenn Weiß am Zug ist.
+     */
+    public static final long WHITE_TO_MOVE;
+
+    private static final long[] BLACK = new long[PackedMove.MAX_SQUARES];
+    private static final long[] WHITE = new long[PackedMove.MAX_SQUARES];
+    private static final long[] FLIP = new long[PackedMove.MAX_SQUARES];
+
+    static {
+        // Fester Startwert, damit Hashwerte über Läufe und JVMs hinweg gleich bleiben
+        SplittableRandom random = new SplittableRandom(0x5EED_0F_4E7E451L);
+        for (int square = 0; square < Bitboard.SQUARES; square++) {
+            BLACK[square] = random.nextLong();
+            WHITE[square] = random.nextLong();
+            FLIP[square] = BLACK[square] ^ WHITE[square];
+        }
+        WHITE_TO_MOVE = random.nextLong();
+        // Die Felder größerer Bretter erst danach, damit die 8x8-Schlüssel (und damit gespeicherte Eröffnungsbücher)
+        // gleich bleiben
+        for (int square = Bitboard.SQUARES; square < PackedMove.MAX_SQUARES; square++) {
+            BLACK[square] = random.nextLong();
+            WHITE[square] = random.nextLong();
+            FLIP[square] = BLACK[square] ^ WHITE[square];
+        }
+    }
+
+    private Zobrist() {
+    }
+
+    /**
+     * Liefert den Schlüssel eines Felds für einen Spieler; für NONE ist er 0.
+     *
+     * @param player der Spieler.
+     * @param square der Feldindex {@code y * width + x}.
+     * @return der Schlüssel.
+     */
+    public static long key(Player player, int square) {
+        if (player == Player.BLACK) return BLACK[square];
+        if (player == Player.WHITE) return WHITE[square];
+        return 0;
+    }
+
+    /**
+     * Berechnet den Hashwert einer Stellung vollständig.
+     *
+     * @param black die schwarzen Steine.
+     * @param white die weißen Steine.
+     * @return der Hashwert.
+     */
+    public static long hash(long black, long white) {
+        long hash = 0;
+        while (black != 0) {
+            hash ^= BLACK[Long.numberOfTrailingZeros(black)];
+            black &= black - 1;
+        }
+        while (white != 0) {
+            hash ^= WHITE[Long.numberOfTrailingZeros(white)];
+            white &= white - 1;
+        }
+        return hash;
+    }
+
+    /**
+     * Berechnet den Hashwert eines Bretts vollständig.
+     *
+     * @param board das Reversi-Brett mit höchstens {@link PackedMove#MAX_SQUARES} Feldern.
+     * @return der Hashwert.
+     */
+    public static long hash(Player[][] board) {
+        if (Bitboard.fits(board)) {
+            return hash(Bitboard.mask(board, Player.BLACK), Bitboard.mask(board, Player.WHITE));
+        }
+        int width = board[0].length;
+        if (board.length * width > PackedMove.MAX_SQUARES) {
+            throw new IllegalArgumentException("Brett hat mehr als " + PackedMove.MAX_SQUARES + " Felder");
+        }
+        long hash = 0;
+        for (int y = 0; y < board.length; y++) {
+            for (int x = 0; x < width; x++) {
+                hash ^= key(board[y][x], y * width + x);
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Liefert die Änderung des Hashwerts für einen Zug: Die umgedrehten Steine wechseln die Farbe,
+     * das Endfeld wird neu besetzt.
+     *
+     * @param player der ziehende Spieler.
+     * @param flipped die umgedrehten Steine ohne das Endfeld.
+     * @param end das Endfeld.
+     * @return der Wert, mit dem der Hashwert per XOR verknüpft wird.
+     */
+    static long moveDelta(Player player, long flipped, int end) {
+        long delta = key(player, end);
+        while (flipped != 0) {
+            delta ^= FLIP[Long.numberOfTrailingZeros(flipped)];
+            flipped &= flipped - 1;
+        }
+        return delta;
+    }
+}
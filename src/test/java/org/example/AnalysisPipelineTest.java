@@ -0,0 +1,119 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AnalysisPipelineTest {
+
+    /**
+     * Wählt den Zug mit den meisten Steinen und bewertet mit der Standardbewertung; das Ergebnis hängt nur von der
+     * Stellung ab.
+     */
+    private static final PositionAnalyzer GREEDY = position -> {
+        MoveBuffer moves = new MoveBuffer();
+        if (Bitboard.generateMoves(position.own(), position.opp(), moves) == 0) {
+            return new SearchResult(SearchEngine.NO_MOVE, 0, 0, 0, 0);
+        }
+        int move = MoveStrategy.greedy().selectMove(position.own(), position.opp(), position.getPlayer(), moves);
+        return new SearchResult(move, Evaluator.DEFAULT.evaluate(position.own(), position.opp()), 0, 1, 0);
+    };
+
+    @Test
+    void results_keep_input_order_across_chunks() throws IOException {
+        List<String> lines = randomPositionLines(3000);
+        lines.set(17, "kaputt");
+        String input = String.join("\n", lines) + "\n";
+        assertThat(input.length(), greaterThan(2 * AnalysisPipeline.CHUNK_BYTES));
+
+        String output = run(new AnalysisPipeline(() -> GREEDY, 3, 2), input);
+
+        String[] results = output.split("\n");
+        assertThat(results.length, is(lines.size()));
+        assertThat(results[17], startsWith("error"));
+        for (int i = 0; i < lines.size(); i++) {
+            if (i != 17) {
+                assertThat(results[i], is(expected(lines.get(i))));
+            }
+        }
+    }
+
+    @Test
+    void last_line_without_newline_is_analyzed() throws IOException {
+        List<String> lines = randomPositionLines(3);
+
+        String output = run(new AnalysisPipeline(() -> GREEDY, 2, 1), String.join("\r\n", lines));
+
+        assertThat(output.split("\n").length, is(3));
+        assertThat(output.split("\n")[2], is(expected(lines.get(2))));
+    }
+
+    @Test
+    void failing_analyzer_stops_the_pipeline() {
+        AtomicInteger calls = new AtomicInteger();
+        PositionAnalyzer failing = position -> {
+            if (calls.incrementAndGet() > 100) {
+                throw new IllegalStateException("Test");
+            }
+            return GREEDY.analyze(position);
+        };
+        String input = String.join("\n", randomPositionLines(3000));
+
+        assertThrows(IllegalStateException.class, () -> run(new AnalysisPipeline(() -> failing, 2, 2), input));
+    }
+
+    private static String run(AnalysisPipeline pipeline, String input) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        pipeline.run(Channels.newChannel(new ByteArrayInputStream(input.getBytes(StandardCharsets.US_ASCII))),
+                Channels.newChannel(output));
+        return output.toString(StandardCharsets.US_ASCII);
+    }
+
+    private static String expected(String line) {
+        long black = 0;
+        long white = 0;
+        for (int square = 0; square < 64; square++) {
+            if (line.charAt(square) == 'B') black |= 1L << square;
+            if (line.charAt(square) == 'W') white |= 1L << square;
+        }
+        Position position = new Position(black, white, line.charAt(65) == 'B' ? Player.BLACK : Player.WHITE);
+        SearchResult result = GREEDY.analyze(position);
+        Move move = result.getBestMove();
+        String text = move == null ? "--" : "" + (char) ('A' + move.start.getX()) + (char) ('1' + move.start.getY())
+                + '-' + (char) ('A' + move.end.getX()) + (char) ('1' + move.end.getY());
+        return text + " " + result.getScore();
+    }
+
+    private static List<String> randomPositionLines(int count) {
+        SplittableRandom random = new SplittableRandom(9);
+        GameEngine engine = new GameEngine();
+        MoveBuffer moves = new MoveBuffer();
+        List<String> lines = new ArrayList<>();
+        while (lines.size() < count) {
+            Position position = Position.initial();
+            int plies = random.nextInt(60);
+            for (int ply = 0; ply < plies && engine.legalMoves(position, moves) > 0; ply++) {
+                position = engine.play(position, moves.get(random.nextInt(moves.size())));
+            }
+            StringBuilder line = new StringBuilder();
+            for (int square = 0; square < 64; square++) {
+                long bit = 1L << square;
+                line.append((position.getBlack() & bit) != 0 ? 'B' : (position.getWhite() & bit) != 0 ? 'W' : '-');
+            }
+            lines.add(line.append(' ').append(position.getPlayer() == Player.BLACK ? 'B' : 'W').toString());
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,49 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BatchMoveGeneratorTest {
+
+    @Test
+    void masks_and_counts_match_bitboard() {
+        SplittableRandom random = new SplittableRandom(17);
+        int count = 1000;
+        long[] own = new long[count];
+        long[] opp = new long[count];
+        for (int i = 0; i < count; i++) {
+            long occupied = random.nextLong();
+            own[i] = occupied & random.nextLong();
+            opp[i] = occupied & ~own[i];
+        }
+        long[] masks = new long[count];
+        int[] counts = new int[count + 5];
+
+        BatchMoveGenerator.moveMasks(own, opp, count, masks);
+        BatchMoveGenerator.moveCounts(own, opp, count, counts);
+
+        MoveBuffer moves = new MoveBuffer();
+        for (int i = 0; i < count; i++) {
+            assertThat(masks[i], is(Bitboard.targets(own[i], opp[i])));
+            assertThat(counts[i], is(Bitboard.generateMoves(own[i], opp[i], moves)));
+        }
+        assertThat(counts[count], is(0));
+    }
+
+    @Test
+    void start_position_has_four_moves() {
+        long[] own = {Position.initial().getBlack()};
+        long[] opp = {Position.initial().getWhite()};
+        int[] counts = new int[1];
+
+        BatchMoveGenerator.moveCounts(own, opp, 1, counts);
+
+        assertThat(counts[0], is(4));
+        assertThrows(IllegalArgumentException.class, () -> BatchMoveGenerator.moveCounts(own, opp, 2, counts));
+    }
+}
@@ -0,0 +1,93 @@
+package org.example;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class BitboardTest {
+    private Player[][] board;
+
+    @BeforeEach
+    void setUp() {
+        board = new Player[8][8];
+        for (Player[] row : board) {
+            Arrays.fill(row, Player.NONE);
+        }
+
+        // Startaufstellung
+        board[3][3] = Player.WHITE;
+        board[4][4] = Player.WHITE;
+        board[3][4] = Player.BLACK;
+        board[4][3] = Player.BLACK;
+    }
+
+    @Test
+    void fromBoard_roundtrip() {
+        Bitboard bitboard = Bitboard.fromBoard(board);
+
+        assertThat(bitboard.toBoard(), is(board));
+        assertThat(bitboard.score(Player.BLACK), is(2));
+        assertThat(bitboard.score(Player.WHITE), is(2));
+    }
+
+    @Test
+    void findAllMoves_start_position() {
+        Collection<Move> moves = Bitboard.fromBoard(board).findAllMoves(Player.BLACK);
+
+        assertThat(moves, containsInAnyOrder(
+                new Move(Direction.LEFT, new Coordinate(4, 3), new Coordinate(2, 3)),
+                new Move(Direction.UP, new Coordinate(3, 4), new Coordinate(3, 2)),
+                new Move(Direction.RIGHT, new Coordinate(3, 4), new Coordinate(5, 4)),
+                new Move(Direction.DOWN, new Coordinate(4, 3), new Coordinate(4, 5))
+        ));
+    }
+
+    @Test
+    void play_flips_only_the_move_line() {
+        Bitboard bitboard = Bitboard.fromBoard(board)
+                .play(new Move(Direction.LEFT, new Coordinate(4, 3), new Coordinate(2, 3)), Player.BLACK);
+
+        assertThat(bitboard.score(Player.BLACK), is(4));
+        assertThat(bitboard.score(Player.WHITE), is(1));
+        assertThat(bitboard.toBoard()[3][2], is(Player.BLACK));
+        assertThat(bitboard.toBoard()[3][3], is(Player.BLACK));
+        assertThat(bitboard.toBoard()[4][4], is(Player.WHITE));
+    }
+
+    @Test
+    void findAllMoves_matches_moveValidator_on_random_boards() {
+        Random random = new Random(42);
+        MoveValidator moveValidator = new MoveValidator();
+
+        for (int i = 0; i < 1000; i++) {
+            Player[][] randomBoard = new Player[8][8];
+            for (Player[] row : randomBoard) {
+                for (int x = 0; x < row.length; x++) {
+                    row[x] = Player.values()[random.nextInt(3)];
+                }
+            }
+
+            // Ein 8x9-Brett wird Feld für Feld ausgewertet und dient als Referenz
+            Player[][] wideBoard = new Player[8][9];
+            for (int y = 0; y < 8; y++) {
+                wideBoard[y] = Arrays.copyOf(randomBoard[y], 9);
+                wideBoard[y][8] = Player.NONE;
+            }
+            Collection<Move> expected = new HashSet<>();
+            for (Move move : moveValidator.findAllMoves(wideBoard, Player.BLACK)) {
+                if (move.end.getX() < 8) {
+                    expected.add(move);
+                }
+            }
+
+            assertThat(Bitboard.fromBoard(randomBoard).findAllMoves(Player.BLACK), is(expected));
+        }
+    }
+}
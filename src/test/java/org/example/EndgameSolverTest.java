@@ -0,0 +1,94 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class EndgameSolverTest {
+    private final EndgameSolver solver = new EndgameSolver(new TranspositionTable(1));
+
+    @Test
+    void solve_matches_plain_negamax() {
+        SplittableRandom random = new SplittableRandom(5);
+        for (int i = 0; i < 100; i++) {
+            Bitboard position = randomPosition(random, 6 + i % 3);
+            if (Bitboard.generateMoves(position.getBlack(), position.getWhite(), new MoveBuffer()) == 0) {
+                continue;
+            }
+
+            EndgameResult result = solver.solve(position, Player.BLACK);
+
+            int expected = negamax(position.getBlack(), position.getWhite());
+            assertThat(result.getDiscDifference(), is(expected));
+            Move best = result.getBestMove();
+            Bitboard after = position.play(best, Player.BLACK);
+            assertThat(-negamax(after.getWhite(), after.getBlack()), is(expected));
+        }
+    }
+
+    @Test
+    void solve_without_move_ends_the_game() {
+        // Schwarz hat keinen Zug, das Spiel ist vorbei; leere Felder zählen nicht
+        Bitboard position = new Bitboard(0b111L, 1L << 63);
+
+        EndgameResult result = solver.solve(position, Player.BLACK);
+
+        assertThat(result.getBestMove(), is(nullValue()));
+        assertThat(result.getDiscDifference(), is(2));
+        assertThat(result.getWinner(), is(Player.BLACK));
+    }
+
+    @Test
+    void solve_last_square_takes_longest_line() {
+        Player[][] board = new Player[8][8];
+        for (Player[] row : board) {
+            Arrays.fill(row, Player.WHITE);
+        }
+        board[0][0] = Player.NONE;
+        board[0][3] = Player.BLACK;
+        board[5][0] = Player.BLACK;
+
+        EndgameResult result = solver.solve(Bitboard.fromBoard(board), Player.BLACK);
+
+        // Nach oben werden vier Steine umgedreht, nach links nur zwei
+        assertThat(result.getBestMove(), is(new Move(Direction.UP, new Coordinate(0, 5), new Coordinate(0, 0))));
+        assertThat(result.getDiscDifference(), is(7 - 57));
+        assertThat(result.getWinner(), is(Player.WHITE));
+    }
+
+    /**
+     * Spielt eine zufällige Partie, bis höchstens {@code empties} Felder leer sind, und liefert die Stellung mit
+     * dem Spieler am Zug als Schwarz.
+     */
+    private static Bitboard randomPosition(SplittableRandom random, int empties) {
+        Bitboard start = Bitboard.fromBoard(new Reversi().getBoard());
+        long own = start.getBlack();
+        long opp = start.getWhite();
+        MoveBuffer moves = new MoveBuffer();
+        while (Long.bitCount(~(own | opp)) > empties && Bitboard.generateMoves(own, opp, moves) > 0) {
+            int move = moves.get(random.nextInt(moves.size()));
+            long flipped = Bitboard.flips(PackedMove.start(move), PackedMove.end(move));
+            long next = opp & ~flipped;
+            opp = own | flipped;
+            own = next;
+        }
+        return new Bitboard(own, opp);
+    }
+
+    private static int negamax(long own, long opp) {
+        MoveBuffer moves = new MoveBuffer();
+        if (Bitboard.generateMoves(own, opp, moves) == 0) {
+            return Long.bitCount(own) - Long.bitCount(opp);
+        }
+        int best = Integer.MIN_VALUE;
+        for (int i = 0; i < moves.size(); i++) {
+            long flipped = Bitboard.flips(PackedMove.start(moves.get(i)), PackedMove.end(moves.get(i)));
+            best = Math.max(best, -negamax(opp & ~flipped, own | flipped));
+        }
+        return best;
+    }
+}
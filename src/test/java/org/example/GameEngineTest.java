@@ -0,0 +1,73 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GameEngineTest {
+    private final GameEngine engine = new GameEngine();
+
+    @Test
+    void initial_matches_reversi_start_position() {
+        assertThat(Position.initial(), is(Position.fromBoard(new Reversi().getBoard(), Player.BLACK)));
+        assertThat(engine.legalMoves(Position.initial()), hasSize(4));
+        assertThat(engine.isGameOver(Position.initial()), is(false));
+    }
+
+    @Test
+    void random_games_agree_with_reversi() {
+        SplittableRandom random = new SplittableRandom(3);
+        MoveValidator moveValidator = new MoveValidator();
+        MoveBuffer moves = new MoveBuffer();
+
+        for (int game = 0; game < 20; game++) {
+            Reversi reversi = new Reversi();
+            Position position = Position.initial();
+            while (!engine.isGameOver(position)) {
+                assertThat(engine.legalMoves(position),
+                        is(moveValidator.findAllMoves(reversi.getBoard(), position.getPlayer())));
+
+                engine.legalMoves(position, moves);
+                int move = moves.get(random.nextInt(moves.size()));
+                reversi.executeMove(PackedMove.toMove(move, Bitboard.SIZE), position.getPlayer());
+                position = engine.play(position, move);
+
+                assertThat(position, is(Position.fromBoard(reversi.getBoard(), position.getPlayer())));
+            }
+            assertThat(moveValidator.findAllMoves(reversi.getBoard(), position.getPlayer()), is(empty()));
+        }
+    }
+
+    @Test
+    void isLegal_matches_generated_moves() {
+        SplittableRandom random = new SplittableRandom(4);
+        MoveBuffer moves = new MoveBuffer();
+        Position position = Position.initial();
+
+        while (!engine.isGameOver(position)) {
+            engine.legalMoves(position, moves);
+            for (int start = 0; start < Bitboard.SQUARES; start++) {
+                for (int end = 0; end < Bitboard.SQUARES; end++) {
+                    for (Direction dir : Direction.values()) {
+                        int move = PackedMove.pack(start, end, dir);
+                        assertThat(engine.isLegal(position, move), is(moves.contains(move)));
+                    }
+                }
+            }
+            position = engine.play(position, moves.get(random.nextInt(moves.size())));
+        }
+        assertThat(engine.isLegal(position, SearchEngine.NO_MOVE), is(false));
+        assertThat(engine.isLegal(position, 0x7FFFFFFF), is(false));
+    }
+
+    @Test
+    void play_rejects_illegal_move() {
+        int move = PackedMove.pack(Bitboard.square(3, 3), Bitboard.square(2, 3), Direction.LEFT);
+
+        assertThrows(IllegalArgumentException.class, () -> engine.play(Position.initial(), move));
+    }
+}
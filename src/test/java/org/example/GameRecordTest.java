@@ -0,0 +1,121 @@
+package org.example;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GameRecordTest {
+    private Path path;
+    private List<SelfPlayGame> games;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        path = Files.createTempFile("games", ".bin");
+        games = new ArrayList<>();
+        // Genug Partien, dass der Leser seinen Puffer mehrfach nachladen muss
+        for (int seed = 0; seed < 3000; seed++) {
+            games.add(SelfPlay.playGame(MoveStrategy.random(seed), MoveStrategy.random(seed + 5000)));
+        }
+        try (GameRecordWriter writer = GameRecordWriter.create(path)) {
+            games.forEach(writer::write);
+            assertThat(writer.getGames(), is(3000L));
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    @Test
+    void moves_take_two_bytes() throws IOException {
+        long moves = games.stream().mapToLong(game -> game.getMoves().length).sum();
+
+        assertThat(Files.size(path), is(GameRecordWriter.HEADER_BYTES
+                + GameRecordWriter.RECORD_HEADER_BYTES * 3000L + 2 * moves));
+    }
+
+    @Test
+    void channel_reader_returns_written_games() throws IOException {
+        try (GameRecordReader reader = GameRecordReader.open(path)) {
+            assertGames(reader);
+        }
+    }
+
+    @Test
+    void buffer_reader_returns_written_games() throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            assertGames(new GameRecordReader(mapped));
+        }
+    }
+
+    @Test
+    void truncated_archive_is_reported() throws IOException {
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 1));
+
+        try (GameRecordReader reader = GameRecordReader.open(path)) {
+            assertThrows(IOException.class, () -> {
+                while (reader.next()) {
+                    reader.getMoveCount();
+                }
+            });
+        }
+    }
+
+    @Test
+    void invalid_game_leaves_archive_intact() throws IOException {
+        SelfPlayGame game = games.getFirst();
+        int[] moves = Arrays.copyOf(game.getMoves(), game.getMoves().length + 1);
+        // Der ungültige Zug steht hinter gültigen Zügen
+        moves[moves.length - 1] = PackedMove.pack(Bitboard.SQUARES, 0, Direction.LEFT);
+
+        try (GameRecordWriter writer = GameRecordWriter.create(path)) {
+            writer.write(games.get(0));
+            assertThrows(IllegalArgumentException.class, () ->
+                    writer.write(moves, moves.length, game.getBlackDiscs(), game.getWhiteDiscs()));
+            assertThrows(IllegalArgumentException.class, () ->
+                    writer.write(moves, -1, game.getBlackDiscs(), game.getWhiteDiscs()));
+            writer.write(games.get(1));
+            assertThat(writer.getGames(), is(2L));
+        }
+
+        games = games.subList(0, 2);
+        try (GameRecordReader reader = GameRecordReader.open(path)) {
+            assertGames(reader);
+        }
+    }
+
+    @Test
+    void foreign_file_is_rejected() {
+        assertThrows(IOException.class, () -> new GameRecordReader(ByteBuffer.wrap(new byte[]{1, 2, 3, 4, 5, 6, 7, 8})));
+    }
+
+    private void assertGames(GameRecordReader reader) throws IOException {
+        MoveBuffer moves = new MoveBuffer();
+        for (SelfPlayGame game : games) {
+            assertThat(reader.next(), is(true));
+            assertThat(reader.getBlackDiscs(), is(game.getBlackDiscs()));
+            assertThat(reader.getWhiteDiscs(), is(game.getWhiteDiscs()));
+            assertThat(reader.getWinner(), is(game.getWinner()));
+            assertThat(reader.readMoves(moves), is(game.getMoves().length));
+            assertThat(Arrays.copyOf(moves.array(), moves.size()), is(game.getMoves()));
+        }
+        assertThat(reader.next(), is(false));
+    }
+}
@@ -0,0 +1,108 @@
+package org.example;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class GameServerTest {
+    private GameServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new GameServer(InetAddress.getLoopbackAddress(), 0);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.close();
+    }
+
+    @Test
+    void move_in_every_notation_is_played() throws IOException {
+        try (Socket socket = connect()) {
+            BufferedReader in = reader(socket);
+            PrintWriter out = writer(socket);
+
+            // E5 (4, 4) ist weiß; Schwarz zieht von E4 über E5 nach E6
+            out.println("E4 E6");
+            Position position = new GameEngine().play(Position.initial(),
+                    PackedMove.pack(Bitboard.square(4, 3), Bitboard.square(4, 5), Direction.DOWN));
+            assertThat(in.readLine(), is(String.format("OK %016x %016x W", position.getBlack(), position.getWhite())));
+
+            out.println("moves");
+            assertThat(in.readLine(), startsWith("MOVES "));
+
+            out.println("NEW");
+            out.println("  E4-E6 ");
+            out.println("NEW");
+            out.println("E4,E6");
+            assertThat(in.readLine(), is("OK 0000000810000000 0000001008000000 B"));
+            assertThat(in.readLine(), endsWith(" W"));
+            assertThat(in.readLine(), is("OK 0000000810000000 0000001008000000 B"));
+            assertThat(in.readLine(), endsWith(" W"));
+            assertThat(server.getMoves(), is(3L));
+        }
+    }
+
+    @Test
+    void errors_keep_the_position() throws IOException {
+        try (Socket socket = connect()) {
+            BufferedReader in = reader(socket);
+            PrintWriter out = writer(socket);
+
+            out.println("E4 E5");
+            assertThat(in.readLine(), startsWith("ERR"));
+            out.println("Z9 A1");
+            assertThat(in.readLine(), startsWith("ERR"));
+            out.println("x".repeat(GameServer.BUFFER_BYTES * 3));
+            assertThat(in.readLine(), startsWith("ERR"));
+            out.println("BOARD");
+            assertThat(in.readLine(), is("OK 0000000810000000 0000001008000000 B"));
+
+            out.println("QUIT");
+            assertThat(in.readLine(), is("BYE"));
+            assertThat(in.readLine(), is(nullValue()));
+        }
+        assertThat(server.getMoves(), is(0L));
+    }
+
+    @Test
+    void load_client_holds_all_sessions() {
+        GameLoadClient client = new GameLoadClient(
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort()), 200);
+
+        GameLoadReport report = client.run(300);
+
+        assertThat(report.getHeldSessions(), is(200));
+        assertThat(report.getErrors(), is(0L));
+        assertThat(report.getMoves(), greaterThan(0L));
+        assertThat(report.getLatencies().getCount(), is(report.getMoves()));
+        assertThat(server.getTotalSessions(), is(200L));
+        assertThat(server.getMoves(), is(report.getMoves()));
+    }
+
+    private Socket connect() throws IOException {
+        return new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+    }
+
+    private static BufferedReader reader(Socket socket) throws IOException {
+        return new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+    }
+
+    private static PrintWriter writer(Socket socket) throws IOException {
+        return new PrintWriter(socket.getOutputStream(), true, StandardCharsets.US_ASCII);
+    }
+}
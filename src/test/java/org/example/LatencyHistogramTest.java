@@ -0,0 +1,39 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void percentiles_are_within_bucket_precision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value * 1_000);
+        }
+
+        assertThat(histogram.getCount(), is(100_000L));
+        assertThat(histogram.getMax(), is(100_000_000L));
+        assertThat((double) histogram.getValueAtPercentile(50), closeTo(50_000_000, 50_000_000 * 0.02));
+        assertThat((double) histogram.getValueAtPercentile(99), closeTo(99_000_000, 99_000_000 * 0.02));
+        assertThat(histogram.getValueAtPercentile(100), is(100_000_000L));
+    }
+
+    @Test
+    void small_values_are_exact_and_add_merges() {
+        LatencyHistogram first = new LatencyHistogram();
+        LatencyHistogram second = new LatencyHistogram();
+        first.record(3);
+        second.record(7);
+        second.record(-5);
+
+        first.add(second);
+
+        assertThat(first.getCount(), is(3L));
+        assertThat(first.getValueAtPercentile(0), is(0L));
+        assertThat(first.getValueAtPercentile(50), is(3L));
+        assertThat(first.getValueAtPercentile(100), is(7L));
+    }
+}
@@ -0,0 +1,80 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class MetricsTest {
+
+    private static Player[][] startBoard() {
+        Player[][] board = new Player[8][8];
+        for (Player[] row : board) {
+            Arrays.fill(row, Player.NONE);
+        }
+        board[3][3] = Player.WHITE;
+        board[4][4] = Player.WHITE;
+        board[3][4] = Player.BLACK;
+        board[4][3] = Player.BLACK;
+        return board;
+    }
+
+    @Test
+    void hot_paths_are_counted() throws InterruptedException {
+        assertThat("Tests laufen mit -Dreversi.metrics=true", Metrics.ENABLED, is(true));
+        MetricsSnapshot before = Metrics.snapshot();
+        MoveValidator moveValidator = new MoveValidator();
+        Player[][] board = startBoard();
+
+        moveValidator.findAllMoves(board, Player.BLACK);
+        moveValidator.findAllMoves(board, Player.BLACK, new MoveBuffer());
+        Thread other = new Thread(() -> moveValidator.isMoveValid(board, 4, 3, Player.BLACK));
+        other.start();
+        other.join();
+        moveValidator.isMoveValid(board, new Move(Direction.LEFT, new Coordinate(4, 3), new Coordinate(2, 3)), Player.BLACK);
+        new Reversi().executeMove(new Move(Direction.LEFT, new Coordinate(4, 3), new Coordinate(2, 3)), Player.BLACK);
+
+        MetricsSnapshot after = Metrics.snapshot();
+        assertThat(after.getCount(Metrics.Operation.FIND_ALL_MOVES) - before.getCount(Metrics.Operation.FIND_ALL_MOVES), greaterThanOrEqualTo(2L));
+        assertThat(after.getCount(Metrics.Operation.IS_MOVE_VALID) - before.getCount(Metrics.Operation.IS_MOVE_VALID), greaterThanOrEqualTo(2L));
+        assertThat(after.getCount(Metrics.Operation.EXECUTE_MOVE) - before.getCount(Metrics.Operation.EXECUTE_MOVE), greaterThanOrEqualTo(1L));
+        assertThat(after.getHistogram(Metrics.Operation.FIND_ALL_MOVES).getMax(), greaterThan(0L));
+    }
+
+    @Test
+    void record_merges_threads_into_one_histogram() throws InterruptedException {
+        long before = Metrics.snapshot().getCount(Metrics.Operation.EXECUTE_MOVE);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 1; i <= 1000; i++) {
+                    Metrics.record(Metrics.Operation.EXECUTE_MOVE, i);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        LatencyHistogram histogram = Metrics.snapshot().getHistogram(Metrics.Operation.EXECUTE_MOVE);
+        assertThat(histogram.getCount() - before, greaterThanOrEqualTo(4000L));
+        assertThat(histogram.getMax(), greaterThanOrEqualTo(1000L));
+    }
+
+    @Test
+    void prometheus_output_has_summary_per_operation() {
+        Metrics.record(Metrics.Operation.FIND_ALL_MOVES, 1_500);
+
+        String text = Metrics.snapshot().toPrometheus();
+
+        assertThat(text, startsWith("# HELP reversi_operation_duration_seconds "));
+        assertThat(text, containsString("# TYPE reversi_operation_duration_seconds summary\n"));
+        for (Metrics.Operation operation : Metrics.Operation.values()) {
+            assertThat(text, containsString("reversi_operation_duration_seconds{operation=\"" + operation.getLabel() + "\",quantile=\"0.99\"} "));
+            assertThat(text, containsString("reversi_operation_duration_seconds_count{operation=\"" + operation.getLabel() + "\"} "));
+        }
+    }
+}
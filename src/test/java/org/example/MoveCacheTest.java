@@ -0,0 +1,125 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MoveCacheTest {
+
+    private static MoveBuffer moves(int... packed) {
+        MoveBuffer buffer = new MoveBuffer();
+        for (int move : packed) {
+            buffer.add(move);
+        }
+        return buffer;
+    }
+
+    private static int[] sorted(MoveBuffer moves) {
+        int[] array = Arrays.copyOf(moves.array(), moves.size());
+        Arrays.sort(array);
+        return array;
+    }
+
+    @Test
+    void findAllMoves_counts_hits_and_misses() {
+        MoveCache cache = new MoveCache(1024);
+        Reversi game = new Reversi();
+        long key = MoveCache.key(game.getHash(), Player.BLACK);
+        MoveBuffer expected = new MoveBuffer();
+        new MoveValidator().findAllMoves(game.getBoard(), Player.BLACK, expected);
+        MoveBuffer moves = new MoveBuffer();
+
+        assertThat(cache.findAllMoves(key, game.getBoard(), Player.BLACK, moves), is(4));
+        assertThat(cache.findAllMoves(key, game.getBoard(), Player.BLACK, moves), is(4));
+
+        assertThat(sorted(moves), is(sorted(expected)));
+        assertThat(cache.getMisses(), is(1L));
+        assertThat(cache.getHits(), is(1L));
+        assertThat(cache.getHitRate(), closeTo(0.5, 1e-9));
+        assertThat(cache.size(), is(1));
+        assertThat(MoveCache.key(game.getHash(), Player.WHITE), is(not(key)));
+    }
+
+    @Test
+    void clock_evicts_unreferenced_entry() {
+        MoveCache cache = new MoveCache(MoveCache.WAYS);
+        MoveBuffer buffer = new MoveBuffer();
+        for (int key = 0; key < 4; key++) {
+            cache.put(key, moves(key));
+        }
+        cache.get(0, buffer);
+        cache.get(1, buffer);
+        cache.get(2, buffer);
+
+        cache.put(4, moves(4));
+
+        assertThat(cache.getEvictions(), is(1L));
+        assertThat(cache.size(), is(4));
+        assertThat(cache.get(3, buffer), is(false));
+        for (int key : new int[]{0, 1, 2, 4}) {
+            assertThat(cache.get(key, buffer), is(true));
+            assertThat(buffer.get(0), is(key));
+        }
+    }
+
+    @Test
+    void put_replaces_same_key_and_capacity_is_bounded() {
+        MoveCache cache = new MoveCache(100);
+        MoveBuffer buffer = new MoveBuffer();
+        cache.put(7, moves(1, 2));
+        cache.put(7, moves(3));
+
+        assertThat(cache.get(7, buffer), is(true));
+        assertThat(buffer.size(), is(1));
+        assertThat(buffer.get(0), is(3));
+
+        assertThat(cache.capacity(), is(64));
+        for (long key = 0; key < 10_000; key++) {
+            cache.put(key * 0x9E3779B97F4A7C15L, moves((int) key));
+        }
+        assertThat(cache.size(), is(lessThanOrEqualTo(64)));
+        assertThat(cache.getEvictions(), is(greaterThan(0L)));
+        assertThrows(IllegalArgumentException.class, () -> new MoveCache(3));
+    }
+
+    @Test
+    void concurrent_games_always_get_correct_moves() throws InterruptedException {
+        MoveCache cache = new MoveCache(256);
+        AtomicInteger errors = new AtomicInteger();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            int seed = t % 2;
+            threads[t] = new Thread(() -> {
+                Random random = new Random(seed);
+                MoveValidator moveValidator = new MoveValidator();
+                MoveBuffer moves = new MoveBuffer();
+                MoveBuffer expected = new MoveBuffer();
+                for (int game = 0; game < 50; game++) {
+                    Reversi reversi = new Reversi();
+                    Player player = Player.BLACK;
+                    while (cache.findAllMoves(MoveCache.key(reversi.getHash(), player), reversi.getBoard(), player, moves) > 0) {
+                        moveValidator.findAllMoves(reversi.getBoard(), player, expected);
+                        if (!Arrays.equals(sorted(moves), sorted(expected))) {
+                            errors.incrementAndGet();
+                        }
+                        reversi.executeMove(PackedMove.toMove(moves.get(random.nextInt(moves.size())), 8), player);
+                        player = player.getOpponent();
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(errors.get(), is(0));
+        assertThat(cache.getHits(), is(greaterThan(0L)));
+    }
+}
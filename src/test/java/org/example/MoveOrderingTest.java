@@ -0,0 +1,72 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class MoveOrderingTest {
+    private final MoveOrdering ordering = new MoveOrdering(4);
+
+    private static MoveBuffer moves(int... ends) {
+        MoveBuffer buffer = new MoveBuffer();
+        for (int end : ends) {
+            buffer.add(PackedMove.pack(end == 0 ? 1 : 0, end, Direction.RIGHT));
+        }
+        return buffer;
+    }
+
+    @Test
+    void sort_prefers_tt_move_then_killers_then_square_values() {
+        MoveBuffer buffer = moves(9, 1, 0, 2, 63);
+        int ttMove = buffer.get(3);
+        ordering.cutoff(buffer.get(1), 2, 1, 1, Player.BLACK);
+
+        ordering.sort(buffer, 1, ttMove, Player.BLACK);
+
+        // TT-Zug, Killerzug, dann die Ecken vor dem C-Feld-Nachbarn und dem X-Feld
+        assertThat(PackedMove.end(buffer.get(0)), is(2));
+        assertThat(PackedMove.end(buffer.get(1)), is(1));
+        assertThat(PackedMove.end(buffer.get(2)) + PackedMove.end(buffer.get(3)), is(63));
+        assertThat(PackedMove.end(buffer.get(4)), is(9));
+    }
+
+    @Test
+    void history_outranks_square_values() {
+        MoveBuffer buffer = moves(0, 9);
+        ordering.cutoff(buffer.get(1), 1, 3, 4, Player.WHITE);
+
+        ordering.sort(buffer, 2, SearchEngine.NO_MOVE, Player.WHITE);
+        assertThat(PackedMove.end(buffer.get(0)), is(9));
+
+        // Die History gilt nur für den Spieler, der geschnitten hat
+        ordering.sort(buffer, 2, SearchEngine.NO_MOVE, Player.BLACK);
+        assertThat(PackedMove.end(buffer.get(0)), is(0));
+    }
+
+    @Test
+    void counters_track_first_move_cutoffs() {
+        MoveBuffer buffer = moves(0, 9);
+        ordering.cutoff(buffer.get(0), 0, 0, 1, Player.BLACK);
+        ordering.cutoff(buffer.get(0), 0, 0, 1, Player.BLACK);
+        ordering.cutoff(buffer.get(1), 3, 0, 1, Player.BLACK);
+
+        assertThat(ordering.getCutoffs(), is(3L));
+        assertThat(ordering.getFirstMoveCutoffs(), is(2L));
+        assertThat(ordering.getFirstMoveCutoffRate(), closeTo(2.0 / 3, 1e-9));
+        assertThat(ordering.getAverageCutoffIndex(), closeTo(1.0, 1e-9));
+
+        ordering.resetCounters();
+        assertThat(ordering.getCutoffs(), is(0L));
+        assertThat(ordering.getFirstMoveCutoffRate(), is(0.0));
+    }
+
+    @Test
+    void search_reports_cutoffs() {
+        SearchEngine engine = new SearchEngine();
+        engine.search(Position.initial().toBitboard(), Player.BLACK, Long.MAX_VALUE, 5);
+
+        assertThat(engine.getMoveOrdering().getCutoffs(), greaterThan(0L));
+        assertThat(engine.getMoveOrdering().getFirstMoveCutoffRate(), greaterThan(0.5));
+    }
+}
@@ -3,6 +3,8 @@ package org.example;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -35,6 +37,20 @@ class MoveParserTest {
         assertThat(move, is(validMove));
     }
 
+    @Test
+    void parseMove_two_digit_rows() {
+        Move move = classUnderTest.parseMove("C10-C12");
+
+        assertThat(move, is(new Move(Direction.DOWN, new Coordinate(2, 9), new Coordinate(2, 11))));
+    }
+
+    @Test
+    void parseMove_rejects_trailing_characters() {
+        assertThat(classUnderTest.parseMove("C1x C3"), is(new Move()));
+        assertThat(classUnderTest.parseMove("C100 C3"), is(new Move()));
+        assertThat(classUnderTest.parseMove("C0 C3"), is(new Move()));
+    }
+
     @Test
     void determineSeparator() {
         String inputString = "A1, C3";
@@ -65,4 +81,65 @@ class MoveParserTest {
         assertThat(trimmedTokens.get(0), is("A1"));
         assertThat(trimmedTokens.get(1), is("C3"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void parseMoves_accepts_all_separators() {
+        MoveBuffer moves = new MoveBuffer();
+        MoveParseErrors errors = new MoveParseErrors();
+
+        int count = classUnderTest.parseMoves("A1, C3\nA1-C3;A1 C3\r\n\n  A1 -  C3  ", moves, errors);
+
+        int expected = PackedMove.fromMove(classUnderTest.parseMove("A1, C3"), 8);
+        assertThat(count, is(4));
+        assertThat(errors.isEmpty(), is(true));
+        for (int i = 0; i < count; i++) {
+            assertThat(moves.get(i), is(expected));
+        }
+    }
+
+    @Test
+    void parseMoves_matches_parseMove() {
+        MoveBuffer moves = new MoveBuffer();
+        MoveParseErrors errors = new MoveParseErrors();
+
+        classUnderTest.parseMoves("H8,A1;D4-D8;B7 G2;E5,F5", moves, errors);
+
+        assertThat(moves.size(), is(4));
+        assertThat(PackedMove.toMove(moves.get(0), 8), is(classUnderTest.parseMove("H8,A1")));
+        assertThat(PackedMove.toMove(moves.get(1), 8), is(classUnderTest.parseMove("D4-D8")));
+        assertThat(PackedMove.toMove(moves.get(2), 8), is(classUnderTest.parseMove("B7 G2")));
+        assertThat(PackedMove.toMove(moves.get(3), 8), is(classUnderTest.parseMove("E5,F5")));
+    }
+
+    @Test
+    void parseMoves_reports_errors_with_offsets() {
+        String text = "A1, C3\nZ9-A1\nA1C3\nA1, C3 x\nB2-B2";
+        MoveBuffer moves = new MoveBuffer();
+        MoveParseErrors errors = new MoveParseErrors();
+
+        int count = classUnderTest.parseMoves(text, moves, errors);
+
+        assertThat(count, is(1));
+        assertThat(errors.size(), is(4));
+        assertThat(errors.getOffset(0), is(7));
+        assertThat(errors.getReason(0), is(MoveParseErrors.Reason.INVALID_COORDINATE));
+        assertThat(errors.getOffset(1), is(15));
+        assertThat(errors.getReason(1), is(MoveParseErrors.Reason.MISSING_SEPARATOR));
+        assertThat(errors.getOffset(2), is(25));
+        assertThat(errors.getReason(2), is(MoveParseErrors.Reason.UNEXPECTED_CHARACTER));
+        assertThat(errors.getOffset(3), is(30));
+        assertThat(errors.getReason(3), is(MoveParseErrors.Reason.SAME_SQUARE));
+
+        // Derselbe Text als Bytes hinter einer Pufferposition liefert dieselben Ergebnisse
+        ByteBuffer bytes = ByteBuffer.wrap(("xyz" + text).getBytes(StandardCharsets.US_ASCII));
+        bytes.position(3);
+        MoveParseErrors byteErrors = new MoveParseErrors();
+        assertThat(classUnderTest.parseMoves(bytes, new MoveBuffer(), byteErrors), is(1));
+        assertThat(byteErrors.toString(), is(errors.toString()));
+        assertThat(bytes.position(), is(3));
+
+        // Nach den Bytes liest derselbe Parser wieder Zeichen
+        assertThat(classUnderTest.parseMoves(text, new MoveBuffer(), byteErrors), is(1));
+        assertThat(byteErrors.toString(), is(errors.toString()));
+    }
+}
@@ -4,7 +4,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.Random;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -182,4 +185,80 @@ class MoveValidatorTest {
 
         assertThat(moves, contains(new Move(Direction.DOWN_LEFT, new Coordinate(2, 0), new Coordinate(0, 2))));
     }
+
+    @Test
+    void findAllMoves_into_buffer() {
+        board = createBoard(new String[]{
+                "XXOO."
+        });
+        MoveBuffer buffer = new MoveBuffer();
+        buffer.add(42);
+
+        int count = moveValidator.findAllMoves(board, Player.BLACK, buffer);
+
+        assertThat(count, is(1));
+        assertThat(PackedMove.toMove(buffer.get(0), 5),
+                is(new Move(Direction.RIGHT, new Coordinate(1, 0), new Coordinate(4, 0))));
+    }
+
+    @Test
+    void findAllMoves_into_buffer_matches_collection() {
+        board[3][3] = Player.WHITE;
+        board[3][4] = Player.BLACK;
+        board[4][3] = Player.BLACK;
+        board[4][4] = Player.WHITE;
+        MoveBuffer buffer = new MoveBuffer(1);
+
+        moveValidator.findAllMoves(board, Player.WHITE, buffer);
+
+        Collection<Move> moves = moveValidator.findAllMoves(board, Player.WHITE);
+        assertThat(buffer.size(), is(moves.size()));
+        for (int i = 0; i < buffer.size(); i++) {
+            Move move = PackedMove.toMove(buffer.get(i), 8);
+            assertThat(moves.contains(move), is(true));
+            assertThat(PackedMove.fromMove(move, 8), is(buffer.get(i)));
+        }
+    }
+
+    @Test
+    void isMoveValid_matches_findAllMoves_on_random_boards() {
+        Random random = new Random(7);
+        int[][] sizes = {{6, 6}, {8, 8}, {10, 10}, {16, 17}};
+        Direction[] directions = Direction.values();
+
+        for (int[] size : sizes) {
+            for (int i = 0; i < 200; i++) {
+                Player[][] randomBoard = new Player[size[0]][size[1]];
+                for (Player[] row : randomBoard) {
+                    for (int x = 0; x < row.length; x++) {
+                        row[x] = Player.values()[random.nextInt(3)];
+                    }
+                }
+                for (Player player : Player.values()) {
+                    Collection<Move> expected = moveValidator.findAllMoves(randomBoard, player);
+                    List<Move> candidates = new ArrayList<>();
+                    for (Move move : expected) {
+                        // Gültige Züge und knapp daneben: andere Richtung, ein Feld zu kurz oder zu weit
+                        candidates.add(move);
+                        candidates.add(new Move(directions[random.nextInt(directions.length)], move.start, move.end));
+                        Direction dir = move.direction;
+                        candidates.add(new Move(dir, move.start,
+                                new Coordinate(move.end.getX() - dir.stepValueX, move.end.getY() - dir.stepValueY)));
+                        candidates.add(new Move(dir, move.start,
+                                new Coordinate(move.end.getX() + dir.stepValueX, move.end.getY() + dir.stepValueY)));
+                    }
+                    for (int j = 0; j < 50; j++) {
+                        candidates.add(new Move(directions[random.nextInt(directions.length)],
+                                new Coordinate(random.nextInt(size[1] + 2) - 1, random.nextInt(size[0] + 2) - 1),
+                                new Coordinate(random.nextInt(size[1] + 2) - 1, random.nextInt(size[0] + 2) - 1)));
+                    }
+
+                    for (Move move : candidates) {
+                        assertThat(move + " für " + player, moveValidator.isMoveValid(randomBoard, move, player),
+                                is(expected.contains(move)));
+                    }
+                }
+            }
+        }
+    }
 }
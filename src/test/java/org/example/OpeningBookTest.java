@@ -0,0 +1,94 @@
+package org.example;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OpeningBookTest {
+    private Path path;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        path = Files.createTempFile("opening-book", ".bin");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    @Test
+    void lookup_returns_moves_of_the_games() throws IOException {
+        SelfPlayGame game = SelfPlay.playGame(MoveStrategy.greedy(), MoveStrategy.random(3));
+        OpeningBookBuilder builder = new OpeningBookBuilder(6, 1);
+        builder.addGame(game);
+
+        assertThat(builder.write(path), is(6));
+
+        OpeningBook book = OpeningBook.open(path);
+        assertThat(book.size(), is(6));
+
+        Bitboard position = Bitboard.fromBoard(new Reversi().getBoard());
+        Player player = Player.BLACK;
+        for (int ply = 0; ply < 6; ply++) {
+            int move = game.getMoves()[ply];
+            assertThat(book.lookup(position, player), is(move));
+            position = position.play(PackedMove.toMove(move, Bitboard.SIZE), player);
+            player = player.getOpponent();
+        }
+        assertThat(book.lookup(position, player), is(SearchEngine.NO_MOVE));
+    }
+
+    @Test
+    void write_keeps_move_with_best_score() throws IOException {
+        SelfPlayGame win = null;
+        SelfPlayGame loss = null;
+        for (int seed = 0; win == null || loss == null; seed++) {
+            SelfPlayGame game = SelfPlay.playGame(MoveStrategy.random(seed), MoveStrategy.random(seed + 1000));
+            if (win == null && game.getWinner() == Player.BLACK) {
+                win = game;
+            } else if (win != null && game.getWinner() == Player.WHITE && game.getMoves()[0] != win.getMoves()[0]) {
+                loss = game;
+            }
+        }
+        OpeningBookBuilder builder = new OpeningBookBuilder(1, 2);
+        builder.addGame(loss);
+        builder.addGame(loss);
+        builder.addGame(win);
+        builder.addGame(win);
+        builder.write(path);
+
+        OpeningBook book = OpeningBook.open(path);
+        Bitboard start = Bitboard.fromBoard(new Reversi().getBoard());
+        long key = OpeningBook.key(start.getBlack(), start.getWhite(), Player.BLACK);
+        assertThat(book.lookup(key), is(win.getMoves()[0]));
+        assertThat(book.winRate(key), is(10000));
+    }
+
+    @Test
+    void open_rejects_foreign_files() throws IOException {
+        Files.write(path, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16});
+
+        assertThrows(IOException.class, () -> OpeningBook.open(path));
+    }
+
+    @Test
+    void book_strategy_falls_back_outside_the_book() throws IOException {
+        new OpeningBookBuilder(1, 1).write(path);
+        OpeningBook book = OpeningBook.open(path);
+        MoveStrategy strategy = MoveStrategy.book(book, MoveStrategy.greedy());
+
+        SelfPlayGame game = SelfPlay.playGame(strategy, strategy);
+
+        assertThat(book.size(), is(0));
+        assertThat(game.getMoves().length, greaterThan(0));
+    }
+}
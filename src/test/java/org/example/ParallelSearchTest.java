@@ -0,0 +1,44 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class ParallelSearchTest {
+
+    @Test
+    void search_reports_every_thread_and_returns_legal_move() {
+        Player[][] board = new Reversi().getBoard();
+
+        try (ParallelSearch search = new ParallelSearch(4, Evaluator.DEFAULT, new TranspositionTable(4))) {
+            ParallelSearchResult result = search.search(Bitboard.fromBoard(board), Player.BLACK, 50_000_000L, SearchEngine.MAX_PLY);
+
+            assertThat(result.getThreadResults(), hasSize(4));
+            assertThat(result.getNodesPerSecondPerThread().length, is(4));
+            assertThat(result.getNodes(), greaterThan(0L));
+            assertThat(new MoveValidator().isMoveValid(board, result.getBestMove(), Player.BLACK), is(true));
+        }
+    }
+
+    @Test
+    void search_finds_move_that_captures_all_opponent_discs() {
+        Player[][] board = new Player[8][8];
+        for (Player[] row : board) {
+            Arrays.fill(row, Player.NONE);
+        }
+        board[1][0] = Player.BLACK;
+        board[0][3] = Player.BLACK;
+        board[1][1] = Player.WHITE;
+        board[1][2] = Player.WHITE;
+
+        try (ParallelSearch search = new ParallelSearch(3, Evaluator.DEFAULT, new TranspositionTable(1))) {
+            ParallelSearchResult result = search.search(Bitboard.fromBoard(board), Player.BLACK, 1_000_000_000L, 3);
+
+            assertThat(result.getBestMove(), is(new Move(Direction.RIGHT, new Coordinate(0, 1), new Coordinate(3, 1))));
+            assertThat(result.getBestResult().getScore(), is(SearchEngine.WIN + 5));
+        }
+    }
+}
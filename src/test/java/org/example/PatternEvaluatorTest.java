@@ -0,0 +1,113 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PatternEvaluatorTest {
+    private final PatternEvaluator evaluator = new PatternEvaluator(PatternWeights.positional());
+
+    @Test
+    void instances_cover_edges_corners_and_diagonals() {
+        assertThat(Pattern.INSTANCES.length, is(4 + 4 + 2 + 4 * 4));
+        for (int[] squares : Pattern.INSTANCES) {
+            assertThat(squares.length, lessThanOrEqualTo(10));
+        }
+    }
+
+    @Test
+    void incremental_indices_match_recomputed_indices() {
+        SplittableRandom random = new SplittableRandom(11);
+        MoveBuffer moves = new MoveBuffer();
+        for (int game = 0; game < 20; game++) {
+            Bitboard start = Bitboard.fromBoard(new Reversi().getBoard());
+            long black = start.getBlack();
+            long white = start.getWhite();
+            PatternIndices indices = new PatternIndices(black, white);
+            Player player = Player.BLACK;
+
+            while (true) {
+                long own = player == Player.BLACK ? black : white;
+                long opp = player == Player.BLACK ? white : black;
+                assertThat(evaluator.evaluate(indices, player), is(evaluator.evaluate(own, opp)));
+                if (Bitboard.generateMoves(own, opp, moves) == 0) {
+                    break;
+                }
+                int move = moves.get(random.nextInt(moves.size()));
+                int end = PackedMove.end(move);
+                long flipped = Bitboard.flips(PackedMove.start(move), end);
+
+                // Zug nachführen, zurücknehmen und erneut nachführen
+                indices.play(end, flipped, player);
+                indices.undo(end, flipped, player);
+                assertThat(indices.getDiscs(), is(Long.bitCount(black | white)));
+                indices.play(end, flipped, player);
+
+                if (player == Player.BLACK) {
+                    black |= flipped;
+                    white &= ~flipped;
+                } else {
+                    white |= flipped;
+                    black &= ~flipped;
+                }
+                player = player.getOpponent();
+            }
+
+            PatternIndices recomputed = new PatternIndices(black, white);
+            for (int instance = 0; instance < Pattern.INSTANCES.length; instance++) {
+                assertThat(indices.get(instance), is(recomputed.get(instance)));
+            }
+        }
+    }
+
+    @Test
+    void evaluate_is_symmetric_and_antisymmetric() {
+        long own = 0x0000_0018_1C00_0001L;
+        long opp = 0x0000_2400_0200_0000L;
+        long mirroredOwn = Long.reverse(own);
+        long mirroredOpp = Long.reverse(opp);
+
+        assertThat(evaluator.evaluate(mirroredOwn, mirroredOpp), is(evaluator.evaluate(own, opp)));
+        assertThat(evaluator.evaluate(opp, own), is(-evaluator.evaluate(own, opp)));
+        assertThat(evaluator.evaluate(0x1L, 0), greaterThan(0));
+    }
+
+    @Test
+    void weights_survive_write_and_load() throws IOException {
+        Path path = Files.createTempFile("weights", ".bin");
+        try {
+            PatternWeights weights = PatternWeights.positional();
+            weights.table(PatternWeights.PHASES - 1, Pattern.DIAGONAL_4)[5] = 1234;
+            weights.write(path);
+
+            PatternWeights loaded = PatternWeights.load(path);
+
+            for (int phase = 0; phase < PatternWeights.PHASES; phase++) {
+                for (Pattern pattern : Pattern.values()) {
+                    assertThat(loaded.table(phase, pattern), is(weights.table(phase, pattern)));
+                }
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    void load_rejects_truncated_files() throws IOException {
+        Path path = Files.createTempFile("weights", ".bin");
+        try {
+            Files.write(path, new byte[64]);
+
+            assertThrows(IOException.class, () -> PatternWeights.load(path));
+        } finally {
+            Files.delete(path);
+        }
+    }
+}
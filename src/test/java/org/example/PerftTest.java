@@ -0,0 +1,44 @@
+package org.example;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class PerftTest {
+    // Blätter ab der Startaufstellung für die Tiefen 1 bis 8
+    private static final long[] KNOWN_NODE_COUNTS = {4, 12, 64, 340, 2_244, 14_688, 114_328, 938_684};
+
+    private Bitboard start;
+
+    @BeforeEach
+    void setUp() {
+        start = Bitboard.fromBoard(new Reversi().getBoard());
+    }
+
+    @Test
+    void perft_matches_known_node_counts() {
+        for (int depth = 1; depth <= KNOWN_NODE_COUNTS.length; depth++) {
+            assertThat("Tiefe " + depth, Perft.perft(start.getBlack(), start.getWhite(), depth), is(KNOWN_NODE_COUNTS[depth - 1]));
+        }
+    }
+
+    @Test
+    void perft_on_reversi_matches_known_node_counts() {
+        for (int depth = 1; depth <= 6; depth++) {
+            Reversi game = new Reversi();
+            assertThat(Perft.perft(game, Player.BLACK, depth), is(KNOWN_NODE_COUNTS[depth - 1]));
+        }
+    }
+
+    @Test
+    void perft_counts_terminal_position_as_leaf() {
+        // Schwarz hat keinen Zug: das Spiel ist vorbei
+        long black = 1L;
+        long white = 1L << 63;
+
+        assertThat(Perft.perft(black, white, 5), is(1L));
+        assertThat(Perft.perft(new Reversi(new Bitboard(black, white).toBoard()), Player.BLACK, 5), is(1L));
+    }
+}
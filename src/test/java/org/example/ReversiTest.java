@@ -1,9 +1,13 @@
 package org.example;
 
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class ReversiTest {
     private Reversi classUnderTest;
@@ -12,4 +16,98 @@ class ReversiTest {
     public void setup() {
         classUnderTest = new Reversi();
     }
-}
\ No newline at end of file
+
+    @Test
+    void executeMove_updates_hash_incrementally() {
+        Player[][] board = new Bitboard(0, 0).toBoard();
+        board[3][3] = Player.WHITE;
+        board[4][4] = Player.WHITE;
+        board[3][4] = Player.BLACK;
+        board[4][3] = Player.BLACK;
+        Reversi game = new Reversi(board);
+        assertThat(game.getHash(), is(classUnderTest.getHash()));
+
+        MoveValidator moveValidator = new MoveValidator();
+        Player player = Player.BLACK;
+        for (int i = 0; i < 20; i++) {
+            Move move = moveValidator.findAllMoves(board, player).iterator().next();
+            game.executeMove(move, player);
+            assertThat(game.getHash(), is(Zobrist.hash(board)));
+            player = player.getOpponent();
+        }
+        assertThat(game.getHash(), is(not(classUnderTest.getHash())));
+    }
+
+    @Test
+    void unmakeMove_restores_board_and_hash() {
+        Player[][] board = classUnderTest.getBoard();
+        Player[][] start = Bitboard.fromBoard(board).toBoard();
+        long startHash = classUnderTest.getHash();
+
+        MoveValidator moveValidator = new MoveValidator();
+        Player player = Player.BLACK;
+        int moves = 0;
+        for (; moves < 30; moves++) {
+            Collection<Move> legalMoves = moveValidator.findAllMoves(board, player);
+            if (legalMoves.isEmpty()) {
+                break;
+            }
+            classUnderTest.makeMove(legalMoves.iterator().next(), player);
+            assertThat(classUnderTest.getHash(), is(Zobrist.hash(board)));
+            player = player.getOpponent();
+        }
+        for (int i = 0; i < moves; i++) {
+            classUnderTest.unmakeMove();
+        }
+
+        assertThat(board, is(start));
+        assertThat(classUnderTest.getHash(), is(startHash));
+    }
+
+    @Test
+    void unmakeMove_without_move_throws() {
+        assertThrows(IllegalStateException.class, () -> classUnderTest.unmakeMove());
+    }
+
+    @Test
+    void calculateScore_tracks_moves() {
+        assertThat(classUnderTest.calculateScore(Player.BLACK), is(2L));
+        assertThat(classUnderTest.calculateScore(Player.WHITE), is(2L));
+        assertThat(classUnderTest.calculateScore(Player.NONE), is(60L));
+
+        Move move = new Move(Direction.LEFT, new Coordinate(4, 3), new Coordinate(2, 3));
+        classUnderTest.makeMove(move, Player.BLACK);
+        assertThat(classUnderTest.calculateScore(Player.BLACK), is(4L));
+        assertThat(classUnderTest.calculateScore(Player.WHITE), is(1L));
+        assertThat(classUnderTest.calculateScore(Player.NONE), is(59L));
+
+        classUnderTest.unmakeMove();
+        assertThat(classUnderTest.calculateScore(Player.BLACK), is(2L));
+        assertThat(classUnderTest.calculateScore(Player.WHITE), is(2L));
+
+        classUnderTest.executeMove(move, Player.BLACK);
+        assertThat(classUnderTest.calculateScore(Player.BLACK), is(4L));
+        assertThat(classUnderTest.calculateScore(Player.WHITE), is(1L));
+    }
+
+    @Test
+    void board_size_is_a_runtime_parameter() {
+        Reversi game = new Reversi(10, Player.NONE);
+        Player[][] board = game.getBoard();
+
+        assertThat(game.getSize(), is(10));
+        assertThat(board.length, is(10));
+        assertThat(board[4][4], is(Player.WHITE));
+        assertThat(board[5][5], is(Player.WHITE));
+        assertThat(board[4][5], is(Player.BLACK));
+        assertThat(board[5][4], is(Player.BLACK));
+        assertThat(game.calculateScore(Player.NONE), is(96L));
+        assertThat(new MoveValidator().findAllMoves(board, Player.BLACK).size(), is(4));
+        assertThat(game.getHash(), is(Zobrist.hash(board)));
+
+        assertThat(new Reversi(Player.NONE).getHash(), is(Zobrist.hash(new Reversi(8, Player.NONE).getBoard())));
+        assertThrows(IllegalArgumentException.class, () -> new Reversi(7, Player.NONE));
+        assertThrows(IllegalArgumentException.class, () -> new Reversi(18, Player.NONE));
+        assertThrows(IllegalArgumentException.class, () -> new Reversi(10, Player.BLACK));
+    }
+}
@@ -0,0 +1,80 @@
+package org.example;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class SearchEngineTest {
+    private SearchEngine searchEngine;
+    private Player[][] board;
+
+    @BeforeEach
+    void setUp() {
+        searchEngine = new SearchEngine();
+        board = new Player[8][8];
+        for (Player[] row : board) {
+            Arrays.fill(row, Player.NONE);
+        }
+    }
+
+    @Test
+    void search_returns_legal_move_in_start_position() {
+        board[3][3] = Player.WHITE;
+        board[4][4] = Player.WHITE;
+        board[3][4] = Player.BLACK;
+        board[4][3] = Player.BLACK;
+
+        SearchResult result = searchEngine.search(board, Player.BLACK, 10_000_000L);
+
+        assertThat(result.getDepth(), greaterThanOrEqualTo(1));
+        assertThat(new MoveValidator().isMoveValid(board, result.getBestMove(), Player.BLACK), is(true));
+    }
+
+    @Test
+    void search_stays_within_budget() {
+        board[3][3] = Player.WHITE;
+        board[4][4] = Player.WHITE;
+        board[3][4] = Player.BLACK;
+        board[4][3] = Player.BLACK;
+        Bitboard position = Bitboard.fromBoard(board);
+
+        // Die Frist ist schon vorbei: Die Suche bricht bei der ersten Abfrage der Uhr nach 256 Knoten ab
+        SearchResult expired = searchEngine.searchUntil(position, Player.BLACK, System.nanoTime() - 1,
+                SearchEngine.MAX_PLY, 0, new AtomicBoolean());
+        assertThat(expired.getNodes(), lessThanOrEqualTo(256L));
+        assertThat(Bitboard.isLegal(position.getBlack(), position.getWhite(), expired.getPackedMove()), is(true));
+
+        // Großzügige Schranke, damit Pausen der JVM auf einem ausgelasteten Rechner den Test nicht scheitern lassen
+        SearchResult result = searchEngine.search(board, Player.BLACK, 20_000_000L);
+        assertThat(result.getBestMove(), is(notNullValue()));
+        assertThat(result.getNanos(), lessThan(200_000_000L));
+    }
+
+    @Test
+    void search_finds_move_that_captures_all_opponent_discs() {
+        board[1][0] = Player.BLACK;
+        board[0][3] = Player.BLACK;
+        board[1][1] = Player.WHITE;
+        board[1][2] = Player.WHITE;
+
+        SearchResult result = searchEngine.search(Bitboard.fromBoard(board), Player.BLACK, 1_000_000_000L, 3);
+
+        assertThat(result.getBestMove(), is(new Move(Direction.RIGHT, new Coordinate(0, 1), new Coordinate(3, 1))));
+        assertThat(result.getScore(), is(SearchEngine.WIN + 5));
+    }
+
+    @Test
+    void search_without_moves_returns_no_move() {
+        board[0][0] = Player.BLACK;
+
+        SearchResult result = searchEngine.search(board, Player.BLACK, 10_000_000L);
+
+        assertThat(result.getBestMove(), is(nullValue()));
+        assertThat(result.getPackedMove(), is(SearchEngine.NO_MOVE));
+    }
+}
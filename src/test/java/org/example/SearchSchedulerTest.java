@@ -0,0 +1,130 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SearchSchedulerTest {
+    private static final long MILLIS = 1_000_000;
+
+    private final Bitboard start = Bitboard.fromBoard(new Reversi().getBoard());
+
+    private static SearchScheduler scheduler(int threads) {
+        return new SearchScheduler(threads, 64, SearchScheduler.DEFAULT_SLICE_NANOS, Evaluator.DEFAULT,
+                new TranspositionTable(1));
+    }
+
+    @Test
+    void node_budget_is_kept() {
+        try (SearchScheduler scheduler = scheduler(1)) {
+            SearchResult result = scheduler.submitNodes(start, Player.BLACK, 10_000, SearchEngine.MAX_PLY).join();
+
+            assertThat(result.getNodes(), lessThanOrEqualTo(10_000L));
+            assertThat(result.getNodes(), greaterThan(10_000L - 256));
+            assertThat(Bitboard.isLegal(start.getBlack(), start.getWhite(), result.getPackedMove()), is(true));
+        }
+    }
+
+    @Test
+    void earlier_deadline_finishes_first() {
+        List<String> finished = Collections.synchronizedList(new ArrayList<>());
+        try (SearchScheduler scheduler = scheduler(1)) {
+            CompletableFuture<SearchResult> background = scheduler.submitNodes(start, Player.BLACK,
+                    Long.MAX_VALUE, SearchEngine.MAX_PLY);
+            CompletableFuture<SearchResult> late = scheduler.submitTimed(start, Player.BLACK, 30 * MILLIS,
+                    2000 * MILLIS, SearchEngine.MAX_PLY);
+            CompletableFuture<SearchResult> early = scheduler.submitTimed(start, Player.BLACK, 10 * MILLIS,
+                    500 * MILLIS, SearchEngine.MAX_PLY);
+            CompletableFuture.allOf(late.thenRun(() -> finished.add("late")),
+                    early.thenRun(() -> finished.add("early"))).join();
+
+            assertThat(finished, contains("early", "late"));
+            assertThat(background.isDone(), is(false));
+            assertThat(early.join().getDepth(), greaterThan(0));
+            assertThat(scheduler.getDeadlineMisses(), is(0L));
+        }
+    }
+
+    @Test
+    void overload_is_rejected_on_admission() {
+        try (SearchScheduler scheduler = scheduler(1)) {
+            scheduler.submitTimed(start, Player.BLACK, 60 * MILLIS, 100 * MILLIS, SearchEngine.MAX_PLY);
+
+            assertThrows(RejectedExecutionException.class, () ->
+                    scheduler.submitTimed(start, Player.BLACK, 60 * MILLIS, 100 * MILLIS, SearchEngine.MAX_PLY));
+            assertThat(scheduler.getRejected(), is(1L));
+            assertThat(scheduler.getPending(), is(1));
+        }
+    }
+
+    @Test
+    void old_deep_entries_do_not_block_new_searches() {
+        // Beide Einträge jedes Buckets stammen aus beendeten Partien und sind tiefer als alles, was danach kommt
+        TranspositionTable table = new TranspositionTable(1);
+        int buckets = table.capacity() / 2;
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            table.store(bucket, 60, TranspositionTable.EXACT, 0, SearchEngine.NO_MOVE);
+            table.store(bucket + buckets, 59, TranspositionTable.EXACT, 0, SearchEngine.NO_MOVE);
+        }
+        GameEngine engine = new GameEngine();
+        MoveBuffer moves = new MoveBuffer();
+        Position other = Position.initial();
+        for (int i = 0; i < 10; i++) {
+            engine.legalMoves(other, moves);
+            other = engine.play(other, moves.get(moves.size() - 1));
+        }
+
+        int oldEntries = buckets;
+        try (SearchScheduler scheduler = new SearchScheduler(1, 64, SearchScheduler.DEFAULT_SLICE_NANOS,
+                Evaluator.DEFAULT, table)) {
+            for (Position position : new Position[]{Position.initial(), other}) {
+                SearchResult result = scheduler.submitNodes(position.toBitboard(), position.getPlayer(),
+                        Long.MAX_VALUE, 4).join();
+
+                long entry = table.probe(position.hash());
+                assertThat(entry, is(not(TranspositionTable.MISS)));
+                assertThat(TranspositionTable.depth(entry), is(result.getDepth()));
+
+                // Flachere Einträge der neuen Suche haben alte tiefe Einträge verdrängt
+                int remaining = 0;
+                for (int bucket = 0; bucket < buckets; bucket++) {
+                    if (table.probe(bucket) != TranspositionTable.MISS) {
+                        remaining++;
+                    }
+                }
+                assertThat(remaining, lessThan(oldEntries));
+                oldEntries = remaining;
+            }
+        }
+    }
+
+    @Test
+    void queue_depth_counts_waiting_searches_and_close_stops_them() {
+        List<CompletableFuture<SearchResult>> futures = new ArrayList<>();
+        SearchScheduler scheduler = scheduler(2);
+        for (int i = 0; i < 5; i++) {
+            futures.add(scheduler.submitNodes(start, Player.BLACK, Long.MAX_VALUE, SearchEngine.MAX_PLY));
+        }
+
+        assertThat(scheduler.getQueueDepth(), is(3));
+        assertThat(scheduler.getMaxQueueDepth(), is(3));
+
+        scheduler.close();
+
+        for (CompletableFuture<SearchResult> future : futures) {
+            assertThat(future.isDone(), is(true));
+        }
+        assertThat(scheduler.getCompleted(), is(5L));
+        assertThat(scheduler.getQueueDepth(), is(0));
+        assertThrows(RejectedExecutionException.class, () ->
+                scheduler.submitNodes(start, Player.BLACK, 1000, SearchEngine.MAX_PLY));
+    }
+}
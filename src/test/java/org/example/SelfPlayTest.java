@@ -0,0 +1,54 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class SelfPlayTest {
+
+    @Test
+    void run_plays_all_games_and_reports_them() {
+        List<SelfPlayGame> games = new CopyOnWriteArrayList<>();
+        AtomicInteger seeds = new AtomicInteger();
+        SelfPlay selfPlay = new SelfPlay(
+                () -> MoveStrategy.random(seeds.incrementAndGet()),
+                MoveStrategy::greedy,
+                3,
+                games::add);
+
+        SelfPlayReport report = selfPlay.run(50);
+
+        assertThat(report.getGames(), is(50));
+        assertThat(games, hasSize(50));
+        assertThat(report.getBlackWins() + report.getWhiteWins() + report.getDraws(), is(50));
+        long moves = games.stream().mapToLong(game -> game.getMoves().length).sum();
+        assertThat(report.getMoveLatencies().getCount(), is(moves));
+        assertThat(report.getGamesPerSecond(), greaterThan(0.0));
+    }
+
+    @Test
+    void playGame_produces_legal_game() {
+        SelfPlayGame game = SelfPlay.playGame(MoveStrategy.random(7), MoveStrategy.random(8));
+
+        Reversi reversi = new Reversi();
+        MoveValidator moveValidator = new MoveValidator();
+        Player player = Player.BLACK;
+        for (int packedMove : game.getMoves()) {
+            Move move = PackedMove.toMove(packedMove, Bitboard.SIZE);
+            assertThat(moveValidator.isMoveValid(reversi.getBoard(), move, player), is(true));
+            reversi.executeMove(move, player);
+            player = player.getOpponent();
+        }
+
+        Collection<Move> remaining = moveValidator.findAllMoves(reversi.getBoard(), player);
+        assertThat(remaining, is(empty()));
+        assertThat(reversi.calculateScore(Player.BLACK), is((long) game.getBlackDiscs()));
+        assertThat(reversi.calculateScore(Player.WHITE), is((long) game.getWhiteDiscs()));
+    }
+}
@@ -0,0 +1,67 @@
+package org.example;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class TranspositionTableTest {
+    private TranspositionTable table;
+
+    @BeforeEach
+    void setUp() {
+        table = new TranspositionTable(1);
+    }
+
+    @Test
+    void capacity_stays_within_memory_cap() {
+        assertThat(table.capacity() * 2L * Long.BYTES, lessThanOrEqualTo(1024L * 1024L));
+        assertThat(new TranspositionTable(3).capacity(), is(table.capacity() * 2));
+    }
+
+    @Test
+    void store_and_probe() {
+        int move = PackedMove.pack(12, 34, Direction.DOWN_LEFT);
+        table.store(4711L, 7, TranspositionTable.LOWER_BOUND, -1234, move);
+
+        long entry = table.probe(4711L);
+
+        assertThat(entry, is(not(TranspositionTable.MISS)));
+        assertThat(TranspositionTable.depth(entry), is(7));
+        assertThat(TranspositionTable.bound(entry), is(TranspositionTable.LOWER_BOUND));
+        assertThat(TranspositionTable.score(entry), is(-1234));
+        assertThat(TranspositionTable.move(entry), is(move));
+        assertThat(table.probe(4712L), is(TranspositionTable.MISS));
+    }
+
+    @Test
+    void store_keeps_deeper_entry_and_replaces_second_slot() {
+        long deep = 1L;
+        long shallow = 1L + (1L << 20);
+        long other = 1L + (2L << 20);
+
+        table.store(deep, 10, TranspositionTable.EXACT, 1, SearchEngine.NO_MOVE);
+        table.store(shallow, 2, TranspositionTable.EXACT, 2, SearchEngine.NO_MOVE);
+        assertThat(TranspositionTable.score(table.probe(deep)), is(1));
+        assertThat(TranspositionTable.score(table.probe(shallow)), is(2));
+
+        table.store(other, 3, TranspositionTable.EXACT, 3, SearchEngine.NO_MOVE);
+        assertThat(TranspositionTable.score(table.probe(deep)), is(1));
+        assertThat(table.probe(shallow), is(TranspositionTable.MISS));
+        assertThat(TranspositionTable.move(table.probe(other)), is(SearchEngine.NO_MOVE));
+    }
+
+    @Test
+    void newSearch_allows_replacing_old_deep_entries() {
+        long deep = 1L;
+        long next = 1L + (1L << 20);
+        table.store(deep, 10, TranspositionTable.EXACT, 1, SearchEngine.NO_MOVE);
+
+        table.newSearch();
+        table.store(next, 1, TranspositionTable.EXACT, 2, SearchEngine.NO_MOVE);
+
+        assertThat(table.probe(deep), is(TranspositionTable.MISS));
+        assertThat(TranspositionTable.score(table.probe(next)), is(2));
+    }
+}
@@ -0,0 +1,117 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class WideBitboardTest {
+
+    private static Player[][] randomBoard(Random random, int height, int width) {
+        Player[][] board = new Player[height][width];
+        for (Player[] row : board) {
+            for (int x = 0; x < width; x++) {
+                row[x] = Player.values()[random.nextInt(3)];
+            }
+        }
+        return board;
+    }
+
+    /**
+     * Referenz: Feld für Feld von jedem eigenen Stein in jede Richtung.
+     */
+    private static int[] referenceMoves(Player[][] board, Player player) {
+        int height = board.length;
+        int width = board[0].length;
+        MoveBuffer moves = new MoveBuffer();
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                if (board[y][x] != player) {
+                    continue;
+                }
+                for (Direction dir : Bitboard.DIRECTIONS) {
+                    int endX = x + dir.stepValueX;
+                    int endY = y + dir.stepValueY;
+                    int flips = 0;
+                    while (endX >= 0 && endX < width && endY >= 0 && endY < height
+                            && board[endY][endX] == player.getOpponent()) {
+                        endX += dir.stepValueX;
+                        endY += dir.stepValueY;
+                        flips++;
+                    }
+                    if (flips > 0 && endX >= 0 && endX < width && endY >= 0 && endY < height
+                            && board[endY][endX] == Player.NONE) {
+                        moves.add(PackedMove.pack(y * width + x, endY * width + endX, dir));
+                    }
+                }
+            }
+        }
+        return sorted(moves);
+    }
+
+    private static int[] sorted(MoveBuffer moves) {
+        int[] array = Arrays.copyOf(moves.array(), moves.size());
+        Arrays.sort(array);
+        return array;
+    }
+
+    @Test
+    void generateMoves_matches_reference_on_random_boards() {
+        Random random = new Random(11);
+        int[][] shapes = {{6, 6}, {8, 8}, {10, 10}, {16, 16}, {5, 7}, {4, 20}, {12, 21}};
+        MoveBuffer moves = new MoveBuffer();
+
+        for (int[] shape : shapes) {
+            for (int i = 0; i < 300; i++) {
+                Player[][] board = randomBoard(random, shape[0], shape[1]);
+                for (Player player : Player.values()) {
+                    WideBitboard.generateMoves(board, player, moves);
+                    assertThat(Arrays.toString(shape), sorted(moves), is(referenceMoves(board, player)));
+                }
+                for (Player player : new Player[]{Player.BLACK, Player.WHITE}) {
+                    WideBitboard.fromBoard(board).generateMoves(player, moves);
+                    assertThat(Arrays.toString(shape), sorted(moves), is(referenceMoves(board, player)));
+                }
+            }
+        }
+    }
+
+    @Test
+    void play_matches_reversi_on_random_games() {
+        Random random = new Random(3);
+        MoveValidator moveValidator = new MoveValidator();
+        MoveBuffer moves = new MoveBuffer();
+
+        for (int size : new int[]{6, 10, 16}) {
+            Reversi game = new Reversi(size, Player.NONE);
+            WideBitboard position = WideBitboard.fromBoard(game.getBoard());
+            Player player = Player.BLACK;
+            while (position.generateMoves(player, moves) > 0) {
+                int move = moves.get(random.nextInt(moves.size()));
+                assertThat(moveValidator.isMoveValid(game.getBoard(), PackedMove.toMove(move, size), player), is(true));
+
+                game.executeMove(PackedMove.toMove(move, size), player);
+                position = position.play(move, player);
+
+                assertThat(position.toBoard(), is(game.getBoard()));
+                assertThat((long) position.score(Player.BLACK), is(game.calculateScore(Player.BLACK)));
+                assertThat((long) position.score(Player.NONE), is(game.calculateScore(Player.NONE)));
+                assertThat(game.getHash(), is(Zobrist.hash(game.getBoard())));
+                player = player.getOpponent();
+            }
+        }
+    }
+
+    @Test
+    void fromBoard_rejects_boards_beyond_four_words() {
+        assertThat(WideBitboard.fits(new Player[16][16]), is(true));
+        assertThat(WideBitboard.fits(new Player[17][16]), is(false));
+        assertThat(WideBitboard.fits(new Player[1][63]), is(false));
+
+        assertThrows(IllegalArgumentException.class, () -> WideBitboard.fromBoard(new Player[17][17]));
+    }
+}